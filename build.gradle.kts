@@ -34,7 +34,20 @@ sonar {
     }
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("jmhRuntimeOnly") {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
     compileOnly {
         extendsFrom(configurations.annotationProcessor.get())
     }
@@ -43,6 +56,13 @@ configurations {
     }
 }
 
+configurations.all {
+    // O stream-client depende de org.lz4:lz4-java; o fork at.yawk.lz4 oferece a mesma capacidade e é o usado na compressão
+    resolutionStrategy.capabilitiesResolution.withCapability("org.lz4:lz4-java") {
+        select(candidates.first { (it.id as ModuleComponentIdentifier).group == "at.yawk.lz4" })
+    }
+}
+
 repositories {
     mavenCentral()
 }
@@ -52,12 +72,22 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-amqp")
+    implementation("org.springframework.amqp:spring-rabbit-stream")
     implementation("com.fasterxml.jackson.module:jackson-module-kotlin")
+    implementation("tools.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("tools.jackson.dataformat:jackson-dataformat-smile")
+    implementation("at.yawk.lz4:lz4-java:1.10.1")
 
     // --- Database ---
     runtimeOnly("org.postgresql:postgresql")
+    implementation("org.springframework.boot:spring-boot-starter-flyway")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
+
+    // --- Cache ---
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // --- Lombok ---
     compileOnly("org.projectlombok:lombok")
@@ -83,6 +113,11 @@ dependencies {
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
     testImplementation("org.testcontainers:rabbitmq")
+    testImplementation("org.hdrhistogram:HdrHistogram:2.2.2")
+
+    // --- JMH (microbenchmarks em src/jmh) ---
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.withType<Test> {
@@ -134,6 +169,64 @@ tasks.register<Test>("integrationTest") {
     }
 }
 
+// Benchmarks e testes de carga com containers são lentos e só rodam sob demanda
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark", "load")
+    }
+}
+
+tasks.register<Test>("benchmarkTest") {
+    description = "Executa os benchmarks de integração (tag benchmark)."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+}
+
+// Carga ponta a ponta: ./gradlew loadTest [-PloadTest.rate=500] [-PloadTest.duration=60s]
+//   [-PloadTest.warmup=10s] [-PloadTest.itemMix=1:70,5:25,50:5] [-PloadTest.drainTimeout=2m]
+// Resumo e distribuição de latência (HdrHistogram) gravados em build/reports/load
+tasks.register<Test>("loadTest") {
+    description = "Executa o teste de carga ponta a ponta da fila de importação até ex.orders.main (tag load)."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    outputs.upToDateWhen { false }
+
+    listOf("rate", "duration", "warmup", "itemMix", "drainTimeout").forEach { name ->
+        providers.gradleProperty("loadTest.$name").orNull?.let { systemProperty("loadTest.$name", it) }
+    }
+    systemProperty("loadTest.version", project.version.toString())
+    systemProperty("loadTest.reportDir", layout.buildDirectory.dir("reports/load").get().asFile.absolutePath)
+}
+
+// Microbenchmarks: ./gradlew jmh [-Pjmh.includes=<regex>]
+// Vazão e alocação (profiler gc) gravadas em build/reports/jmh/results.json
+tasks.register<JavaExec>("jmh") {
+    description = "Executa os microbenchmarks JMH do caminho de processamento de pedidos."
+    group = "benchmark"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    outputs.file(results)
+    outputs.upToDateWhen { false }
+
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf("-prof", "gc", "-rf", "json", "-rff", results.get().asFile.absolutePath) +
+            listOfNotNull(providers.gradleProperty("jmh.includes").orNull)
+    })
+    doFirst {
+        results.get().asFile.parentFile.mkdirs()
+    }
+}
+
 springBoot {
     buildInfo()
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package io.github.douglasdreer.managerorder.benchmark;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapperImpl;
+import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo em memória dos dois armazenamentos de itens: montagem do DTO a partir das
+ * linhas do JOIN com {@code tb_order_items} e a partir da coluna {@code items_json},
+ * e a geração do JSON gravado. O ganho de gravar e ler uma única linha no banco é
+ * medido por {@code OrderItemStorageBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemStorageBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int itemCount;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private Order order;
+    private List<OrderRow> relationalRows;
+    private List<OrderRow> jsonRows;
+
+    @Setup
+    public void setUp() {
+        order = OrderTestFactory.createOrderWithItems(itemCount);
+        order.setId(1L);
+        order.setVersion(0L);
+        order.calculateTotal();
+
+        relationalRows = OrderTestFactory.createOrderRows(order);
+        jsonRows = List.of(new OrderRow(order.getId(), order.getExternalId(), order.getTotalValue(),
+                order.getStatus(), order.getCreatedAt(), order.getVersion(), OrderItemsJson.write(order.getItems())));
+    }
+
+    @Benchmark
+    public OrderOutputDTO readRelational() {
+        return orderMapper.fromProjection(relationalRows);
+    }
+
+    @Benchmark
+    public OrderOutputDTO readJsonb() {
+        return orderMapper.fromProjection(jsonRows);
+    }
+
+    @Benchmark
+    public String writeJsonb() {
+        return OrderItemsJson.write(order.getItems());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.douglasdreer.managerorder.benchmark;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapperImpl;
+import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões do {@link OrderMapperImpl} entre DTOs e entidades.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int itemCount;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private OrderInputDTO input;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        input = OrderTestFactory.createOrderInputDTO(itemCount);
+        order = orderMapper.toEntity(input);
+        order.calculateTotal();
+    }
+
+    @Benchmark
+    public Order toEntity() {
+        return orderMapper.toEntity(input);
+    }
+
+    @Benchmark
+    public OrderOutputDTO toDto() {
+        return orderMapper.toDto(order);
+    }
+}
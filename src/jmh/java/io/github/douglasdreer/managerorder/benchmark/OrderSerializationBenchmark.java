@@ -0,0 +1,76 @@
+package io.github.douglasdreer.managerorder.benchmark;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapperImpl;
+import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização dos DTOs trafegados no RabbitMQ,
+ * pelo mesmo {@link JacksonJsonMessageConverter} usado pela aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int itemCount;
+
+    private final JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+    private OrderInputDTO input;
+    private OrderOutputDTO output;
+    private byte[] inputBody;
+    private byte[] outputBody;
+
+    @Setup
+    public void setUp() {
+        OrderMapper orderMapper = new OrderMapperImpl();
+        input = OrderTestFactory.createOrderInputDTO(itemCount);
+        Order order = orderMapper.toEntity(input);
+        order.setId(1L);
+        order.calculateTotal();
+        output = orderMapper.toDto(order);
+
+        inputBody = converter.toMessage(input, new MessageProperties()).getBody();
+        outputBody = converter.toMessage(output, new MessageProperties()).getBody();
+    }
+
+    @Benchmark
+    public Message serializeInput() {
+        return converter.toMessage(input, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeInput() {
+        return converter.fromMessage(message(inputBody, OrderInputDTO.class));
+    }
+
+    @Benchmark
+    public Message serializeOutput() {
+        return converter.toMessage(output, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeOutput() {
+        return converter.fromMessage(message(outputBody, OrderOutputDTO.class));
+    }
+
+    private static Message message(byte[] body, Class<?> type) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setInferredArgumentType(type);
+        return new Message(body, properties);
+    }
+}
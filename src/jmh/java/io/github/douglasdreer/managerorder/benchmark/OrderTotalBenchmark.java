@@ -0,0 +1,72 @@
+package io.github.douglasdreer.managerorder.benchmark;
+
+import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de valores do pedido: {@link Order#calculateTotal()} por tamanho de pedido
+ * e {@link OrderItem#getTotalAmount()} isolado.
+ *
+ * <p>Os métodos {@code legacy*} reproduzem o cálculo original, todo em {@link BigDecimal},
+ * como referência para a soma em centavos.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class OrderState {
+
+        @Param({"1", "10", "100", "1000", "10000"})
+        private int itemCount;
+
+        private Order order;
+
+        @Setup
+        public void setUp() {
+            order = OrderTestFactory.createOrderWithItems(itemCount);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ItemState {
+
+        private OrderItem item;
+
+        @Setup
+        public void setUp() {
+            item = OrderTestFactory.createOrderWithItems(1).getItems().getFirst();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal(OrderState state) {
+        state.order.calculateTotal();
+        return state.order.getTotalValue();
+    }
+
+    @Benchmark
+    public BigDecimal legacyCalculateTotal(OrderState state) {
+        return state.order.getItems().stream()
+                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal itemTotalAmount(ItemState state) {
+        return state.item.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal legacyItemTotalAmount(ItemState state) {
+        return state.item.getUnitPrice().multiply(BigDecimal.valueOf(state.item.getQuantity()));
+    }
+}
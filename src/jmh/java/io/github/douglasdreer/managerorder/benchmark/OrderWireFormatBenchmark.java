@@ -0,0 +1,108 @@
+package io.github.douglasdreer.managerorder.benchmark;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapperImpl;
+import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.BinaryJacksonMessageConverter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.WireFormat;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU e tamanho das mensagens de pedidos em cada {@link WireFormat}.
+ *
+ * <p>A vazão de cada operação mede a CPU; o contador auxiliar {@code bodyBytes}
+ * registra o tamanho do corpo produzido ou lido em cada operação, e aparece no
+ * relatório dividido pela quantidade de operações (bytes por mensagem).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderWireFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private WireFormat format;
+
+    @Param({"1", "100", "1000"})
+    private int itemCount;
+
+    private AbstractMessageConverter converter;
+    private OrderInputDTO input;
+    private OrderOutputDTO output;
+    private byte[] inputBody;
+    private byte[] outputBody;
+
+    /**
+     * Bytes por mensagem, acumulados por thread e reportados pelo JMH.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bodyBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bodyBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        converter = format == WireFormat.JSON
+                ? new JacksonJsonMessageConverter()
+                : new BinaryJacksonMessageConverter(format);
+
+        OrderMapper orderMapper = new OrderMapperImpl();
+        input = OrderTestFactory.createOrderInputDTO(itemCount);
+        Order order = orderMapper.toEntity(input);
+        order.setId(1L);
+        order.calculateTotal();
+        output = orderMapper.toDto(order);
+
+        inputBody = serialize(input).getBody();
+        outputBody = serialize(output).getBody();
+    }
+
+    @Benchmark
+    public Message serializeOutput(Payload payload) {
+        Message message = serialize(output);
+        payload.bodyBytes += message.getBody().length;
+        return message;
+    }
+
+    @Benchmark
+    public Object deserializeInput(Payload payload) {
+        payload.bodyBytes += inputBody.length;
+        return converter.fromMessage(message(inputBody, OrderInputDTO.class));
+    }
+
+    @Benchmark
+    public Object deserializeOutput(Payload payload) {
+        payload.bodyBytes += outputBody.length;
+        return converter.fromMessage(message(outputBody, OrderOutputDTO.class));
+    }
+
+    private Message serialize(Object payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(format.contentType());
+        return converter.toMessage(payload, properties);
+    }
+
+    private Message message(byte[] body, Class<?> type) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(format.contentType());
+        properties.setInferredArgumentType(type);
+        return new Message(body, properties);
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Tratamento de erros comum aos controllers da API.
+ *
+ * Parâmetros fora do esperado (período invertido, cursor ilegível, tamanho de
+ * página fora do limite) são sinalizados com {@link IllegalArgumentException}
+ * e respondidos como {@code 400 Bad Request} em formato {@link ProblemDetail}.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import io.github.douglasdreer.managerorder.domain.service.OrderBulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Importação em massa de pedidos via NDJSON.
+ *
+ * O corpo é consumido diretamente do fluxo da requisição, sem ser
+ * materializado, e a resposta traz um resultado por linha
+ * ({@code CREATED}, {@code DUPLICATE} ou {@code INVALID}) à medida que
+ * cada bloco é gravado.
+ *
+ * @see OrderBulkImportService
+ */
+@RestController
+@RequestMapping("/orders/bulk")
+@RequiredArgsConstructor
+public class OrderBulkImportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderBulkImportService orderBulkImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importOrders(HttpServletRequest request) {
+        StreamingResponseBody body = responseStream -> {
+            try (OutputStream out = new BufferedOutputStream(responseStream, BUFFER_SIZE)) {
+                orderBulkImportService.importOrders(request.getInputStream(), out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
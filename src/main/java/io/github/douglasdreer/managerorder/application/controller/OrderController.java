@@ -0,0 +1,86 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderSummaryPage;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * API de consulta de pedidos.
+ *
+ * As respostas trazem um ETag derivado do id e da versão do pedido. Clientes
+ * que reenviam o ETag em {@code If-None-Match} recebem {@code 304 Not Modified}
+ * sem corpo enquanto o pedido não for alterado.
+ *
+ * A listagem por status é paginada por chave: cada página devolve um cursor
+ * opaco a ser enviado em {@code cursor} para obter a seguinte.
+ *
+ * @see OrderService#findByExternalId(String)
+ * @see OrderService#findById(Long)
+ */
+@RestController
+@RequestMapping("/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @GetMapping("/{externalId}")
+    public ResponseEntity<OrderOutputDTO> findByExternalId(@PathVariable String externalId, WebRequest request) {
+        return toResponse(orderService.findByExternalId(externalId), request);
+    }
+
+    @GetMapping("/id/{id}")
+    public ResponseEntity<OrderOutputDTO> findById(@PathVariable Long id, WebRequest request) {
+        return toResponse(orderService.findById(id), request);
+    }
+
+    @GetMapping
+    public OrderSummaryPage listByStatus(
+            @RequestParam OrderStatus status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return orderService.listByStatus(status, from, to != null ? to : LocalDateTime.now(), cursor, size);
+    }
+
+    private ResponseEntity<OrderOutputDTO> toResponse(Optional<VersionedOrder> found, WebRequest request) {
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        VersionedOrder versionedOrder = found.get();
+        String etag = etag(versionedOrder);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(versionedOrder.order());
+    }
+
+    /**
+     * ETag forte no formato {@code "<orderId>-<version>"}.
+     */
+    static String etag(VersionedOrder versionedOrder) {
+        return "\"" + versionedOrder.order().orderId() + "-" + versionedOrder.version() + "\"";
+    }
+}
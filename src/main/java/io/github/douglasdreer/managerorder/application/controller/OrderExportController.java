@@ -0,0 +1,65 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import io.github.douglasdreer.managerorder.domain.service.OrderExportService;
+import io.github.douglasdreer.managerorder.domain.service.OrderExportService.Format;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação em massa de pedidos com itens.
+ *
+ * A resposta é escrita em streaming, à medida que os pedidos são lidos do
+ * banco, sem montar a extração em memória. Com {@code gzip=true} o corpo é
+ * comprimido e enviado com {@code Content-Encoding: gzip}.
+ *
+ * @see OrderExportService
+ */
+@RestController
+@RequestMapping("/orders/export")
+@RequiredArgsConstructor
+public class OrderExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportService orderExportService;
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") Format format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("O início do período deve ser anterior ao fim: from=" + from + ", to=" + end);
+        }
+
+        StreamingResponseBody body = responseStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(responseStream, BUFFER_SIZE) : responseStream;
+            try (OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE)) {
+                orderExportService.export(format, from, end, buffered);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + format.extension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.douglasdreer.managerorder.application.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma linha da importação em massa de pedidos.
+ *
+ * @param line número da linha no corpo da requisição, a partir de 1.
+ * @param externalId identificador externo lido da linha, ou nulo se não pôde ser lido.
+ * @param status desfecho da linha.
+ * @param orderId identificador interno do pedido criado ou existente; nulo se inválida ou com falha.
+ * @param errors motivos da rejeição ou da falha; vazio quando a linha foi aceita.
+ *
+ * @see OrderProcessingResult
+ */
+public record BulkOrderResult(
+        long line,
+        String externalId,
+        Status status,
+        Long orderId,
+        List<String> errors
+) {
+
+    /**
+     * Desfechos possíveis de uma linha.
+     */
+    public enum Status {
+        /** Pedido persistido nesta importação. */
+        CREATED,
+        /** O externalId já existia ou se repetiu dentro da importação. */
+        DUPLICATE,
+        /** Linha malformada ou reprovada na validação; nada foi gravado. */
+        INVALID,
+        /** Pedido válido cuja gravação falhou; nada foi gravado e a linha pode ser reenviada. */
+        FAILED
+    }
+
+    public static BulkOrderResult of(long line, OrderProcessingResult result) {
+        return new BulkOrderResult(
+                line,
+                result.order().externalId(),
+                result.created() ? Status.CREATED : Status.DUPLICATE,
+                result.order().orderId(),
+                List.of()
+        );
+    }
+
+    public static BulkOrderResult invalid(long line, String externalId, List<String> errors) {
+        return new BulkOrderResult(line, externalId, Status.INVALID, null, errors);
+    }
+
+    public static BulkOrderResult failed(long line, String externalId, List<String> errors) {
+        return new BulkOrderResult(line, externalId, Status.FAILED, null, errors);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.douglasdreer.managerorder.application.dto;
+
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma listagem paginada por chave, sobre {@code (createdAt, id)}.
+ *
+ * Trafega na API como texto opaco (Base64 URL-safe), para que clientes não
+ * dependam do formato e ele possa mudar sem quebrar o contrato.
+ *
+ * @param createdAt data de criação do último pedido entregue.
+ * @param id identificador interno do último pedido entregue.
+ */
+public record OrderCursor(
+        LocalDateTime createdAt,
+        long id
+) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Cursor posicionado logo após o pedido informado.
+     */
+    public static OrderCursor after(OrderSummary summary) {
+        return new OrderCursor(summary.createdAt(), summary.orderId());
+    }
+
+    /**
+     * Converte o cursor na sua forma opaca.
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor recebido da API.
+     *
+     * @param value cursor opaco gerado por {@link #encode()}.
+     * @return cursor decodificado.
+     * @throws IllegalArgumentException se o valor não for um cursor válido.
+     */
+    public static OrderCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido: " + value);
+            }
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.douglasdreer.managerorder.application.dto;
+
+/**
+ * Resultado do processamento de um pedido dentro de um lote.
+ *
+ * Associa o DTO de saída do pedido à informação de que ele foi criado
+ * nesta chamada ou já existia no sistema (reentrega ou duplicidade
+ * dentro do próprio lote).
+ *
+ * @param order DTO de saída do pedido processado.
+ * @param created {@code true} quando o pedido foi persistido nesta chamada;
+ *                {@code false} quando o externalId já existia.
+ *
+ * @see OrderOutputDTO
+ * @see io.github.douglasdreer.managerorder.application.dto
+ */
+public record OrderProcessingResult(
+        OrderOutputDTO order,
+        boolean created
+) {
+}
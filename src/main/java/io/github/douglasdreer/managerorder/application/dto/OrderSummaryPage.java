@@ -0,0 +1,19 @@
+package io.github.douglasdreer.managerorder.application.dto;
+
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem de pedidos paginada por chave.
+ *
+ * @param items resumos dos pedidos da página, em ordem de {@code (createdAt, id)}.
+ * @param nextCursor cursor opaco da próxima página, ou nulo se esta for a última.
+ *
+ * @see OrderCursor
+ */
+public record OrderSummaryPage(
+        List<OrderSummary> items,
+        String nextCursor
+) {
+}
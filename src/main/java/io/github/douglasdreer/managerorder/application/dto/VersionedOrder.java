@@ -0,0 +1,18 @@
+package io.github.douglasdreer.managerorder.application.dto;
+
+/**
+ * Pedido acompanhado da sua versão de persistência.
+ *
+ * A versão acompanha o controle otimista da entidade e muda a cada alteração
+ * do pedido, servindo de base para o ETag das consultas HTTP.
+ *
+ * @param order DTO de saída do pedido.
+ * @param version versão do pedido no momento da leitura.
+ *
+ * @see OrderOutputDTO
+ */
+public record VersionedOrder(
+        OrderOutputDTO order,
+        long version
+) {
+}
@@ -4,6 +4,9 @@ import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
 import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+
+import java.util.List;
 
 /**
  * Mapeador responsável pela conversão entre DTOs e entidades de pedidos.
@@ -51,7 +54,8 @@ public interface OrderMapper {
      *
      * Realiza o mapeamento da entidade de domínio para o DTO de resposta,
      * transformando todos os itens associados e preservando os valores calculados
-     * como totalValue de cada item e do pedido completo.
+     * como totalValue de cada item e do pedido completo. Se o pedido tiver
+     * os itens em {@code itemsJson}, eles são lidos de lá e {@code items} não é acessado.
      *
      * @param entity Entidade Order a ser convertida.
      *               Deve conter id, externalId, status, createdAt e items populados.
@@ -68,5 +72,21 @@ public interface OrderMapper {
      * @see Order
      */
     OrderOutputDTO toDto(Order entity);
+    /**
+     * Monta o DTO de saída a partir das linhas achatadas de um pedido,
+     * sem passar por entidades gerenciadas.
+     *
+     * O cabeçalho é lido da primeira linha; cada linha com produto vira um item,
+     * com o total calculado da mesma forma que {@link OrderItem#getTotalAmount()}.
+     * Se a primeira linha tiver {@code itemsJson}, os itens são lidos do JSON.
+     *
+     * @param rows linhas de um único pedido, como retornadas por
+     *             {@link io.github.douglasdreer.managerorder.domain.repository.OrderRepository#findRowsByExternalId(String)}.
+     *             Não pode ser vazia.
+     * @return DTO contendo o pedido e seus itens.
+     *
+     * @see OrderRow
+     */
+    OrderOutputDTO fromProjection(List<OrderRow> rows);
 }
 
@@ -6,6 +6,9 @@ import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
 import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
 import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.money.MoneyAccumulator;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -38,14 +41,16 @@ public class OrderMapperImpl implements  OrderMapper {
 
     @Override
     public OrderOutputDTO toDto(Order entity) {
-        List<OrderItemOutputDTO> itemDTOs = entity.getItems().stream()
-                .map(item -> new OrderItemOutputDTO(
-                        item.getProductName(),
-                        item.getUnitPrice(),
-                        item.getQuantity(),
-                        item.getTotalAmount()
-                ))
-                .toList();
+        List<OrderItemOutputDTO> itemDTOs = entity.getItemsJson() != null
+                ? fromJson(entity.getItemsJson())
+                : entity.getItems().stream()
+                        .map(item -> new OrderItemOutputDTO(
+                                item.getProductName(),
+                                item.getUnitPrice(),
+                                item.getQuantity(),
+                                item.getTotalAmount()
+                        ))
+                        .toList();
 
         return new OrderOutputDTO(
                 entity.getId(),
@@ -56,4 +61,41 @@ public class OrderMapperImpl implements  OrderMapper {
                 itemDTOs
         );
     }
+
+    @Override
+    public OrderOutputDTO fromProjection(List<OrderRow> rows) {
+        OrderRow header = rows.getFirst();
+
+        List<OrderItemOutputDTO> itemDTOs = header.itemsJson() != null
+                ? fromJson(header.itemsJson())
+                : rows.stream()
+                        .filter(row -> row.productName() != null)
+                        .map(row -> new OrderItemOutputDTO(
+                                row.productName(),
+                                row.unitPrice(),
+                                row.quantity(),
+                                MoneyAccumulator.multiply(row.unitPrice(), row.quantity())
+                        ))
+                        .toList();
+
+        return new OrderOutputDTO(
+                header.orderId(),
+                header.externalId(),
+                header.totalValue(),
+                header.status(),
+                header.createdAt(),
+                itemDTOs
+        );
+    }
+
+    private static List<OrderItemOutputDTO> fromJson(String itemsJson) {
+        return OrderItemsJson.read(itemsJson).stream()
+                .map(item -> new OrderItemOutputDTO(
+                        item.productName(),
+                        item.unitPrice(),
+                        item.quantity(),
+                        MoneyAccumulator.multiply(item.unitPrice(), item.quantity())
+                ))
+                .toList();
+    }
 }
@@ -1,7 +1,10 @@
 package io.github.douglasdreer.managerorder.domain.entity;
 
+import io.github.douglasdreer.managerorder.domain.money.MoneyAccumulator;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,18 +19,18 @@ import java.util.List;
  * o estado e o valor total do pedido ao longo do seu ciclo de vida.</p>
  *
  * <p>Pedidos são identificados externamente por um {@code externalId},
- * garantindo idempotência na integração com sistemas produtores.</p>
+ * garantindo idempotência na integração com sistemas produtores. A tabela é
+ * particionada por mês de {@code createdAt}; a unicidade do {@code externalId}
+ * é garantida por {@link OrderExternalId}.</p>
  *
  * @since 1.0
  */
 @Entity
 @Table(
         name = "tb_orders",
-        uniqueConstraints = {
-                @UniqueConstraint(
-                        name = "uk_external_order_id",
-                        columnNames = "external_id"
-                )
+        indexes = {
+                @Index(name = "idx_orders_external_id", columnList = "external_id"),
+                @Index(name = "idx_orders_status_created_at_id", columnList = "status, created_at, id")
         }
 )
 @Getter
@@ -40,17 +43,18 @@ public class Order {
     /**
      * Identificador interno do pedido.
      *
-     * <p>Gerado automaticamente pelo banco de dados.</p>
+     * <p>Gerado a partir da sequence {@code seq_orders}, reservando blocos de
+     * identificadores para que as inserções sejam enviadas em lote.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "seq_orders")
     private Long id;
 
     /**
      * Identificador externo do pedido, originado no Produto A.
      *
-     * <p>Campo imutável após criação e único no sistema,
-     * utilizado para garantir idempotência.</p>
+     * <p>Campo imutável após criação e único no sistema enquanto o pedido
+     * estiver retido, utilizado para garantir idempotência.</p>
      */
     @Column(name = "external_id", nullable = false, updatable = false)
     private String externalId;
@@ -58,9 +62,10 @@ public class Order {
     /**
      * Data e hora de criação do pedido.
      *
-     * <p>Definido automaticamente no momento da persistência.</p>
+     * <p>Definido automaticamente no momento da persistência. É a chave de
+     * partição de {@code tb_orders} e de {@code tb_order_items}.</p>
      */
-    @Column(name = "created_at", nullable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -95,6 +100,19 @@ public class Order {
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
 
+    /**
+     * Itens do pedido em JSON, quando gravados na própria linha do pedido.
+     *
+     * <p>Preenchido apenas no armazenamento {@code JSONB}; nesse caso {@link #items}
+     * fica vazio e nenhuma linha é gravada em {@code tb_order_items}. Nulo nos pedidos
+     * gravados no modelo relacional.</p>
+     *
+     * @see io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson
+     */
+    @Column(name = "items_json", columnDefinition = "jsonb")
+    @ColumnTransformer(write = "?::jsonb")
+    private String itemsJson;
+
     /**
      * Versão da entidade para controle de concorrência otimista.
      *
@@ -118,13 +136,19 @@ public class Order {
     /**
      * Calcula o valor total do pedido com base nos itens associados.
      *
+     * <p>A soma é feita em centavos por um {@link MoneyAccumulator}, evitando
+     * alocar um {@link BigDecimal} por item; o resultado é o mesmo da soma
+     * de {@link OrderItem#getTotalAmount()}.</p>
+     *
      * <p>Após o cálculo bem-sucedido, o estado do pedido é atualizado
      * para {@link OrderStatus#CALCULATED}.</p>
      */
     public void calculateTotal() {
-        this.totalValue = items.stream()
-                .map(OrderItem::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        MoneyAccumulator total = new MoneyAccumulator();
+        for (OrderItem item : items) {
+            total.add(item.getUnitPrice(), item.getQuantity());
+        }
+        this.totalValue = total.total();
 
         this.status = OrderStatus.CALCULATED;
     }
@@ -0,0 +1,85 @@
+package io.github.douglasdreer.managerorder.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de idempotência de um pedido.
+ *
+ * <p>{@code tb_orders} é particionada por {@code created_at}, e o PostgreSQL só
+ * aceita restrições de unicidade que incluam a chave de partição. A unicidade do
+ * {@code externalId} passa a ser garantida por esta tabela, que não é particionada
+ * e guarda, para cada {@code externalId}, o id e a data de criação do pedido.
+ * As chaves expiram junto com as partições removidas pela retenção.</p>
+ *
+ * <p>O identificador é atribuído pela aplicação; {@link Persistable} evita que o
+ * {@code save} consulte o banco antes de inserir.</p>
+ *
+ * @since 1.0
+ */
+@Entity
+@Table(name = "tb_order_external_ids")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderExternalId implements Persistable<String> {
+
+    /**
+     * Identificador externo do pedido.
+     */
+    @Id
+    @Getter
+    @Column(name = "external_id", nullable = false, updatable = false)
+    private String externalId;
+
+    /**
+     * Identificador interno do pedido que detém a chave.
+     */
+    @Getter
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    /**
+     * Data de criação do pedido, que indica a partição onde ele está.
+     */
+    @Getter
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean persisted = false;
+
+    /**
+     * Cria a chave de idempotência de um pedido que já recebeu seu id.
+     *
+     * @param order pedido de origem
+     * @return chave do pedido
+     */
+    public static OrderExternalId of(Order order) {
+        return OrderExternalId.builder()
+                .externalId(order.getExternalId())
+                .orderId(order.getId())
+                .createdAt(order.getCreatedAt())
+                .build();
+    }
+
+    @Override
+    public String getId() {
+        return externalId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.douglasdreer.managerorder.domain.entity;
 
+import io.github.douglasdreer.managerorder.domain.money.MoneyAccumulator;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.PooledSequence;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,6 +10,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entidade de domínio que representa um item de pedido.
@@ -22,7 +25,10 @@ import java.math.BigDecimal;
  * @since 1.0
  */
 @Entity
-@Table(name = "tb_order_items")
+@Table(
+        name = "tb_order_items",
+        indexes = @Index(name = "idx_order_items_order_id", columnList = "order_id, order_created_at")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,10 +39,11 @@ public class OrderItem {
     /**
      * Identificador único do item do pedido.
      *
-     * <p>Gerado automaticamente pelo banco de dados.</p>
+     * <p>Gerado a partir da sequence {@code seq_order_items}, reservando blocos de
+     * identificadores para que as inserções sejam enviadas em lote.</p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "seq_order_items")
     private Long id;
 
     /**
@@ -74,6 +81,25 @@ public class OrderItem {
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
+    /**
+     * Data de criação do pedido, copiada para o item.
+     *
+     * <p>{@code tb_order_items} é particionada pela mesma data de {@code tb_orders},
+     * para que os itens de um mês sejam retidos e removidos junto com os pedidos.</p>
+     */
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
+    /**
+     * Copia a data de criação do pedido quando ela não foi informada.
+     */
+    @PrePersist
+    void copyOrderCreatedAt() {
+        if (orderCreatedAt == null && order != null) {
+            orderCreatedAt = order.getCreatedAt();
+        }
+    }
+
     /**
      * Calcula o valor total deste item do pedido.
      *
@@ -84,11 +110,12 @@ public class OrderItem {
      * retorna {@link BigDecimal#ZERO}.</p>
      *
      * @return valor total do item do pedido
+     * @see MoneyAccumulator#multiply(BigDecimal, int)
      */
     public BigDecimal getTotalAmount() {
         if (unitPrice == null || quantity == null) {
             return BigDecimal.ZERO;
         }
-        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        return MoneyAccumulator.multiply(unitPrice, quantity);
     }
 }
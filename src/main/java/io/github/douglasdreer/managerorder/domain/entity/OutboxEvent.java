@@ -0,0 +1,67 @@
+package io.github.douglasdreer.managerorder.domain.entity;
+
+import io.github.douglasdreer.managerorder.infrastructure.persistence.PooledSequence;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de pedido aguardando publicação no broker (transactional outbox).
+ *
+ * <p>É gravado na mesma transação do {@link Order}, garantindo que todo pedido
+ * persistido tenha seu evento registrado. A publicação ocorre de forma assíncrona
+ * pelo relay, que marca o evento como enviado por meio de {@code sentAt}.</p>
+ *
+ * @since 1.0
+ */
+@Entity
+@Table(name = "tb_order_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    /**
+     * Identificador do evento, também usado como ordem de publicação.
+     */
+    @Id
+    @PooledSequence(name = "seq_order_outbox")
+    private Long id;
+
+    /**
+     * Identificador interno do pedido que originou o evento.
+     */
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+
+    /**
+     * Identificador externo do pedido, mantido para rastreabilidade.
+     */
+    @Column(name = "external_id", nullable = false, updatable = false)
+    private String externalId;
+
+    /**
+     * Conteúdo do evento serializado em JSON.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, updatable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    /**
+     * Data e hora de registro do evento.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Data e hora da publicação no broker; nulo enquanto pendente.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,109 @@
+package io.github.douglasdreer.managerorder.domain.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma de valores monetários em centavos ({@code long}), sem alocar um
+ * {@link BigDecimal} por parcela.
+ *
+ * <p>Valores com até {@value #SCALE} casas decimais, como as colunas
+ * {@code numeric(19, 2)}, são acumulados como unidades menores com
+ * {@link Math#multiplyExact} e {@link Math#addExact}. Se uma parcela não couber
+ * nessa representação (mais casas decimais ou estouro de {@code long}), a soma
+ * passa a ser feita em {@link BigDecimal} a partir daquele ponto.</p>
+ *
+ * <p>O resultado é idêntico ao de somar {@code unitPrice.multiply(quantity)} com
+ * {@link BigDecimal#add}, inclusive na escala: a escala final é a maior escala
+ * entre as parcelas.</p>
+ *
+ * <p>Não é thread-safe; cada cálculo usa sua própria instância.</p>
+ */
+public final class MoneyAccumulator {
+
+    /**
+     * Casas decimais representadas pelas unidades menores.
+     */
+    public static final int SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L};
+    // até 18 dígitos o valor sem escala cabe em long; até 16, também em centavos
+    private static final int MAX_COMPACT_PRECISION = 18;
+    private static final int MAX_MINOR_UNITS_PRECISION = 16;
+    private static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private long minorUnits;
+    private int scale;
+    private BigDecimal exact;
+
+    /**
+     * Soma {@code unitPrice × quantity}. Parcelas com algum fator nulo são ignoradas.
+     *
+     * @param unitPrice valor unitário
+     * @param quantity quantidade
+     * @return esta instância
+     */
+    public MoneyAccumulator add(BigDecimal unitPrice, Integer quantity) {
+        if (unitPrice == null || quantity == null) {
+            return this;
+        }
+
+        if (exact == null) {
+            long unitMinor = toMinorUnits(unitPrice);
+            if (unitMinor != NOT_REPRESENTABLE) {
+                try {
+                    minorUnits = Math.addExact(minorUnits, Math.multiplyExact(unitMinor, quantity.longValue()));
+                    scale = Math.max(scale, unitPrice.scale());
+                    return this;
+                } catch (ArithmeticException overflow) {
+                    // segue para a soma exata em BigDecimal
+                }
+            }
+            exact = total();
+        }
+
+        exact = exact.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+        return this;
+    }
+
+    /**
+     * @return soma acumulada até aqui
+     */
+    public BigDecimal total() {
+        if (exact != null) {
+            return exact;
+        }
+        return BigDecimal.valueOf(minorUnits / POWERS_OF_TEN[SCALE - scale], scale);
+    }
+
+    /**
+     * Calcula {@code unitPrice × quantity} com a mesma escala de {@code unitPrice},
+     * sem o {@link BigDecimal} intermediário da quantidade.
+     *
+     * @param unitPrice valor unitário
+     * @param quantity quantidade
+     * @return produto exato
+     */
+    public static BigDecimal multiply(BigDecimal unitPrice, int quantity) {
+        int unitScale = unitPrice.scale();
+        if (unitScale >= 0 && unitScale <= SCALE && unitPrice.precision() <= MAX_COMPACT_PRECISION) {
+            try {
+                return BigDecimal.valueOf(Math.multiplyExact(unitPrice.unscaledValue().longValue(), quantity), unitScale);
+            } catch (ArithmeticException overflow) {
+                // segue para a multiplicação exata em BigDecimal
+            }
+        }
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+
+    /**
+     * Converte o valor para unidades menores, ou {@link #NOT_REPRESENTABLE}
+     * se ele tiver mais de {@value #SCALE} casas ou não couber em {@code long}.
+     */
+    private static long toMinorUnits(BigDecimal amount) {
+        int amountScale = amount.scale();
+        if (amountScale < 0 || amountScale > SCALE || amount.precision() > MAX_MINOR_UNITS_PRECISION) {
+            return NOT_REPRESENTABLE;
+        }
+        return amount.unscaledValue().longValue() * POWERS_OF_TEN[SCALE - amountScale];
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.douglasdreer.managerorder.domain.repository;
+
+import io.github.douglasdreer.managerorder.domain.entity.OrderExternalId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório das chaves de idempotência de pedidos ({@link OrderExternalId}).
+ *
+ * @since 1.0
+ */
+@Repository
+public interface OrderExternalIdRepository extends JpaRepository<OrderExternalId, String> {
+}
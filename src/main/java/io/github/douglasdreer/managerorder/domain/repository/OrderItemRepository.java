@@ -0,0 +1,18 @@
+package io.github.douglasdreer.managerorder.domain.repository;
+
+import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório responsável pela persistência de {@link OrderItem}.
+ *
+ * <p>Utilizado quando o pedido é gravado fora do ciclo do Hibernate
+ * (por exemplo, via {@link OrderRepository#insertIfAbsent}) e os itens
+ * precisam ser inseridos separadamente, sem depender da cascata do agregado.</p>
+ *
+ * @since 1.0
+ */
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+}
@@ -1,10 +1,21 @@
 package io.github.douglasdreer.managerorder.domain.repository;
 
 import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório de domínio responsável pelo acesso e persistência
@@ -29,4 +40,263 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @return {@link Optional} contendo o pedido, caso exista
      */
     Optional<Order> findByExternalId(String externalId);
+
+    /**
+     * Lê um pedido e seus itens como linhas achatadas, em uma única consulta
+     * e sem criar entidades gerenciadas.
+     *
+     * <p>Indicado para leituras que só precisam montar o DTO de saída,
+     * como a resposta a pedidos duplicados. O {@code externalId} é resolvido pela
+     * chave primária de {@code tb_order_external_ids}, que fornece o id e a data de
+     * criação do pedido; com {@code createdAt} na junção, o PostgreSQL lê o pedido
+     * e os itens apenas da partição do mês.</p>
+     *
+     * @param externalId identificador externo do pedido
+     * @return uma linha por item, em ordem de inserção; vazio se o pedido não existir
+     * @see io.github.douglasdreer.managerorder.domain.entity.OrderExternalId
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson,
+                i.productName, i.unitPrice, i.quantity)
+            FROM OrderExternalId k
+            JOIN Order o ON o.id = k.orderId AND o.createdAt = k.createdAt
+            LEFT JOIN o.items i ON i.orderCreatedAt = o.createdAt
+            WHERE k.externalId = :externalId
+            ORDER BY i.id
+            """)
+    List<OrderRow> findRowsByExternalId(@Param("externalId") String externalId);
+
+    /**
+     * Lê um pedido e seus itens como linhas achatadas, a partir do id interno e da
+     * data de criação, que restringe a leitura à partição do pedido.
+     *
+     * @param id identificador interno do pedido
+     * @param createdAt data de criação do pedido
+     * @return uma linha por item, em ordem de inserção; vazio se o pedido não existir
+     * @see #findRowsByExternalId(String)
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson,
+                i.productName, i.unitPrice, i.quantity)
+            FROM Order o LEFT JOIN o.items i ON i.orderCreatedAt = o.createdAt
+            WHERE o.id = :id
+              AND o.createdAt = :createdAt
+            ORDER BY i.id
+            """)
+    List<OrderRow> findRowsByIdAndCreatedAt(@Param("id") Long id,
+                                            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Lê um pedido e seus itens como linhas achatadas, a partir do id interno.
+     *
+     * <p>Sem a data de criação, o PostgreSQL procura o id no índice de cada partição.
+     * Quando a data é conhecida, prefira {@link #findRowsByIdAndCreatedAt}.</p>
+     *
+     * @param id identificador interno do pedido
+     * @return uma linha por item, em ordem de inserção; vazio se o pedido não existir
+     * @see #findRowsByExternalId(String)
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson,
+                i.productName, i.unitPrice, i.quantity)
+            FROM Order o LEFT JOIN o.items i ON i.orderCreatedAt = o.createdAt
+            WHERE o.id = :id
+            ORDER BY i.id
+            """)
+    List<OrderRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Lê apenas o cabeçalho de um pedido, com a coluna {@code items_json}, sem JOIN
+     * com {@code tb_order_items}.
+     *
+     * <p>Usado no armazenamento {@code JSONB}, em que o pedido inteiro está em uma linha.
+     * Se {@code itemsJson} vier nulo, o pedido foi gravado no modelo relacional e os itens
+     * devem ser lidos por {@link #findRowsByIdAndCreatedAt}. Como em
+     * {@link #findRowsByExternalId(String)}, o pedido é localizado por
+     * {@code tb_order_external_ids} e lido apenas da partição do mês.</p>
+     *
+     * @param externalId identificador externo do pedido
+     * @return a linha do pedido; vazio se o pedido não existir
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson)
+            FROM OrderExternalId k
+            JOIN Order o ON o.id = k.orderId AND o.createdAt = k.createdAt
+            WHERE k.externalId = :externalId
+            """)
+    List<OrderRow> findHeaderByExternalId(@Param("externalId") String externalId);
+
+    /**
+     * Lê apenas o cabeçalho de um pedido, a partir do id interno.
+     *
+     * <p>Sem a data de criação, o id é procurado em todas as partições.</p>
+     *
+     * @param id identificador interno do pedido
+     * @return a linha do pedido; vazio se o pedido não existir
+     * @see #findHeaderByExternalId(String)
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson)
+            FROM Order o
+            WHERE o.id = :id
+            """)
+    List<OrderRow> findHeaderById(@Param("id") Long id);
+
+    /**
+     * Lista resumos de pedidos de um status em um período, paginando por chave.
+     *
+     * <p>Retorna os pedidos com {@code createdAt} em {@code [from, to)} posicionados
+     * depois de {@code (afterCreatedAt, afterId)}, em ordem de {@code (createdAt, id)}.
+     * O custo de cada página independe de quantas páginas vieram antes, ao contrário
+     * de OFFSET. A condição {@code createdAt >= :afterCreatedAt} limita a varredura do
+     * índice {@code idx_orders_status_created_at_id}; a primeira página usa
+     * {@code afterCreatedAt = from} e {@code afterId = Long.MIN_VALUE}.</p>
+     *
+     * <p>Os itens não são lidos.</p>
+     *
+     * @param status status dos pedidos
+     * @param from início do período, inclusivo
+     * @param to fim do período, exclusivo
+     * @param afterCreatedAt data de criação do último pedido da página anterior
+     * @param afterId id do último pedido da página anterior
+     * @param limit tamanho máximo da página
+     * @return resumos dos pedidos da página
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt)
+            FROM Order o
+            WHERE o.status = :status
+              AND o.createdAt >= :from
+              AND o.createdAt < :to
+              AND o.createdAt >= :afterCreatedAt
+              AND (o.createdAt > :afterCreatedAt OR o.id > :afterId)
+            ORDER BY o.createdAt, o.id
+            """)
+    List<OrderSummary> findSummariesAfter(@Param("status") OrderStatus status,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    /**
+     * Percorre os pedidos criados em um período, com seus itens, como linhas achatadas.
+     *
+     * <p>O resultado é lido por um cursor do servidor, em blocos de
+     * {@code hibernate.jdbc.fetch_size} linhas, sem carregar a consulta inteira
+     * em memória; deve ser consumido dentro de uma transação e fechado ao final.
+     * As linhas de um pedido são contíguas (ordem por id do pedido e do item) e
+     * nenhuma entidade gerenciada é criada.</p>
+     *
+     * @param from início do período, inclusivo
+     * @param to fim do período, exclusivo
+     * @return linhas dos pedidos do período
+     */
+    @Query("""
+            SELECT new io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow(
+                o.id, o.externalId, o.totalValue, o.status, o.createdAt, o.version, o.itemsJson,
+                i.productName, i.unitPrice, i.quantity)
+            FROM Order o LEFT JOIN o.items i
+            WHERE o.createdAt >= :from
+              AND o.createdAt < :to
+            ORDER BY o.id, i.id
+            """)
+    Stream<OrderRow> streamRowsCreatedBetween(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    /**
+     * Recupera, em uma única consulta, os pedidos cujos identificadores
+     * externos estão presentes na coleção informada, já com seus itens.
+     *
+     * <p>Utilizado no processamento em lote para verificar a idempotência
+     * de todas as mensagens de uma vez. Os pedidos são localizados por
+     * {@code tb_order_external_ids}, com {@code createdAt} na junção, para que cada
+     * um seja lido apenas da partição do seu mês. Os itens vêm no mesmo
+     * {@code JOIN FETCH} para que a conversão em DTO não dispare uma consulta por pedido.</p>
+     *
+     * @param externalIds identificadores externos a serem consultados
+     * @return pedidos já existentes; identificadores inexistentes são ignorados
+     */
+    @Query("""
+            SELECT o
+            FROM OrderExternalId k
+            JOIN Order o ON o.id = k.orderId AND o.createdAt = k.createdAt
+            LEFT JOIN FETCH o.items
+            WHERE k.externalId IN :externalIds
+            """)
+    List<Order> findByExternalIdIn(@Param("externalIds") Collection<String> externalIds);
+
+    /**
+     * Insere o cabeçalho de um pedido somente se o {@code externalId}
+     * ainda não existir, em um único comando.
+     *
+     * <p>A chave é reservada em {@code tb_order_external_ids} com
+     * {@code INSERT ... ON CONFLICT (external_id) DO NOTHING RETURNING}, e o pedido
+     * só é inserido em {@code tb_orders} se a reserva retornar uma linha: o caso
+     * comum (pedido novo) custa uma ida ao banco e uma reentrega não gera exceção
+     * de violação de unicidade. Os itens do pedido não são gravados por este método.</p>
+     *
+     * <p>O identificador é obtido diretamente de {@code seq_orders}; como a
+     * sequence avança em blocos, os demais valores do bloco são descartados.</p>
+     *
+     * @param externalId identificador externo do pedido
+     * @param createdAt data de criação do pedido
+     * @param status nome do {@link io.github.douglasdreer.managerorder.domain.entity.OrderStatus}
+     * @param totalValue valor total já calculado
+     * @return {@link Optional} com o id gerado, ou vazio se o {@code externalId} já existia
+     * @see io.github.douglasdreer.managerorder.domain.entity.OrderExternalId
+     */
+    @Query(value = """
+            WITH claimed AS (
+                INSERT INTO tb_order_external_ids (external_id, order_id, created_at)
+                VALUES (:externalId, nextval('seq_orders'), :createdAt)
+                ON CONFLICT (external_id) DO NOTHING
+                RETURNING order_id
+            )
+            INSERT INTO tb_orders (id, external_id, created_at, status, total_value, version)
+            SELECT order_id, :externalId, :createdAt, :status, :totalValue, 0 FROM claimed
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("externalId") String externalId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("status") String status,
+                                  @Param("totalValue") BigDecimal totalValue);
+
+    /**
+     * Insere um pedido completo, com os itens em {@code items_json}, somente se o
+     * {@code externalId} ainda não existir.
+     *
+     * <p>Mesma reserva de {@link #insertIfAbsent}, mas o pedido inteiro é gravado em uma
+     * única linha de {@code tb_orders}: nada é inserido em {@code tb_order_items}.</p>
+     *
+     * @param externalId identificador externo do pedido
+     * @param createdAt data de criação do pedido
+     * @param status nome do {@link io.github.douglasdreer.managerorder.domain.entity.OrderStatus}
+     * @param totalValue valor total já calculado
+     * @param itemsJson itens do pedido, como gravados por
+     *                  {@link io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson}
+     * @return {@link Optional} com o id gerado, ou vazio se o {@code externalId} já existia
+     */
+    @Query(value = """
+            WITH claimed AS (
+                INSERT INTO tb_order_external_ids (external_id, order_id, created_at)
+                VALUES (:externalId, nextval('seq_orders'), :createdAt)
+                ON CONFLICT (external_id) DO NOTHING
+                RETURNING order_id
+            )
+            INSERT INTO tb_orders (id, external_id, created_at, status, total_value, version, items_json)
+            SELECT order_id, :externalId, :createdAt, :status, :totalValue, 0, CAST(:itemsJson AS jsonb) FROM claimed
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<Long> insertWithItemsIfAbsent(@Param("externalId") String externalId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("status") String status,
+                                           @Param("totalValue") BigDecimal totalValue,
+                                           @Param("itemsJson") String itemsJson);
 }
@@ -0,0 +1,61 @@
+package io.github.douglasdreer.managerorder.domain.repository;
+
+import io.github.douglasdreer.managerorder.domain.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório dos eventos pendentes de publicação ({@link OutboxEvent}).
+ *
+ * @since 1.0
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Bloqueia e retorna o próximo lote de eventos pendentes, em ordem de criação.
+     *
+     * <p>Utiliza {@code FOR UPDATE SKIP LOCKED}, permitindo que várias instâncias
+     * drenem o outbox em paralelo sem publicar o mesmo evento. Deve ser chamado
+     * dentro de uma transação, que mantém o bloqueio até a marcação como enviado.</p>
+     *
+     * @param limit quantidade máxima de eventos
+     * @return eventos pendentes bloqueados para esta transação
+     */
+    @Query(value = """
+            SELECT * FROM tb_order_outbox
+            WHERE sent_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockPendingBatch(@Param("limit") int limit);
+
+    /**
+     * Marca os eventos como enviados em um único comando.
+     *
+     * @param ids identificadores dos eventos publicados
+     * @param sentAt data e hora da publicação
+     * @return quantidade de eventos atualizados
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Remove eventos já publicados antes do limite informado.
+     *
+     * @param threshold eventos enviados antes desta data são removidos
+     * @return quantidade de eventos removidos
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :threshold")
+    int deleteSentBefore(@Param("threshold") LocalDateTime threshold);
+}
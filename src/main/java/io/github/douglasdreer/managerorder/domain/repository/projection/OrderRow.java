@@ -0,0 +1,49 @@
+package io.github.douglasdreer.managerorder.domain.repository.projection;
+
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha achatada de um pedido com um de seus itens, lida por projeção JPQL.
+ *
+ * <p>Um pedido com N itens gera N linhas com os mesmos dados de cabeçalho;
+ * um pedido sem itens gera uma linha com os campos do item nulos. Nenhuma
+ * entidade gerenciada é criada na leitura.</p>
+ *
+ * <p>Um pedido com os itens em {@code items_json} gera uma única linha, com os
+ * itens em {@code itemsJson} e os campos do item nulos.</p>
+ *
+ * @param orderId identificador interno do pedido
+ * @param externalId identificador externo do pedido
+ * @param totalValue valor total do pedido
+ * @param status status do pedido
+ * @param createdAt data de criação do pedido
+ * @param version versão do pedido (controle otimista)
+ * @param itemsJson itens do pedido em JSON, ou nulo se estiverem em {@code tb_order_items}
+ * @param productName nome do produto do item, ou nulo se o pedido não tiver itens
+ * @param unitPrice valor unitário do item
+ * @param quantity quantidade do item
+ */
+public record OrderRow(
+        Long orderId,
+        String externalId,
+        BigDecimal totalValue,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        Long version,
+        String itemsJson,
+        String productName,
+        BigDecimal unitPrice,
+        Integer quantity
+) {
+
+    /**
+     * Linha apenas com o cabeçalho do pedido, lida sem JOIN com os itens.
+     */
+    public OrderRow(Long orderId, String externalId, BigDecimal totalValue, OrderStatus status,
+                    LocalDateTime createdAt, Long version, String itemsJson) {
+        this(orderId, externalId, totalValue, status, createdAt, version, itemsJson, null, null, null);
+    }
+}
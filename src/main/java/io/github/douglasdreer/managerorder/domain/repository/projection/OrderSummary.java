@@ -0,0 +1,27 @@
+package io.github.douglasdreer.managerorder.domain.repository.projection;
+
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de um pedido, sem itens, lido por projeção JPQL.
+ *
+ * <p>Usado nas listagens, que não precisam de {@code tb_order_items}. Todas as
+ * colunas estão no índice {@code idx_orders_status_created_at_id}.</p>
+ *
+ * @param orderId identificador interno do pedido
+ * @param externalId identificador externo do pedido
+ * @param totalValue valor total do pedido
+ * @param status status do pedido
+ * @param createdAt data de criação do pedido
+ */
+public record OrderSummary(
+        Long orderId,
+        String externalId,
+        BigDecimal totalValue,
+        OrderStatus status,
+        LocalDateTime createdAt
+) {
+}
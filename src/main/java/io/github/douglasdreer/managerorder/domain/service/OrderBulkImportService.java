@@ -0,0 +1,33 @@
+package io.github.douglasdreer.managerorder.domain.service;
+
+import io.github.douglasdreer.managerorder.application.dto.BulkOrderResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Serviço de importação em massa de pedidos a partir de NDJSON.
+ *
+ * Atende parceiros que não publicam no RabbitMQ e enviam arquivos com
+ * centenas de milhares de pedidos em uma única requisição.
+ */
+public interface OrderBulkImportService {
+
+    /**
+     * Lê pedidos em NDJSON e escreve um resultado NDJSON por linha de entrada.
+     *
+     * A entrada é lida de forma incremental e os pedidos válidos são enviados ao
+     * {@link OrderService} em blocos limitados; o próximo bloco só é lido depois
+     * que o anterior foi gravado e seus resultados escritos. Cada bloco é uma
+     * transação independente: blocos anteriores a uma falha permanecem gravados
+     * e o reenvio do arquivo é idempotente pelo externalId.
+     *
+     * @param in corpo NDJSON com um {@code OrderInputDTO} por linha.
+     * @param out destino dos resultados, um {@link BulkOrderResult} por linha.
+     * @return contagem de linhas por desfecho.
+     * @throws IOException se a leitura ou a escrita falharem.
+     */
+    Map<BulkOrderResult.Status, Long> importOrders(InputStream in, OutputStream out) throws IOException;
+}
@@ -0,0 +1,56 @@
+package io.github.douglasdreer.managerorder.domain.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Serviço de exportação em massa de pedidos.
+ *
+ * Define o contrato para gerar extrações completas de pedidos e itens
+ * (por exemplo, a carga noturna do data warehouse financeiro) escritas
+ * diretamente em um fluxo de saída, com uso de memória constante.
+ */
+public interface OrderExportService {
+
+    /**
+     * Formatos de exportação suportados.
+     */
+    enum Format {
+        /** Um pedido por linha, em JSON, com seus itens. */
+        NDJSON("application/x-ndjson", "ndjson"),
+        /** Uma linha por item, com os dados do pedido repetidos. */
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Escreve os pedidos criados no período informado.
+     *
+     * Os pedidos são lidos por um cursor do servidor e escritos à medida que
+     * chegam, sem acumular o resultado em memória. O fluxo não é fechado.
+     *
+     * @param format formato da saída.
+     * @param from início do período, inclusivo.
+     * @param to fim do período, exclusivo.
+     * @param out destino da exportação.
+     * @return quantidade de pedidos exportados.
+     * @throws IOException se a escrita falhar.
+     */
+    long export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
+}
@@ -2,6 +2,14 @@ package io.github.douglasdreer.managerorder.domain.service;
 
 import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderProcessingResult;
+import io.github.douglasdreer.managerorder.application.dto.OrderSummaryPage;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface que define o contrato para operações de processamento de pedidos.
@@ -19,11 +27,11 @@ public interface OrderService {
      * Processa um novo pedido completo no sistema.
      *
      * Realiza as seguintes operações em sequência:
-     * 1. Valida se o pedido (identificado pelo externalId) já existe no sistema
-     * 2. Converte o DTO de entrada em uma entidade Order
-     * 3. Calcula os valores totais de cada item e do pedido completo
-     * 4. Persiste o pedido no banco de dados
-     * 5. Converte a entidade persistida em um DTO de saída
+     * 1. Converte o DTO de entrada em uma entidade Order
+     * 2. Calcula os valores totais de cada item e do pedido completo
+     * 3. Insere o pedido somente se o externalId ainda não existir no sistema
+     * 4. Caso já exista, recupera o pedido existente (idempotência)
+     * 5. Converte o pedido em um DTO de saída
      *
      * @param input DTO contendo os dados de entrada do pedido.
      *              Deve conter externalId válido e lista de itens não vazia.
@@ -43,10 +51,92 @@ public interface OrderService {
      * // output.status() == OrderStatus.RECEIVED
      * // output.totalValue() == BigDecimal("5150.00")
      *
-     * @throws IllegalArgumentException se o externalId já existe no sistema
+     * @throws IllegalStateException se o externalId já existe, mas o pedido não pôde ser recuperado
      *
      * @see OrderInputDTO
      * @see OrderOutputDTO
      */
     OrderOutputDTO processOrder(OrderInputDTO input);
-}
\ No newline at end of file
+
+    /**
+     * Processa um único pedido como {@link #processOrder(OrderInputDTO)}, informando
+     * também se ele foi criado nesta chamada ou já existia.
+     *
+     * Usado para reprocessar individualmente os pedidos de um lote que falhou em
+     * {@link #processOrders(List)}: o conflito de externalId é tratado pelo INSERT
+     * idempotente, e não derruba os demais pedidos.
+     *
+     * @param input DTO contendo os dados de entrada do pedido.
+     * @return DTO de saída do pedido e se ele foi criado nesta chamada.
+     * @throws IllegalStateException se o externalId já existe, mas o pedido não pôde ser recuperado
+     *
+     * @see OrderProcessingResult
+     */
+    OrderProcessingResult processOrderWithOutcome(OrderInputDTO input);
+
+    /**
+     * Processa um lote de pedidos em uma única transação.
+     *
+     * Realiza as seguintes operações:
+     * 1. Consulta de uma só vez quais externalId do lote já existem no sistema
+     * 2. Converte e calcula os pedidos ainda inexistentes
+     * 3. Persiste todos os novos pedidos juntos, aproveitando o batch do JDBC
+     * 4. Converte cada pedido em um DTO de saída, na ordem da entrada
+     *
+     * Pedidos repetidos dentro do próprio lote são persistidos apenas uma vez;
+     * as ocorrências seguintes são reportadas como não criadas.
+     *
+     * @param inputs DTOs de entrada dos pedidos do lote.
+     *               Cada item deve conter externalId válido e lista de itens não vazia.
+     * @return resultados na mesma ordem da lista de entrada, indicando
+     *         se cada pedido foi criado nesta chamada ou já existia.
+     * @throws org.springframework.dao.DataAccessException se a persistência do lote falhar;
+     *         nesse caso nenhum pedido do lote é gravado. Inclui o {@code externalId} já gravado
+     *         que o filtro de idempotência, local a cada instância, não conhecia: o lote não trata
+     *         o conflito, e o chamador deve reprocessar os pedidos por {@link #processOrder(OrderInputDTO)}.
+     *
+     * @see OrderProcessingResult
+     */
+    List<OrderProcessingResult> processOrders(List<OrderInputDTO> inputs);
+
+    /**
+     * Consulta um pedido pelo identificador externo.
+     *
+     * A consulta passa pelo cache em memória; apenas pedidos ausentes do cache
+     * (ou expirados) são lidos do banco, em uma única consulta com os itens.
+     *
+     * @param externalId identificador externo do pedido.
+     * @return pedido com sua versão, ou Optional vazio se não existir.
+     *
+     * @see VersionedOrder
+     */
+    Optional<VersionedOrder> findByExternalId(String externalId);
+
+    /**
+     * Consulta um pedido pelo identificador interno.
+     *
+     * @param id identificador interno do pedido.
+     * @return pedido com sua versão, ou Optional vazio se não existir.
+     *
+     * @see #findByExternalId(String)
+     */
+    Optional<VersionedOrder> findById(Long id);
+
+    /**
+     * Lista pedidos de um status criados em um período, paginando por chave.
+     *
+     * Cada página é lida com uma busca por índice a partir do cursor, sem
+     * OFFSET e sem ler os itens dos pedidos.
+     *
+     * @param status status dos pedidos.
+     * @param from início do período, inclusivo.
+     * @param to fim do período, exclusivo.
+     * @param cursor cursor opaco devolvido pela página anterior, ou nulo na primeira página.
+     * @param size tamanho da página.
+     * @return página de resumos e o cursor da próxima, se houver.
+     * @throws IllegalArgumentException se o cursor, o período ou o tamanho forem inválidos.
+     *
+     * @see io.github.douglasdreer.managerorder.application.dto.OrderCursor
+     */
+    OrderSummaryPage listByStatus(OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size);
+}
@@ -0,0 +1,226 @@
+package io.github.douglasdreer.managerorder.domain.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.BulkOrderResult;
+import io.github.douglasdreer.managerorder.application.dto.BulkOrderResult.Status;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderProcessingResult;
+import io.github.douglasdreer.managerorder.domain.service.OrderBulkImportService;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.BulkImportProperties;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderInputValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação padrão da importação em massa de pedidos.
+ *
+ * A memória usada independe do tamanho do arquivo: no máximo
+ * {@code manager-order.bulk-import.chunk-size} linhas (cada uma limitada a
+ * {@code max-line-size} bytes em UTF-8) ficam pendentes antes de serem gravadas e respondidas.
+ * Como a leitura do bloco seguinte espera a gravação do atual, um cliente mais
+ * rápido que o banco é contido pelo controle de fluxo do próprio TCP.
+ *
+ * A validação é a mesma do consumo da fila ({@link OrderInputValidator}).
+ *
+ * Se a gravação de um bloco falhar (por exemplo, um externalId já gravado que o
+ * filtro de idempotência desta instância não conhecia), os pedidos do bloco são
+ * reprocessados um a um pelo INSERT idempotente; a linha que ainda falhar é
+ * respondida como {@link Status#FAILED}, sem interromper a resposta já iniciada.
+ *
+ * @see OrderService#processOrders(List)
+ * @see OrderService#processOrderWithOutcome(OrderInputDTO)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderBulkImportServiceImpl implements OrderBulkImportService {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrderInputValidator inputValidator;
+    private final BulkImportProperties properties;
+
+    @Override
+    public Map<Status, Long> importOrders(InputStream in, OutputStream out) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        long maxLineBytes = properties.maxLineSize().toBytes();
+
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        List<PendingLine> chunk = new ArrayList<>(properties.chunkSize());
+        StringBuilder text = new StringBuilder();
+        long lineNumber = 0;
+        long length;
+
+        while ((length = readLine(reader, text, maxLineBytes)) >= 0) {
+            lineNumber++;
+            if (length > maxLineBytes) {
+                chunk.add(PendingLine.invalid(BulkOrderResult.invalid(lineNumber, null,
+                        List.of("Linha excede o tamanho máximo de " + properties.maxLineSize()))));
+            } else if (!text.toString().isBlank()) {
+                chunk.add(parse(lineNumber, text.toString()));
+            }
+
+            if (chunk.size() >= properties.chunkSize()) {
+                flush(chunk, out, counts);
+            }
+        }
+        flush(chunk, out, counts);
+
+        log.info("Importação em massa concluída. linhas={}, resultado={}", lineNumber, counts);
+        return counts;
+    }
+
+    /**
+     * Converte e valida uma linha, sem acessar o banco.
+     */
+    private PendingLine parse(long lineNumber, String text) {
+        OrderInputDTO input;
+        try {
+            input = objectMapper.readValue(text, OrderInputDTO.class);
+        } catch (JsonProcessingException e) {
+            return PendingLine.invalid(BulkOrderResult.invalid(lineNumber, null,
+                    List.of("JSON inválido: " + e.getOriginalMessage())));
+        }
+
+        if (input == null) {
+            return PendingLine.invalid(BulkOrderResult.invalid(lineNumber, null, List.of("Linha sem pedido")));
+        }
+
+        List<String> errors = inputValidator.errors(input);
+        if (!errors.isEmpty()) {
+            return PendingLine.invalid(BulkOrderResult.invalid(lineNumber, input.externalId(), errors));
+        }
+        return new PendingLine(lineNumber, input, null);
+    }
+
+    /**
+     * Grava os pedidos válidos do bloco em uma única chamada e escreve os
+     * resultados de todas as linhas na ordem de entrada. Se o bloco falhar,
+     * cada pedido é gravado individualmente.
+     */
+    private void flush(List<PendingLine> chunk, OutputStream out, Map<Status, Long> counts) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<OrderInputDTO> inputs = chunk.stream()
+                .filter(line -> line.input() != null)
+                .map(PendingLine::input)
+                .toList();
+        Iterator<OrderProcessingResult> processed = processChunk(inputs);
+
+        for (PendingLine line : chunk) {
+            BulkOrderResult result;
+            if (line.invalid() != null) {
+                result = line.invalid();
+            } else if (processed != null) {
+                result = BulkOrderResult.of(line.number(), processed.next());
+            } else {
+                result = processIndividually(line);
+            }
+
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write(NEW_LINE);
+            counts.merge(result.status(), 1L, Long::sum);
+        }
+
+        out.flush();
+        chunk.clear();
+    }
+
+    /**
+     * @return resultados do bloco na ordem de entrada, ou nulo se a gravação
+     *         do bloco falhou e os pedidos devem ser gravados um a um.
+     */
+    private Iterator<OrderProcessingResult> processChunk(List<OrderInputDTO> inputs) {
+        if (inputs.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        try {
+            return orderService.processOrders(inputs).iterator();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar bloco da importação; reprocessando individualmente. pedidos={}, erro={}",
+                    inputs.size(), e.getMessage());
+            return null;
+        }
+    }
+
+    private BulkOrderResult processIndividually(PendingLine line) {
+        try {
+            return BulkOrderResult.of(line.number(), orderService.processOrderWithOutcome(line.input()));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar pedido da importação. linha={}, externalId={}",
+                    line.number(), line.input().externalId(), e);
+            return BulkOrderResult.failed(line.number(), line.input().externalId(),
+                    List.of("Falha ao gravar o pedido: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Lê a próxima linha para {@code line}, guardando no máximo {@code maxBytes}
+     * bytes em UTF-8; o restante de uma linha longa é descartado.
+     *
+     * @return tamanho da linha em bytes UTF-8 (pode exceder {@code maxBytes}),
+     *         ou -1 no fim do fluxo.
+     */
+    private static long readLine(Reader reader, StringBuilder line, long maxBytes) throws IOException {
+        line.setLength(0);
+        long length = 0;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return length;
+            }
+            length += utf8Length((char) c);
+            if (length <= maxBytes) {
+                line.append((char) c);
+            }
+        }
+        return length == 0 ? -1 : length;
+    }
+
+    /**
+     * Bytes do caractere em UTF-8; cada metade de um par substituto conta 2, somando
+     * os 4 bytes do código.
+     */
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800 || Character.isSurrogate(c)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Linha lida e ainda não respondida: um pedido válido ou o resultado de uma rejeição.
+     */
+    private record PendingLine(long number, OrderInputDTO input, BulkOrderResult invalid) {
+
+        static PendingLine invalid(BulkOrderResult result) {
+            return new PendingLine(result.line(), null, result);
+        }
+    }
+}
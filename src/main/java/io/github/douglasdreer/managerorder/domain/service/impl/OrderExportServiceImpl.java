@@ -0,0 +1,172 @@
+package io.github.douglasdreer.managerorder.domain.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.domain.repository.OrderRepository;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.service.OrderExportService;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementação padrão da exportação de pedidos.
+ *
+ * A leitura acontece em uma transação somente leitura, necessária para que o
+ * driver do PostgreSQL use um cursor do servidor em vez de trazer o resultado
+ * inteiro. O driver só abre o cursor fora do autocommit, por isso o pool entrega
+ * as conexões com {@code spring.datasource.hikari.auto-commit=false}. As linhas são projeções ({@link OrderRow}), então nenhuma entidade
+ * se acumula no contexto de persistência; em memória fica apenas o pedido
+ * sendo escrito.
+ *
+ * @see OrderRepository#streamRowsCreatedBetween(LocalDateTime, LocalDateTime)
+ */
+@Slf4j
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    static final String CSV_HEADER =
+            "order_id,external_id,status,created_at,total_value,product_name,unit_price,quantity\n";
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public long export(Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Long exported = transactionTemplate.execute(status -> {
+                try (Stream<OrderRow> rows = orderRepository.streamRowsCreatedBetween(from, to)) {
+                    return switch (format) {
+                        case NDJSON -> writeNdjson(rows.iterator(), out);
+                        case CSV -> writeCsv(rows.iterator(), out);
+                    };
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            log.info("Exportação de pedidos concluída. formato={}, pedidos={}, duracaoMs={}",
+                    format, exported, (System.nanoTime() - start) / 1_000_000);
+            return Objects.requireNonNull(exported);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Agrupa as linhas contíguas de cada pedido e escreve um JSON por pedido.
+     */
+    private long writeNdjson(Iterator<OrderRow> rows, OutputStream out) throws IOException {
+        long orders = 0;
+        List<OrderRow> current = new ArrayList<>();
+
+        while (rows.hasNext()) {
+            OrderRow row = rows.next();
+            if (!current.isEmpty() && !current.getFirst().orderId().equals(row.orderId())) {
+                writeJsonLine(current, out);
+                orders++;
+                current.clear();
+            }
+            current.add(row);
+        }
+
+        if (!current.isEmpty()) {
+            writeJsonLine(current, out);
+            orders++;
+        }
+        return orders;
+    }
+
+    private void writeJsonLine(List<OrderRow> rows, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(orderMapper.fromProjection(rows)));
+        out.write(NEW_LINE);
+    }
+
+    /**
+     * Escreve uma linha por item; pedidos sem itens geram uma linha com os campos do item vazios.
+     * Os itens gravados em {@code items_json} são expandidos em uma linha cada.
+     */
+    private long writeCsv(Iterator<OrderRow> rows, OutputStream out) throws IOException {
+        out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+
+        long orders = 0;
+        Long previousOrderId = null;
+        StringBuilder line = new StringBuilder(128);
+
+        while (rows.hasNext()) {
+            OrderRow row = rows.next();
+            if (!row.orderId().equals(previousOrderId)) {
+                orders++;
+                previousOrderId = row.orderId();
+            }
+
+            List<OrderItemsJson.Item> items = row.itemsJson() != null ? OrderItemsJson.read(row.itemsJson()) : List.of();
+            if (items.isEmpty()) {
+                writeCsvLine(line, row, row.productName(), row.unitPrice(), row.quantity(), out);
+            }
+            for (OrderItemsJson.Item item : items) {
+                writeCsvLine(line, row, item.productName(), item.unitPrice(), item.quantity(), out);
+            }
+        }
+        return orders;
+    }
+
+    private static void writeCsvLine(StringBuilder line, OrderRow row, String productName,
+                                     BigDecimal unitPrice, Integer quantity, OutputStream out) throws IOException {
+        line.setLength(0);
+        line.append(row.orderId()).append(',');
+        appendCsv(line, row.externalId()).append(',');
+        line.append(row.status()).append(',');
+        line.append(row.createdAt()).append(',');
+        appendCsv(line, row.totalValue()).append(',');
+        appendCsv(line, productName).append(',');
+        appendCsv(line, unitPrice).append(',');
+        appendCsv(line, quantity).append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Acrescenta um campo CSV (RFC 4180), entre aspas apenas quando necessário.
+     */
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -1,18 +1,45 @@
 package io.github.douglasdreer.managerorder.domain.service.impl;
 
+import io.github.douglasdreer.managerorder.application.dto.OrderCursor;
 import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderProcessingResult;
+import io.github.douglasdreer.managerorder.application.dto.OrderSummaryPage;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
 import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderExternalId;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.OrderExternalIdRepository;
+import io.github.douglasdreer.managerorder.domain.repository.OrderItemRepository;
 import io.github.douglasdreer.managerorder.domain.repository.OrderRepository;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
 import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.cache.OrderLookupCache;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderStorageProperties;
+import io.github.douglasdreer.managerorder.infrastructure.idempotency.ExternalIdFilter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderOutbox;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Outcome;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementação padrão do serviço de processamento de pedidos.
@@ -20,7 +47,11 @@ import java.util.Optional;
  * Orquestra a lógica de negócio para criação e processamento de pedidos,
  * incluindo validação de duplicidade, cálculo de valores e persistência.
  * Utiliza transações para garantir a integridade dos dados e logging
- * para rastreabilidade das operações.
+ * para rastreabilidade das operações. O evento de cada pedido criado é
+ * registrado no {@link OrderOutbox} na mesma transação da persistência.
+ * A duração de cada etapa e o desfecho de cada pedido são registrados no
+ * {@link OrderPipelineMetrics}; os desfechos, só depois da confirmação da transação. Os itens dos novos pedidos são gravados
+ * conforme o {@link OrderStorageProperties}; a leitura aceita os dois formatos.
  *
  * @see OrderService
  * @see OrderMapper
@@ -31,87 +62,349 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderExternalIdRepository orderExternalIdRepository;
     private final OrderMapper orderMapper;
+    private final ExternalIdFilter externalIdFilter;
+    private final OrderOutbox orderOutbox;
+    private final OrderLookupCache orderLookupCache;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final OrderStorageProperties storageProperties;
 
     @Override
     @Transactional
     public OrderOutputDTO processOrder(OrderInputDTO input) {
+        return processOrderWithOutcome(input).order();
+    }
+
+    @Override
+    @Transactional
+    public OrderProcessingResult processOrderWithOutcome(OrderInputDTO input) {
         log.info("Processing order. ExternalId={}", input.externalId());
 
+        long lookupStart = pipelineMetrics.start();
+        if (externalIdFilter.mightContain(input.externalId())) {
+            Optional<OrderOutputDTO> existingOrder = findExistingOrder(input.externalId());
+            if (existingOrder.isPresent()) {
+                pipelineMetrics.stop(Stage.IDEMPOTENCY_LOOKUP, lookupStart);
+                pipelineMetrics.outcomeAfterCommit(Outcome.DUPLICATE, 1);
+                return new OrderProcessingResult(existingOrder.get(), false);
+            }
+            externalIdFilter.recordFalsePositive();
+        }
+        pipelineMetrics.stop(Stage.IDEMPOTENCY_LOOKUP, lookupStart);
+
+        Optional<OrderOutputDTO> created = createAndPersistOrder(input);
+        if (created.isPresent()) {
+            pipelineMetrics.outcomeAfterCommit(Outcome.CREATED, 1);
+            return new OrderProcessingResult(created.get(), true);
+        }
+
+        // Outro consumidor gravou o mesmo externalId entre a verificação e o INSERT
+        pipelineMetrics.outcomeAfterCommit(Outcome.CONCURRENT_CONFLICT, 1);
         return findExistingOrder(input.externalId())
-                .orElseGet(() -> createAndPersistOrder(input));
+                .map(existing -> new OrderProcessingResult(existing, false))
+                .orElseThrow(() -> new IllegalStateException(
+                        "O pedido existe, mas não pôde ser recuperado. ExternalId=" + input.externalId()
+                ));
+    }
+
+    @Override
+    @Transactional
+    public List<OrderProcessingResult> processOrders(List<OrderInputDTO> inputs) {
+        log.info("Processing order batch. size={}", inputs.size());
+
+        long lookupStart = pipelineMetrics.start();
+        Map<String, Order> existingOrders = findExistingOrders(inputs.stream()
+                .map(OrderInputDTO::externalId)
+                .filter(externalIdFilter::mightContain)
+                .collect(Collectors.toSet()));
+        pipelineMetrics.stop(Stage.IDEMPOTENCY_LOOKUP, lookupStart);
+
+        Map<String, Order> newOrders = new LinkedHashMap<>();
+        for (OrderInputDTO input : inputs) {
+            if (!existingOrders.containsKey(input.externalId())) {
+                newOrders.computeIfAbsent(input.externalId(), externalId -> {
+                    Order order = pipelineMetrics.time(Stage.MAPPING, () -> orderMapper.toEntity(input));
+                    pipelineMetrics.time(Stage.CALCULATE_TOTAL, order::calculateTotal);
+                    return order;
+                });
+            }
+        }
+
+        if (!newOrders.isEmpty()) {
+            long persistStart = pipelineMetrics.start();
+            if (storageProperties.jsonItems()) {
+                newOrders.values().forEach(OrderServiceImpl::inlineItems);
+            }
+            orderRepository.saveAll(List.copyOf(newOrders.values()));
+            orderExternalIdRepository.saveAll(newOrders.values().stream().map(OrderExternalId::of).toList());
+            orderRepository.flush();
+            pipelineMetrics.stop(Stage.PERSIST, persistStart);
+            newOrders.keySet().forEach(externalIdFilter::put);
+        }
+
+        log.info("Lote de pedidos processado. novos={}, existentes={}", newOrders.size(), inputs.size() - newOrders.size());
+        pipelineMetrics.outcomeAfterCommit(Outcome.CREATED, newOrders.size());
+        pipelineMetrics.outcomeAfterCommit(Outcome.DUPLICATE, inputs.size() - newOrders.size());
+
+        List<OrderProcessingResult> results = toBatchResults(inputs, existingOrders, newOrders);
+        orderOutbox.enqueueAll(results.stream()
+                .filter(OrderProcessingResult::created)
+                .map(OrderProcessingResult::order)
+                .toList());
+        return results;
+    }
+
+    @Override
+    public Optional<VersionedOrder> findByExternalId(String externalId) {
+        return orderLookupCache.getByExternalId(externalId,
+                key -> toVersionedOrder(findRowsByExternalId(key)));
+    }
+
+    @Override
+    public Optional<VersionedOrder> findById(Long id) {
+        return orderLookupCache.getById(id,
+                key -> toVersionedOrder(findRowsById(key)));
+    }
+
+    @Override
+    public OrderSummaryPage listByStatus(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                         String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE + ": " + size);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("O início do período deve ser anterior ao fim: from=" + from + ", to=" + to);
+        }
+
+        OrderCursor position = cursor == null ? new OrderCursor(from, Long.MIN_VALUE) : OrderCursor.decode(cursor);
+
+        // Lê um registro a mais apenas para saber se existe próxima página
+        List<OrderSummary> summaries = orderRepository.findSummariesAfter(
+                status, from, to, position.createdAt(), position.id(), Limit.of(size + 1));
+
+        if (summaries.size() <= size) {
+            return new OrderSummaryPage(summaries, null);
+        }
+
+        List<OrderSummary> page = summaries.subList(0, size);
+        return new OrderSummaryPage(List.copyOf(page), OrderCursor.after(page.getLast()).encode());
+    }
+
+    /**
+     * Lê as linhas de um pedido. No armazenamento {@code JSONB} o cabeçalho é lido
+     * primeiro, sem JOIN; só os pedidos gravados antes no modelo relacional, com
+     * {@code items_json} nulo, fazem a segunda consulta com os itens, já restrita à
+     * partição do pedido pela data de criação lida no cabeçalho.
+     */
+    private List<OrderRow> findRowsByExternalId(String externalId) {
+        if (storageProperties.jsonItems()) {
+            return withItems(orderRepository.findHeaderByExternalId(externalId));
+        }
+        return orderRepository.findRowsByExternalId(externalId);
+    }
+
+    /**
+     * @see #findRowsByExternalId(String)
+     */
+    private List<OrderRow> findRowsById(Long id) {
+        if (storageProperties.jsonItems()) {
+            return withItems(orderRepository.findHeaderById(id));
+        }
+        return orderRepository.findRowsById(id);
+    }
+
+    private List<OrderRow> withItems(List<OrderRow> header) {
+        if (header.isEmpty() || header.getFirst().itemsJson() != null) {
+            return header;
+        }
+        OrderRow order = header.getFirst();
+        return orderRepository.findRowsByIdAndCreatedAt(order.orderId(), order.createdAt());
+    }
+
+    /**
+     * Passa os itens de um pedido ainda não persistido para {@code itemsJson}. A lista
+     * {@code items} é esvaziada para que a cascata não grave linhas em {@code tb_order_items}.
+     */
+    private static void inlineItems(Order order) {
+        order.setItemsJson(OrderItemsJson.write(order.getItems()));
+        order.getItems().clear();
+    }
+
+    private Optional<VersionedOrder> toVersionedOrder(List<OrderRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new VersionedOrder(orderMapper.fromProjection(rows), rows.getFirst().version()));
+    }
+
+    /**
+     * Busca de uma só vez os pedidos existentes entre os candidatos apontados
+     * pelo {@link ExternalIdFilter}, sem ir ao banco quando não há candidatos.
+     *
+     * @param candidates externalIds que podem já estar persistidos.
+     * @return pedidos existentes, indexados por externalId.
+     */
+    private Map<String, Order> findExistingOrders(Collection<String> candidates) {
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Order> existingOrders = orderRepository.findByExternalIdIn(candidates).stream()
+                .collect(Collectors.toMap(Order::getExternalId, Function.identity()));
+
+        for (int i = existingOrders.size(); i < candidates.size(); i++) {
+            externalIdFilter.recordFalsePositive();
+        }
+        return existingOrders;
+    }
+
+    /**
+     * Monta os resultados do lote na mesma ordem da entrada.
+     *
+     * Apenas a primeira ocorrência de um externalId recém-persistido é marcada
+     * como criada; repetições dentro do lote e pedidos que já existiam são
+     * reportados como duplicados.
+     *
+     * @param inputs DTOs de entrada na ordem original do lote.
+     * @param existingOrders pedidos já existentes, indexados por externalId.
+     * @param newOrders pedidos persistidos neste lote, indexados por externalId.
+     * @return lista de resultados alinhada à lista de entrada.
+     */
+    private List<OrderProcessingResult> toBatchResults(List<OrderInputDTO> inputs,
+                                                       Map<String, Order> existingOrders,
+                                                       Map<String, Order> newOrders) {
+        Set<String> reported = new HashSet<>();
+
+        return inputs.stream()
+                .map(input -> {
+                    Order created = newOrders.get(input.externalId());
+                    if (created != null && reported.add(input.externalId())) {
+                        return new OrderProcessingResult(orderMapper.toDto(created), true);
+                    }
+
+                    log.warn("Pedido já existe. ExternalId={}", input.externalId());
+                    Order order = created != null ? created : existingOrders.get(input.externalId());
+                    return new OrderProcessingResult(orderMapper.toDto(order), false);
+                })
+                .toList();
     }
 
     /**
      * Busca um pedido existente no repositório pelo identificador externo.
      *
-     * Se encontrado, registra um aviso no log e retorna o DTO de saída
-     * do pedido existente. Caso contrário, retorna um Optional vazio.
+     * Pedido e itens são lidos em uma única consulta por projeção, sem
+     * entidades gerenciadas nem carga tardia de itens. Se encontrado, registra
+     * um aviso no log e retorna o DTO de saída do pedido existente. Caso
+     * contrário, retorna um Optional vazio.
      *
      * @param externalId Identificador externo do pedido a ser buscado.
      * @return Optional contendo o DTO de saída do pedido se encontrado,
      *         ou Optional vazio se não existir.
      *
-     * @see OrderRepository#findByExternalId(String)
+     * @see OrderRepository#findRowsByExternalId(String)
+     * @see OrderMapper#fromProjection(List)
      */
     private Optional<OrderOutputDTO> findExistingOrder(String externalId) {
-        return orderRepository.findByExternalId(externalId)
-                .map(order -> {
-                    log.warn("Pedido já existe. ExternalId={}", externalId);
-                    return orderMapper.toDto(order);
-                });
+        List<OrderRow> rows = findRowsByExternalId(externalId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        log.warn("Pedido já existe. ExternalId={}", externalId);
+        return Optional.of(orderMapper.fromProjection(rows));
     }
 
     /**
-     * Cria e persiste um novo pedido no sistema com tratamento de race condition.
+     * Cria e persiste um novo pedido caso o externalId ainda não exista.
      *
      * Realiza as seguintes operações:
      * <ul>
      *     <ol>1. Converte o DTO de entrada em uma entidade Order</ol>
      *     <ol>2. Calcula os valores totais do pedido e seus itens</ol>
-     *     <ol>3. Persiste o pedido no banco de dados usando saveAndFlush</ol>
-     *     <ol>4. Registra o sucesso no log</ol>
+     *     <ol>3. Insere o cabeçalho com ON CONFLICT DO NOTHING, em um único comando;
+     *            no armazenamento JSONB, os itens vão na mesma linha</ol>
+     *     <ol>4. No modelo relacional, insere os itens em lote, vinculados ao id retornado</ol>
      *     <ol>5. Converte a entidade persistida em DTO de saída</ol>
+     *     <ol>6. Registra o evento do pedido no outbox</ol>
      * </ul>
      *
-     * Em caso de `DataIntegrityViolationException`, trata a race condition
-     * recuperando o pedido existente que foi criado simultaneamente.
+     * Se o externalId já existir (reentrega ou criação simultânea), nenhum
+     * dado é gravado e o retorno é vazio, cabendo ao chamador ler o pedido existente.
      *
      * @param input DTO contendo os dados de entrada do pedido.
-     * @return DTO de saída com o pedido processado e persistido,
-     *         incluindo identificador gerado pelo banco de dados.
-     * @throws IllegalStateException se o pedido for detectado como duplicado
-     *         mas não puder ser recuperado do banco de dados.
+     * @return Optional com o DTO do pedido criado, incluindo identificador gerado,
+     *         ou Optional vazio se o externalId já existia.
      *
      * @see OrderMapper#toEntity(OrderInputDTO)
      * @see Order#calculateTotal()
-     * @see OrderRepository#saveAndFlush(Object)
+     * @see OrderRepository#insertIfAbsent
+     */
+    private Optional<OrderOutputDTO> createAndPersistOrder(OrderInputDTO input) {
+        Order order = pipelineMetrics.time(Stage.MAPPING, () -> orderMapper.toEntity(input));
+        pipelineMetrics.time(Stage.CALCULATE_TOTAL, order::calculateTotal);
+
+        return pipelineMetrics.time(Stage.PERSIST, () -> insertIfAbsent(order)
+                        .map(id -> persistItems(order, id)))
+                .map(id -> {
+                    OrderOutputDTO output = pipelineMetrics.time(Stage.MAPPING, () -> orderMapper.toDto(order));
+                    orderOutbox.enqueue(output);
+
+                    log.info("O pedido foi criado com sucesso. id={}", id);
+                    return output;
+                });
+    }
+
+    /**
+     * Insere o pedido se o externalId ainda não existir: só o cabeçalho, no modelo
+     * relacional, ou o pedido inteiro em uma linha, no armazenamento JSONB.
      */
-    private OrderOutputDTO createAndPersistOrder(OrderInputDTO input) {
-        Order order = orderMapper.toEntity(input);
-        order.calculateTotal();
-
-        try {
-            Order savedOrder = orderRepository.saveAndFlush(order);
-            log.info("O pedido foi criado com sucesso. id={}", savedOrder.getId());
-            return orderMapper.toDto(savedOrder);
-
-        } catch (DataIntegrityViolationException ex) {
-            log.warn(
-                    "A criação simultânea de pedidos foi detectada. Recuperando o pedido existente. ExternalId={}",
-                    input.externalId(),
-                    ex
+    private Optional<Long> insertIfAbsent(Order order) {
+        if (!storageProperties.jsonItems()) {
+            return orderRepository.insertIfAbsent(
+                    order.getExternalId(),
+                    order.getCreatedAt(),
+                    order.getStatus().name(),
+                    order.getTotalValue()
             );
+        }
+
+        inlineItems(order);
+        return orderRepository.insertWithItemsIfAbsent(
+                order.getExternalId(),
+                order.getCreatedAt(),
+                order.getStatus().name(),
+                order.getTotalValue(),
+                order.getItemsJson()
+        );
+    }
+
+    /**
+     * Persiste os itens de um pedido cujo cabeçalho já foi inserido. Os itens
+     * gravados em {@code itemsJson} já foram inseridos com o cabeçalho.
+     *
+     * @param order pedido recém-convertido, ainda não gerenciado pelo Hibernate.
+     * @param id identificador gerado na inserção do cabeçalho.
+     * @return o próprio {@code id}.
+     */
+    private Long persistItems(Order order, Long id) {
+        order.setId(id);
+        order.setVersion(0L);
 
-            return orderRepository.findByExternalId(input.externalId())
-                    .map(orderMapper::toDto)
-                    .orElseThrow(() ->
-                            new IllegalStateException(
-                                    "O pedido existe, mas não pôde ser recuperado. ExternalId=" + input.externalId(),
-                                    ex
-                            )
-                    );
+        if (order.getItemsJson() == null) {
+            Order persistedOrder = orderRepository.getReferenceById(id);
+            order.getItems().forEach(item -> {
+                item.setOrder(persistedOrder);
+                item.setOrderCreatedAt(order.getCreatedAt());
+            });
+            orderItemRepository.saveAll(order.getItems());
+            orderItemRepository.flush();
         }
+        externalIdFilter.put(order.getExternalId());
+        return id;
     }
 }
@@ -0,0 +1,85 @@
+package io.github.douglasdreer.managerorder.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache limitado em memória dos pedidos consultados pela API.
+ *
+ * <p>Mantém dois índices (externalId e id) com tamanho máximo e expiração
+ * após a escrita ({@code manager-order.cache.orders.*}). Consultas simultâneas
+ * à mesma chave compartilham uma única leitura no banco; pedidos inexistentes
+ * não são armazenados. Não há invalidação por escrita: cada instância tem o seu
+ * cache, e uma alteração no pedido só aparece depois que a entrada expira.</p>
+ *
+ * <p>Métricas publicadas pelo binder do Caffeine ({@code cache.gets},
+ * {@code cache.evictions}, {@code cache.size}...) com as tags
+ * {@code cache=orders-by-external-id} e {@code cache=orders-by-id}.</p>
+ */
+@Component
+public class OrderLookupCache {
+
+    private final boolean enabled;
+    private final Cache<String, VersionedOrder> byExternalId;
+    private final Cache<Long, VersionedOrder> byId;
+
+    public OrderLookupCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.byExternalId = newCache(properties);
+        this.byId = newCache(properties);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byExternalId, "orders-by-external-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "orders-by-id");
+    }
+
+    /**
+     * Retorna o pedido do cache ou o carrega com {@code loader}, armazenando-o nos dois índices.
+     */
+    public Optional<VersionedOrder> getByExternalId(String externalId,
+                                                    Function<String, Optional<VersionedOrder>> loader) {
+        if (!enabled) {
+            return loader.apply(externalId);
+        }
+        return Optional.ofNullable(byExternalId.get(externalId, key -> loader.apply(key)
+                .map(this::indexById)
+                .orElse(null)));
+    }
+
+    /**
+     * Retorna o pedido do cache ou o carrega com {@code loader}, armazenando-o nos dois índices.
+     */
+    public Optional<VersionedOrder> getById(Long id, Function<Long, Optional<VersionedOrder>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key)
+                .map(this::indexByExternalId)
+                .orElse(null)));
+    }
+
+    private VersionedOrder indexById(VersionedOrder order) {
+        byId.put(order.order().orderId(), order);
+        return order;
+    }
+
+    private VersionedOrder indexByExternalId(VersionedOrder order) {
+        byExternalId.put(order.order().externalId(), order);
+        return order;
+    }
+
+    private static <K> Cache<K, VersionedOrder> newCache(OrderCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuração da importação em massa de pedidos via HTTP ({@code POST /orders/bulk}).
+ *
+ * @param chunkSize pedidos válidos acumulados antes de cada chamada a
+ *                  {@code OrderService.processOrders}; cada bloco é uma transação
+ * @param maxLineSize tamanho máximo de uma linha NDJSON, em bytes UTF-8; linhas
+ *                    maiores são descartadas e reportadas como inválidas
+ */
+@ConfigurationProperties(prefix = "manager-order.bulk-import")
+public record BulkImportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("1MB") DataSize maxLineSize
+) {
+}
@@ -0,0 +1,22 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Valores padrão do reprocessamento da fila {@value RabbitMQConfig#IMPORT_DLQ},
+ * usados quando o pedido de reprocessamento não os informa.
+ *
+ * @param parallelism quantidade de mensagens reprocessadas ao mesmo tempo
+ * @param ratePerSecond limite de mensagens reprocessadas por segundo, somando todas as threads
+ * @param confirmTimeout espera máxima pela confirmação do broker ao devolver uma mensagem ao final da DLQ
+ */
+@ConfigurationProperties(prefix = "manager-order.dlq-replay")
+public record DlqReplayProperties(
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("100") double ratePerSecond,
+        @DefaultValue("5s") Duration confirmTimeout
+) {
+}
@@ -0,0 +1,28 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuração do filtro probabilístico de {@code externalId} usado
+ * para evitar consultas de idempotência desnecessárias.
+ *
+ * @param enabled habilita o filtro; desabilitado, toda verificação consulta o banco
+ * @param expectedInsertions quantidade de pedidos esperada para o dimensionamento
+ * @param falsePositiveRate taxa de falso positivo desejada (entre 0 e 1)
+ * @param maxMemory limite de memória do filtro; se o dimensionamento ideal exceder
+ *                  este valor, o filtro é reduzido e a taxa de falso positivo aumenta
+ * @param warmUpParallelism quantidade de faixas de {@code tb_orders} lidas em paralelo na carga inicial
+ * @param warmUpFetchSize linhas buscadas por ida ao banco durante a carga inicial
+ */
+@ConfigurationProperties(prefix = "manager-order.idempotency.filter")
+public record IdempotencyFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("64MB") DataSize maxMemory,
+        @DefaultValue("4") int warmUpParallelism,
+        @DefaultValue("10000") int warmUpFetchSize
+) {
+}
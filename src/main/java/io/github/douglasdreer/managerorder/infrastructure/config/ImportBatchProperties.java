@@ -0,0 +1,22 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do consumo em lote da fila {@value RabbitMQConfig#IMPORT_QUEUE}.
+ *
+ * @param enabled habilita o listener em lote no lugar do listener unitário
+ * @param size quantidade máxima de mensagens entregues em um único lote
+ * @param receiveTimeout tempo máximo de espera por novas mensagens antes
+ *                       de entregar um lote incompleto
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.import-batch")
+public record ImportBatchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int size,
+        @DefaultValue("500ms") Duration receiveTimeout
+) {
+}
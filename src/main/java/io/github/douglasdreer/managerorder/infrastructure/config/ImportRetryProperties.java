@@ -0,0 +1,26 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração das novas tentativas de importação com espera em filas de atraso.
+ *
+ * <p>Cada valor de {@code delays} corresponde a uma fila com TTL
+ * ({@link RabbitMQConfig#importRetryQueue(Duration)}); a n-ésima falha de uma mensagem a envia
+ * para a n-ésima fila, e a mensagem só segue para a DLQ depois de falhar em todas.</p>
+ *
+ * @param enabled habilita as novas tentativas; desabilitadas, a primeira falha vai para a DLQ
+ * @param delays espera antes de cada nova tentativa, em ordem
+ * @param confirmTimeout tempo máximo de espera pela confirmação do broker ao agendar uma tentativa
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.retry")
+public record ImportRetryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue({"1s", "10s", "60s"}) List<Duration> delays,
+        @DefaultValue("5s") Duration confirmTimeout
+) {
+}
@@ -0,0 +1,54 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da importação particionada por {@code externalId}.
+ *
+ * <p>Habilitada, as mensagens de {@value RabbitMQConfig#RK_IMPORT} passam por um exchange de hash
+ * consistente que as distribui entre {@code shards} filas com um único consumidor ativo cada,
+ * preservando a ordem dos pedidos de um mesmo {@code externalId}, exceto durante as novas
+ * tentativas: a mensagem que falha volta ao final da fila e é ultrapassada pelas seguintes. Cada
+ * instância se inscreve em todas as filas, mas com prioridade maior nas que lhe cabem
+ * ({@code shard % instanceCount == instanceIndex}); as demais instâncias ficam de reserva e
+ * assumem a fila se a dona cair. A escolha do consumidor ativo pela prioridade exige RabbitMQ 4
+ * ou superior; em versões anteriores, o primeiro consumidor registrado fica ativo, qualquer que
+ * seja a instância.</p>
+ *
+ * @param enabled habilita a topologia particionada no lugar da fila única
+ * @param shards quantidade de filas; alterar o valor redistribui parte das chaves entre as filas
+ * @param instanceIndex posição desta instância, de 0 a {@code instanceCount - 1}
+ * @param instanceCount quantidade de instâncias entre as quais as filas são divididas
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.sharding")
+public record ImportShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int shards,
+        @DefaultValue("0") int instanceIndex,
+        @DefaultValue("1") int instanceCount
+) {
+
+    static final int OWNER_PRIORITY = 10;
+    static final int STANDBY_PRIORITY = 0;
+
+    public ImportShardingProperties {
+        if (shards < 1) {
+            throw new IllegalArgumentException("A quantidade de shards deve ser positiva: " + shards);
+        }
+        if (instanceCount < 1 || instanceIndex < 0 || instanceIndex >= instanceCount) {
+            throw new IllegalArgumentException(
+                    "Índice de instância inválido: " + instanceIndex + " de " + instanceCount);
+        }
+    }
+
+    /**
+     * Prioridade dos consumidores desta instância na fila do shard informado.
+     *
+     * @param shard número do shard, de 0 a {@code shards - 1}
+     * @return prioridade de dona para os shards desta instância, de reserva para os demais
+     */
+    public int consumerPriority(int shard) {
+        return shard % instanceCount == instanceIndex ? OWNER_PRIORITY : STANDBY_PRIORITY;
+    }
+}
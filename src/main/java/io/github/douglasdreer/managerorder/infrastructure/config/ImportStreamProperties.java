@@ -0,0 +1,80 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import com.rabbitmq.stream.OffsetSpecification;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Configuração da importação pelo stream {@value RabbitMQConfig#IMPORT_STREAM}.
+ *
+ * <p>Habilitada, as mensagens de {@value RabbitMQConfig#RK_IMPORT} passam a ser gravadas no stream,
+ * lido em lotes pelo protocolo de streams do RabbitMQ. O offset do último pedido de cada lote é
+ * guardado no broker com o nome {@link #trackingName()} depois que o lote é persistido; ao
+ * reiniciar, a leitura continua a partir dele.</p>
+ *
+ * <p>Para reconstruir o estado, {@code replayFromOffset} ou {@code replayFromTimestamp} relê o
+ * stream a partir do ponto informado. O ponto entra no nome de rastreamento, então a releitura
+ * tem o próprio offset guardado: reiniciar com a mesma configuração continua a releitura, e não a
+ * recomeça. Pedidos já gravados são ignorados pela idempotência por {@code externalId}.</p>
+ *
+ * @param enabled habilita o stream no lugar da fila {@value RabbitMQConfig#IMPORT_QUEUE}
+ * @param consumerName nome do consumidor no broker, base do nome de rastreamento dos offsets
+ * @param batchSize quantidade máxima de pedidos persistidos em uma única transação
+ * @param flushInterval tempo máximo que um pedido aguarda a formação do lote
+ * @param maxAge retenção do stream; mensagens mais antigas não podem ser relidas
+ * @param replayFromOffset offset a partir do qual reler o stream
+ * @param replayFromTimestamp instante a partir do qual reler o stream
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.stream")
+public record ImportStreamProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("manager-order-import") String consumerName,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("7d") Duration maxAge,
+        Long replayFromOffset,
+        Instant replayFromTimestamp
+) {
+
+    public ImportStreamProperties {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo: " + batchSize);
+        }
+        if (!flushInterval.isPositive()) {
+            throw new IllegalArgumentException("O intervalo de formação do lote deve ser positivo: " + flushInterval);
+        }
+        if (replayFromOffset != null && replayFromTimestamp != null) {
+            throw new IllegalArgumentException("Informe replay-from-offset ou replay-from-timestamp, não ambos");
+        }
+    }
+
+    /**
+     * Posição de leitura quando não há offset guardado para {@link #trackingName()}: o ponto de
+     * releitura, se houver, ou o início do stream.
+     */
+    public OffsetSpecification startOffset() {
+        if (replayFromOffset != null) {
+            return OffsetSpecification.offset(replayFromOffset);
+        }
+        if (replayFromTimestamp != null) {
+            return OffsetSpecification.timestamp(replayFromTimestamp.toEpochMilli());
+        }
+        return OffsetSpecification.first();
+    }
+
+    /**
+     * Nome sob o qual o broker guarda o offset: {@code consumerName}, acrescido do ponto de releitura.
+     */
+    public String trackingName() {
+        if (replayFromOffset != null) {
+            return consumerName + "@offset-" + replayFromOffset;
+        }
+        if (replayFromTimestamp != null) {
+            return consumerName + "@" + replayFromTimestamp;
+        }
+        return consumerName;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do container padrão dos listeners da fila {@value RabbitMQConfig#IMPORT_QUEUE}.
+ *
+ * <p>Com {@code virtual-threads} habilitado, cada consumidor roda em uma virtual thread
+ * e o número de consumidores deixa de ser o limite prático: o que limita o paralelismo
+ * é o semáforo de handlers, dimensionado pelo pool do Hikari.</p>
+ *
+ * @param virtualThreads executa os handlers em virtual threads
+ * @param concurrentConsumers consumidores iniciais do container em virtual threads
+ * @param maxConcurrentConsumers consumidores máximos do container em virtual threads
+ * @param maxConcurrentHandlers handlers executando ao mesmo tempo; 0 usa o
+ *                              {@code maximum-pool-size} do Hikari
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.listener")
+public record ListenerProperties(
+        @DefaultValue("false") boolean virtualThreads,
+        @DefaultValue("16") int concurrentConsumers,
+        @DefaultValue("64") int maxConcurrentConsumers,
+        @DefaultValue("0") int maxConcurrentHandlers
+) {
+}
@@ -0,0 +1,25 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import io.github.douglasdreer.managerorder.infrastructure.messaging.MessageCompression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuração da compressão do corpo das mensagens publicadas.
+ *
+ * <p>A leitura de mensagens comprimidas é sempre aceita; estas propriedades
+ * controlam apenas o que a aplicação publica.</p>
+ *
+ * @param enabled habilita a compressão na publicação
+ * @param algorithm algoritmo usado nas mensagens comprimidas
+ * @param threshold tamanho mínimo do corpo serializado para que a compressão seja aplicada;
+ *                  mensagens menores são publicadas sem compressão
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.compression")
+public record MessageCompressionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("LZ4") MessageCompression algorithm,
+        @DefaultValue("64KB") DataSize threshold
+) {
+}
@@ -0,0 +1,24 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache em memória das consultas de pedidos.
+ *
+ * @param enabled habilita o cache; desabilitado, toda consulta vai ao banco
+ * @param maximumSize quantidade máxima de pedidos mantidos por índice
+ *                    (externalId e id), com descarte dos menos usados
+ * @param ttl tempo máximo de permanência de um pedido no cache após ser carregado; o cache é
+ *            local a cada instância e não é invalidado por escritas, então este é o
+ *            limite para uma consulta devolver um pedido desatualizado
+ */
+@ConfigurationProperties(prefix = "manager-order.cache.orders")
+public record OrderCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl
+) {
+}
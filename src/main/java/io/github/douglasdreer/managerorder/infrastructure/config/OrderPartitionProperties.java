@@ -0,0 +1,44 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração da manutenção das partições mensais de {@code tb_orders}
+ * e {@code tb_order_items}.
+ *
+ * <p>O horário de execução é lido diretamente pelo {@code @Scheduled} da
+ * manutenção ({@code maintenance-cron}).</p>
+ *
+ * @param enabled habilita a criação de partições futuras e a retenção
+ * @param premadeMonths quantidade de meses seguintes ao atual com partição já criada
+ * @param retention tempo mínimo de guarda de um pedido; uma partição é retirada quando
+ *                  todo o seu mês é mais antigo que este prazo. Também é a janela em que
+ *                  a unicidade do {@code externalId} é garantida
+ * @param retentionAction o que fazer com a partição retirada
+ * @param lockTimeout espera máxima pelo bloqueio das tabelas; ao esgotar, a operação
+ *                    é abandonada e refeita na próxima execução
+ * @param keyDeleteBatchSize chaves de idempotência expiradas removidas por comando
+ */
+@ConfigurationProperties(prefix = "manager-order.partitioning")
+public record OrderPartitionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int premadeMonths,
+        @DefaultValue("365d") Duration retention,
+        @DefaultValue("DETACH") RetentionAction retentionAction,
+        @DefaultValue("5s") Duration lockTimeout,
+        @DefaultValue("10000") int keyDeleteBatchSize
+) {
+
+    /**
+     * Destino de uma partição retirada pela retenção.
+     */
+    public enum RetentionAction {
+        /** Desanexa a partição, que permanece como tabela avulsa para arquivamento. */
+        DETACH,
+        /** Desanexa e remove a partição. */
+        DROP
+    }
+}
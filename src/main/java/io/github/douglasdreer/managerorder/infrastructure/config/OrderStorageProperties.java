@@ -0,0 +1,36 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da forma de gravação dos pedidos.
+ *
+ * <p>O modo vale apenas para a escrita: a leitura reconhece os dois formatos
+ * pela coluna {@code items_json}, então a troca de modo não exige migração
+ * dos pedidos já gravados.</p>
+ *
+ * @param items onde os itens de um novo pedido são gravados
+ */
+@ConfigurationProperties(prefix = "manager-order.storage")
+public record OrderStorageProperties(
+        @DefaultValue("RELATIONAL") ItemStorage items
+) {
+
+    /**
+     * Indica se os novos pedidos guardam os itens na coluna {@code items_json}.
+     */
+    public boolean jsonItems() {
+        return items == ItemStorage.JSONB;
+    }
+
+    /**
+     * Armazenamento dos itens de um pedido.
+     */
+    public enum ItemStorage {
+        /** Uma linha de {@code tb_order_items} por item. */
+        RELATIONAL,
+        /** Lista de itens em JSONB na linha do pedido, gravada e lida sem JOIN. */
+        JSONB
+    }
+}
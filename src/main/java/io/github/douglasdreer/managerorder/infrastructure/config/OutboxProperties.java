@@ -0,0 +1,22 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do relay do outbox de eventos de pedidos.
+ *
+ * <p>Os intervalos de execução são lidos diretamente pelo {@code @Scheduled}
+ * do relay ({@code relay-interval-ms} e {@code cleanup-interval-ms}).</p>
+ *
+ * @param batchSize quantidade de eventos publicados e marcados por transação
+ * @param retention tempo que eventos já enviados permanecem na tabela
+ */
+@ConfigurationProperties(prefix = "manager-order.outbox")
+public record OutboxProperties(
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("7d") Duration retention
+) {
+}
@@ -0,0 +1,43 @@
+package io.github.douglasdreer.managerorder.infrastructure.config;
+
+import io.github.douglasdreer.managerorder.infrastructure.messaging.WireFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuração da publicação com confirmações assíncronas do broker.
+ *
+ * <p>As confirmações só são usadas quando {@code spring.rabbitmq.publisher-confirm-type=correlated};
+ * caso contrário a publicação é considerada concluída assim que enviada.</p>
+ *
+ * @param maxInFlight quantidade máxima de mensagens publicadas e ainda não confirmadas
+ * @param confirmTimeout tempo máximo de espera pela confirmação de uma mensagem,
+ *                       e também por uma vaga na janela quando ela está cheia
+ * @param maxAttempts tentativas de publicação antes de desistir após nack, devolução ou timeout
+ * @param retryBackoff espera base entre tentativas, multiplicada pelo número da tentativa
+ * @param defaultWireFormat codificação das mensagens publicadas em destinos sem configuração própria
+ * @param wireFormats codificação por exchange de destino
+ */
+@ConfigurationProperties(prefix = "manager-order.messaging.publisher")
+public record PublisherProperties(
+        @DefaultValue("1000") int maxInFlight,
+        @DefaultValue("10s") Duration confirmTimeout,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration retryBackoff,
+        @DefaultValue("JSON") WireFormat defaultWireFormat,
+        @DefaultValue Map<String, WireFormat> wireFormats
+) {
+
+    /**
+     * Codificação das mensagens publicadas no exchange informado.
+     *
+     * @param exchange nome do exchange de destino
+     * @return formato configurado para o exchange ou {@link #defaultWireFormat()}
+     */
+    public WireFormat wireFormatFor(String exchange) {
+        return wireFormats.getOrDefault(exchange, defaultWireFormat);
+    }
+}
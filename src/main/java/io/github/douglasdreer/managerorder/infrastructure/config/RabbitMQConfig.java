@@ -1,28 +1,75 @@
 package io.github.douglasdreer.managerorder.infrastructure.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.stream.Environment;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.BinaryJacksonMessageConverter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.CompressingMessageConverter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.HandlerConcurrencyLimiter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.WireFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.rabbit.stream.config.StreamRabbitListenerContainerFactory;
+import tools.jackson.databind.json.JsonMapper;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
 
     // Nomes das filas e exchanges
     public static final String IMPORT_QUEUE = "q.orders.import";
     public static final String IMPORT_DLQ = "q.orders.import.dlq";
+    public static final String IMPORT_INVALID_QUEUE = "q.orders.import.invalid";
+    public static final String IMPORT_STREAM = "q.orders.import.stream";
     public static final String MAIN_EXCHANGE = "ex.orders.main";
     public static final String DLX_EXCHANGE = "ex.orders.dlx";
+    public static final String SHARDED_IMPORT_EXCHANGE = "ex.orders.import.sharded";
+    public static final String IMPORT_SHARD_QUEUE_PREFIX = "q.orders.import.shard.";
+    public static final String IMPORT_RETRY_QUEUE_PREFIX = "q.orders.import.retry.";
+    public static final String RETRY_RETURN_EXCHANGE = "ex.orders.retry.return";
+
+    // Cabeçalho com o externalId, usado pelo exchange de hash consistente
+    public static final String ORDER_KEY_HEADER = "x-order-key";
+
+    // Cabeçalhos das novas tentativas: quantas já foram feitas e a fila para onde a mensagem volta
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String ORIGIN_QUEUE_HEADER = "x-origin-queue";
+
+    // Cabeçalhos das mensagens enviadas à DLQ após esgotar as tentativas
+    public static final String EXCEPTION_TYPE_HEADER = "x-exception-type";
+    public static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    public static final String DEAD_LETTERED_AT_HEADER = "x-dead-lettered-at";
 
     // Routing Keys
     public static final String RK_IMPORT = "order.imported";
     public static final String RK_ERROR = "order.error";
+    public static final String RK_INVALID = "order.invalid";
+
+    // Listener container factories
+    public static final String DEFAULT_LISTENER_CONTAINER_FACTORY = "rabbitListenerContainerFactory";
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
+    public static final String STREAM_LISTENER_CONTAINER_FACTORY = "streamListenerContainerFactory";
 
     @Bean
     public Queue importQueue() {
@@ -37,6 +84,15 @@ public class RabbitMQConfig {
         return new Queue(IMPORT_DLQ, true);
     }
 
+    /**
+     * Fila das mensagens com falha permanente (corpo ilegível ou pedido inválido), enviadas
+     * sem novas tentativas e fora da DLQ, para não serem reprocessadas pelo {@code dlqreplay}.
+     */
+    @Bean
+    public Queue importInvalidQueue() {
+        return new Queue(IMPORT_INVALID_QUEUE, true);
+    }
+
     @Bean
     public TopicExchange mainExchange() {
         return new TopicExchange(MAIN_EXCHANGE);
@@ -48,25 +104,278 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "manager-order.messaging", name = {"sharding.enabled", "stream.enabled"},
+            havingValue = "false", matchIfMissing = true)
     public Binding mainBinding(Queue importQueue, TopicExchange mainExchange) {
         return BindingBuilder.bind(importQueue).to(mainExchange).with(RK_IMPORT);
     }
 
+    /**
+     * Topologia particionada da importação, habilitada por {@code manager-order.messaging.sharding.enabled}.
+     *
+     * <p>As mensagens de {@value #RK_IMPORT} seguem para um exchange {@code x-consistent-hash}
+     * (plugin {@code rabbitmq_consistent_hash_exchange}), que escolhe a fila pelo hash do cabeçalho
+     * {@value #ORDER_KEY_HEADER}. Cada fila é quorum e tem um único consumidor ativo, então os
+     * pedidos de um mesmo {@code externalId} são processados na ordem de chegada enquanto o
+     * processamento tiver sucesso. Uma mensagem que falha vai para a fila de espera da nova tentativa
+     * e volta ao final da fila do shard: as mensagens seguintes do mesmo {@code externalId} podem ser
+     * processadas antes dela. A fila {@value #IMPORT_QUEUE} continua sendo consumida para esvaziar o
+     * que ficou nela; o vínculo antigo é removido por {@link #legacyImportBindingRemoval}.</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "manager-order.messaging.sharding", name = "enabled", havingValue = "true")
+    public Declarables shardedImportTopology(TopicExchange mainExchange, ImportShardingProperties sharding) {
+        CustomExchange shardedExchange = new CustomExchange(SHARDED_IMPORT_EXCHANGE, "x-consistent-hash",
+                true, false, Map.of("hash-header", ORDER_KEY_HEADER));
+
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(shardedExchange);
+        declarables.add(BindingBuilder.bind(shardedExchange).to(mainExchange).with(RK_IMPORT));
+        for (int shard = 0; shard < sharding.shards(); shard++) {
+            Queue queue = QueueBuilder.durable(importShardQueue(shard))
+                    .quorum()
+                    .singleActiveConsumer()
+                    .deadLetterExchange(DLX_EXCHANGE)
+                    .deadLetterRoutingKey(RK_ERROR)
+                    .build();
+            declarables.add(queue);
+            // No hash consistente a routing key do vínculo é o peso da fila
+            declarables.add(BindingBuilder.bind(queue).to(shardedExchange).with("1").noargs());
+            declarables.add(retryReturnBinding(queue));
+        }
+        return new Declarables(declarables);
+    }
+
+    public static String importShardQueue(int shard) {
+        return IMPORT_SHARD_QUEUE_PREFIX + shard;
+    }
+
+    /**
+     * Stream da importação, habilitado por {@code manager-order.messaging.stream.enabled}.
+     *
+     * <p>Recebe as mensagens de {@value #RK_IMPORT} no lugar de {@value #IMPORT_QUEUE}. Ao contrário da
+     * fila, a leitura não remove as mensagens: elas ficam disponíveis para releitura durante
+     * {@code max-age}. As novas tentativas voltam ao final do stream pelo {@value #RETRY_RETURN_EXCHANGE}.
+     * Assim como na importação particionada, {@value #IMPORT_QUEUE} continua sendo consumida para
+     * esvaziar o que ficou nela, e o vínculo antigo é removido por {@link #legacyImportBindingRemoval}.</p>
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "manager-order.messaging.stream", name = "enabled", havingValue = "true")
+    public Declarables streamImportTopology(TopicExchange mainExchange, ImportStreamProperties stream,
+                                            ImportShardingProperties sharding) {
+        if (sharding.enabled()) {
+            throw new IllegalStateException("A importação por stream e a particionada não podem ser habilitadas juntas");
+        }
+        Queue importStream = QueueBuilder.durable(IMPORT_STREAM)
+                .stream()
+                .withArgument("x-max-age", stream.maxAge().toSeconds() + "s")
+                .build();
+        return new Declarables(
+                importStream,
+                BindingBuilder.bind(importStream).to(mainExchange).with(RK_IMPORT),
+                retryReturnBinding(importStream));
+    }
+
+    /**
+     * Remove, na inicialização, o vínculo de {@value #IMPORT_QUEUE} com {@value #MAIN_EXCHANGE} quando a
+     * importação particionada ou por stream está habilitada.
+     *
+     * <p>O vínculo fica no broker depois de declarado por {@link #mainBinding}; sem removê-lo, cada
+     * mensagem de {@value #RK_IMPORT} também seria entregue à fila única e processada fora da nova
+     * topologia. Uma falha aqui não impede a inicialização e a remoção é refeita no próximo início.</p>
+     */
+    @Bean
+    public ApplicationRunner legacyImportBindingRemoval(AmqpAdmin amqpAdmin, Queue importQueue,
+                                                        TopicExchange mainExchange,
+                                                        ImportShardingProperties sharding,
+                                                        ImportStreamProperties stream) {
+        return args -> {
+            if (!sharding.enabled() && !stream.enabled()) {
+                return;
+            }
+            try {
+                amqpAdmin.removeBinding(BindingBuilder.bind(importQueue).to(mainExchange).with(RK_IMPORT));
+                log.info("Vínculo de {} com {} removido", IMPORT_QUEUE, MAIN_EXCHANGE);
+            } catch (AmqpException e) {
+                log.warn("Não foi possível remover o vínculo de {} com {}: {}",
+                        IMPORT_QUEUE, MAIN_EXCHANGE, e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Filas de espera das novas tentativas, uma por atraso de {@code manager-order.messaging.retry.delays}.
+     *
+     * <p>A mensagem fica na fila até o TTL expirar e então é reencaminhada ao exchange
+     * {@value #RETRY_RETURN_EXCHANGE}, que a devolve à fila de origem pelo cabeçalho
+     * {@value #ORIGIN_QUEUE_HEADER}. A espera acontece no broker, sem ocupar o listener.</p>
+     */
+    @Bean
+    public Declarables importRetryTopology(Queue importQueue, ImportRetryProperties retryProperties) {
+        HeadersExchange returnExchange = new HeadersExchange(RETRY_RETURN_EXCHANGE);
+
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(returnExchange);
+        declarables.add(retryReturnBinding(importQueue));
+        for (Duration delay : retryProperties.delays()) {
+            declarables.add(QueueBuilder.durable(importRetryQueue(delay))
+                    .ttl(Math.toIntExact(delay.toMillis()))
+                    .deadLetterExchange(RETRY_RETURN_EXCHANGE)
+                    .build());
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Nome da fila de espera de um atraso, derivado do próprio atraso: como o TTL de uma
+     * fila não pode ser alterado, mudar o atraso cria outra fila em vez de conflitar com a existente.
+     */
+    public static String importRetryQueue(Duration delay) {
+        long millis = delay.toMillis();
+        return IMPORT_RETRY_QUEUE_PREFIX + (millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms");
+    }
+
+    static Binding retryReturnBinding(Queue queue) {
+        return BindingBuilder.bind(queue)
+                .to(new HeadersExchange(RETRY_RETURN_EXCHANGE))
+                .where(ORIGIN_QUEUE_HEADER).matches(queue.getName());
+    }
+
     @Bean
     public Binding dlqBinding(Queue importDlq, DirectExchange deadLetterExchange) {
         return BindingBuilder.bind(importDlq).to(deadLetterExchange).with(RK_ERROR);
     }
 
     @Bean
-    public JacksonJsonMessageConverter messageConverter(ObjectMapper objectMapper) {
-        return new JacksonJsonMessageConverter(objectMapper);
+    public Binding invalidBinding(Queue importInvalidQueue, DirectExchange deadLetterExchange) {
+        return BindingBuilder.bind(importInvalidQueue).to(deadLetterExchange).with(RK_INVALID);
+    }
+
+    /**
+     * Conversor das mensagens de pedidos, escolhido pelo {@code content_type} de cada mensagem.
+     *
+     * <p>JSON continua sendo o padrão, inclusive para mensagens sem {@code content_type};
+     * CBOR e Smile são aceitos na leitura e usados na publicação quando configurados por
+     * destino em {@code manager-order.messaging.publisher.wire-formats}. Acima dele, o
+     * {@link CompressingMessageConverter} comprime corpos grandes e descomprime as mensagens
+     * recebidas conforme o {@code content_encoding}.</p>
+     *
+     * <p>O Spring AMQP 4 usa o Jackson 3, então o JSON é lido e escrito pelo {@link JsonMapper}
+     * configurado pelo Spring Boot, e não pelo {@code ObjectMapper} do Jackson 2.</p>
+     */
+    @Bean
+    public MessageConverter messageConverter(JsonMapper jsonMapper,
+                                             MessageCompressionProperties compressionProperties) {
+        ContentTypeDelegatingMessageConverter converter =
+                new ContentTypeDelegatingMessageConverter(new JacksonJsonMessageConverter(jsonMapper));
+        converter.addDelegate(WireFormat.CBOR.contentType(), new BinaryJacksonMessageConverter(WireFormat.CBOR));
+        converter.addDelegate(WireFormat.SMILE.contentType(), new BinaryJacksonMessageConverter(WireFormat.SMILE));
+        return new CompressingMessageConverter(converter,
+                compressionProperties.enabled() ? compressionProperties.algorithm() : null,
+                compressionProperties.threshold().toBytes());
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory,
-                                         JacksonJsonMessageConverter messageConverter) {
+                                         MessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(messageConverter);
+        // Mensagens sem rota voltam ao produtor em vez de serem descartadas silenciosamente
+        rabbitTemplate.setMandatory(connectionFactory.isPublisherReturns());
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Container em lote para a fila de importação, habilitado por
+     * {@code manager-order.messaging.import-batch.enabled}.
+     *
+     * <p>As mensagens são confirmadas manualmente pelo listener, permitindo
+     * rejeitar individualmente uma mensagem inválida sem descartar o lote.</p>
+     */
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    @ConditionalOnProperty(prefix = "manager-order.messaging.import-batch", name = "enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ImportBatchProperties batchProperties) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchProperties.size());
+        factory.setReceiveTimeout(batchProperties.receiveTimeout().toMillis());
+        factory.setPrefetchCount(batchProperties.size());
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * Container do stream de importação, habilitado por {@code manager-order.messaging.stream.enabled}.
+     *
+     * <p>Um único consumidor ativo entre as instâncias lê o stream; as demais ficam de reserva e
+     * assumem a partir do último offset guardado. O offset é guardado manualmente pelo
+     * listener, só depois que o lote for persistido.</p>
+     */
+    @Bean(STREAM_LISTENER_CONTAINER_FACTORY)
+    @ConditionalOnProperty(prefix = "manager-order.messaging.stream", name = "enabled", havingValue = "true")
+    public StreamRabbitListenerContainerFactory streamListenerContainerFactory(Environment environment,
+                                                                              ImportStreamProperties stream) {
+        log.info("Importação pelo stream {}. rastreamento={}, início sem offset guardado={}",
+                IMPORT_STREAM, stream.trackingName(), stream.startOffset());
+
+        StreamRabbitListenerContainerFactory factory = new StreamRabbitListenerContainerFactory(environment);
+        factory.setNativeListener(false);
+        // Com nome e rastreamento, o cliente retoma do offset guardado; o início vale só na primeira leitura
+        factory.setConsumerCustomizer((id, builder) -> builder
+                .name(stream.trackingName())
+                .offset(stream.startOffset())
+                .singleActiveConsumer()
+                .manualTrackingStrategy());
+        return factory;
+    }
+
+    /**
+     * Substitui o container padrão por um que executa os handlers em virtual threads,
+     * habilitado por {@code manager-order.messaging.listener.virtual-threads}.
+     *
+     * <p>O paralelismo é limitado pelo {@link HandlerConcurrencyLimiter}, e não pela
+     * quantidade de consumidores, para não exceder as conexões disponíveis no banco.</p>
+     */
+    @Bean(DEFAULT_LISTENER_CONTAINER_FACTORY)
+    @ConditionalOnProperty(prefix = "manager-order.messaging.listener", name = "virtual-threads", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory virtualThreadListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerProperties listenerProperties,
+            DataSource dataSource,
+            MeterRegistry meterRegistry) {
+        int maxConcurrentHandlers = resolveMaxConcurrentHandlers(listenerProperties, dataSource);
+        log.info("Listeners em virtual threads. consumidores={}-{}, handlers simultâneos={}",
+                listenerProperties.concurrentConsumers(), listenerProperties.maxConcurrentConsumers(), maxConcurrentHandlers);
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setTaskExecutor(new VirtualThreadTaskExecutor("order-listener-"));
+        factory.setConcurrentConsumers(listenerProperties.concurrentConsumers());
+        factory.setMaxConcurrentConsumers(listenerProperties.maxConcurrentConsumers());
+        factory.setAdviceChain(new HandlerConcurrencyLimiter(maxConcurrentHandlers, meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Usa o valor configurado ou, na ausência dele, o tamanho máximo do pool do Hikari.
+     */
+    static int resolveMaxConcurrentHandlers(ListenerProperties listenerProperties, DataSource dataSource) {
+        if (listenerProperties.maxConcurrentHandlers() > 0) {
+            return listenerProperties.maxConcurrentHandlers();
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Não foi possível obter o tamanho do pool de conexões: {}", e.getMessage());
+        }
+        return listenerProperties.maxConcurrentConsumers();
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.douglasdreer.managerorder.infrastructure.idempotency;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.IdempotencyFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ExternalIdFilter} baseado em filtro de Bloom mantido em memória.
+ *
+ * <p>Enquanto a carga inicial não termina ({@link ExternalIdFilterWarmer}),
+ * ou se o filtro estiver desabilitado, toda consulta responde "talvez exista",
+ * preservando o comportamento de consultar o banco.</p>
+ *
+ * <p>Métricas publicadas:</p>
+ * <ul>
+ *     <li>{@code orders.idempotency.filter.lookups} com tag {@code result}
+ *     ({@code hit}: talvez exista, {@code miss}: não visto por esta instância, {@code bypass}: filtro indisponível)</li>
+ *     <li>{@code orders.idempotency.filter.false.positives}</li>
+ *     <li>{@code orders.idempotency.filter.entries}, {@code orders.idempotency.filter.expected.fpp}
+ *     e {@code orders.idempotency.filter.memory}</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BloomExternalIdFilter implements ExternalIdFilter {
+
+    private final boolean enabled;
+    private final BloomFilter bloomFilter;
+    private final LongAdder entries = new LongAdder();
+    private volatile boolean ready;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter falsePositives;
+
+    public BloomExternalIdFilter(IdempotencyFilterProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.bloomFilter = enabled
+                ? BloomFilter.create(properties.expectedInsertions(), properties.falsePositiveRate(), properties.maxMemory().toBytes())
+                : null;
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.bypasses = lookupCounter(meterRegistry, "bypass");
+        this.falsePositives = Counter.builder("orders.idempotency.filter.false.positives")
+                .description("Respostas positivas do filtro não confirmadas pelo banco")
+                .register(meterRegistry);
+
+        if (enabled) {
+            registerGauges(meterRegistry);
+            logSizing(properties);
+        }
+    }
+
+    @Override
+    public boolean mightContain(String externalId) {
+        if (!ready) {
+            bypasses.increment();
+            return true;
+        }
+        if (bloomFilter.mightContain(externalId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    @Override
+    public void put(String externalId) {
+        if (enabled && bloomFilter.put(externalId)) {
+            entries.increment();
+        }
+    }
+
+    @Override
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Libera o filtro para responder consultas após a carga inicial.
+     */
+    void markReady() {
+        this.ready = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry) {
+        Gauge.builder("orders.idempotency.filter.entries", entries, LongAdder::sum)
+                .description("ExternalIds registrados no filtro")
+                .register(meterRegistry);
+        Gauge.builder("orders.idempotency.filter.expected.fpp", this,
+                        filter -> filter.bloomFilter.expectedFalsePositiveRate(filter.entries.sum()))
+                .description("Taxa de falso positivo estimada para a ocupação atual")
+                .register(meterRegistry);
+        Gauge.builder("orders.idempotency.filter.memory", bloomFilter, BloomFilter::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private void logSizing(IdempotencyFilterProperties properties) {
+        long idealBits = BloomFilter.optimalBitSize(properties.expectedInsertions(), properties.falsePositiveRate());
+        if (idealBits > bloomFilter.bitSize()) {
+            log.warn("Filtro de externalId limitado a {} bytes; taxa de falso positivo estimada sobe para {} com {} pedidos",
+                    bloomFilter.sizeInBytes(),
+                    bloomFilter.expectedFalsePositiveRate(properties.expectedInsertions()),
+                    properties.expectedInsertions());
+        }
+        log.info("Filtro de externalId criado. bytes={}, hashFunctions={}",
+                bloomFilter.sizeInBytes(), bloomFilter.hashFunctions());
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("orders.idempotency.filter.lookups")
+                .description("Consultas ao filtro de idempotência")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.douglasdreer.managerorder.infrastructure.idempotency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom thread-safe sobre {@link String}, com bits em um
+ * {@link AtomicLongArray}.
+ *
+ * <p>Utiliza duplo hashing (Kirsch-Mitzenmacher): as posições são derivadas de
+ * dois hashes de 64 bits obtidos a partir de uma única passada pelos caracteres,
+ * sem alocar o array de bytes da chave.</p>
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.bits = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Cria um filtro dimensionado para a quantidade esperada de elementos e a
+     * taxa de falso positivo informada, limitado a {@code maxBytes} de memória.
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions deve ser positivo");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate deve estar entre 0 e 1");
+        }
+
+        long bitSize = Math.min(optimalBitSize(expectedInsertions, falsePositiveRate), Math.max(64, maxBytes * 8));
+        return new BloomFilter(bitSize, optimalHashFunctions(expectedInsertions, bitSize));
+    }
+
+    static long optimalBitSize(long expectedInsertions, double falsePositiveRate) {
+        return (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+    }
+
+    static int optimalHashFunctions(long expectedInsertions, long bitSize) {
+        return Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+    }
+
+    /**
+     * Adiciona a chave ao filtro.
+     *
+     * @return {@code true} se algum bit foi alterado, ou seja, a chave era nova
+     */
+    boolean put(String key) {
+        long hash = hash(key);
+        long hash1 = mix(hash);
+        long hash2 = mix(hash ^ GOLDEN_GAMMA) | 1;
+        boolean changed = false;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit(index(hash1, hash2, i));
+        }
+        return changed;
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        long hash1 = mix(hash);
+        long hash2 = mix(hash ^ GOLDEN_GAMMA) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = index(hash1, hash2, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo estimada após {@code insertions} elementos.
+     */
+    double expectedFalsePositiveRate(long insertions) {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions / bitSize), hashFunctions);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private long index(long hash1, long hash2, int i) {
+        return ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+    }
+
+    private boolean setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres da chave.
+     */
+    private static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizador de 64 bits do MurmurHash3, espalha os bits do FNV.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
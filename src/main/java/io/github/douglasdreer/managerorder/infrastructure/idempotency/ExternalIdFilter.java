@@ -0,0 +1,38 @@
+package io.github.douglasdreer.managerorder.infrastructure.idempotency;
+
+/**
+ * Filtro de pertinência sobre os {@code externalId} já persistidos.
+ *
+ * <p>Responde se um identificador <em>pode</em> existir no banco. O filtro é local
+ * a cada instância: uma resposta negativa indica apenas que esta instância não viu
+ * o identificador, que pode ter sido gravado por outra instância ou antes da carga
+ * do filtro. Ela dispensa a consulta prévia, mas não a verificação na gravação: a
+ * autoridade é a restrição de unicidade de {@code tb_order_external_ids}, e quem
+ * chama deve tratar o conflito mesmo depois de uma resposta negativa. Uma resposta
+ * positiva exige confirmação no banco.</p>
+ *
+ * @since 1.0
+ */
+public interface ExternalIdFilter {
+
+    /**
+     * Indica se o identificador pode já ter sido persistido.
+     *
+     * @param externalId identificador externo do pedido
+     * @return {@code false} quando esta instância não viu o identificador, o que não
+     *         garante que ele não exista no banco
+     */
+    boolean mightContain(String externalId);
+
+    /**
+     * Registra um identificador recém-persistido.
+     *
+     * @param externalId identificador externo do pedido
+     */
+    void put(String externalId);
+
+    /**
+     * Registra que uma resposta positiva não foi confirmada pelo banco.
+     */
+    void recordFalsePositive();
+}
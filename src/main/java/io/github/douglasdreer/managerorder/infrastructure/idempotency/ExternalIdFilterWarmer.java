@@ -0,0 +1,111 @@
+package io.github.douglasdreer.managerorder.infrastructure.idempotency;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.IdempotencyFilterProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carrega o {@link BloomExternalIdFilter} com os {@code externalId} de
+ * {@code tb_orders} ao final da inicialização.
+ *
+ * <p>A tabela é dividida em faixas de {@code id} lidas em paralelo, cada uma
+ * com cursor no servidor ({@code fetch size}) dentro de uma transação somente
+ * leitura, para não trazer a faixa inteira para a memória. A carga roda em
+ * segundo plano; até terminar, o filtro encaminha todas as consultas ao banco.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalIdFilterWarmer {
+
+    private static final String ID_RANGE_SQL = "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM tb_orders";
+    private static final String EXTERNAL_IDS_SQL = "SELECT external_id FROM tb_orders WHERE id >= ? AND id <= ?";
+
+    private final BloomExternalIdFilter filter;
+    private final IdempotencyFilterProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!filter.isEnabled()) {
+            return;
+        }
+        Thread.ofPlatform()
+                .name("external-id-filter-warmup")
+                .daemon()
+                .start(this::warmUp);
+    }
+
+    void warmUp() {
+        try {
+            long start = System.nanoTime();
+            int ranges = loadAllExternalIds();
+            filter.markReady();
+            log.info("Filtro de externalId pronto. faixas={}, duracaoMs={}",
+                    ranges, (System.nanoTime() - start) / 1_000_000);
+
+        } catch (Exception e) {
+            log.error("Falha na carga do filtro de externalId; consultas seguirão para o banco", e);
+        }
+    }
+
+    /**
+     * Percorre {@code tb_orders} em faixas paralelas de {@code id}.
+     *
+     * @return quantidade de faixas lidas
+     */
+    private int loadAllExternalIds() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(ID_RANGE_SQL);
+        Long minId = (Long) range.get("min_id");
+        Long maxId = (Long) range.get("max_id");
+
+        if (minId == null) {
+            return 0;
+        }
+
+        int parallelism = Math.max(1, properties.warmUpParallelism());
+        long step = Math.max(1, (maxId - minId + parallelism) / parallelism);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<CompletableFuture<Void>> scans = new ArrayList<>();
+            for (long lower = minId; lower <= maxId; lower += step) {
+                long rangeStart = lower;
+                long rangeEnd = Math.min(maxId, lower + step - 1);
+                scans.add(CompletableFuture.runAsync(() -> scanRange(rangeStart, rangeEnd), executor));
+            }
+            CompletableFuture.allOf(scans.toArray(CompletableFuture[]::new)).join();
+            return scans.size();
+        }
+    }
+
+    private void scanRange(long lowerId, long upperId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    var statement = connection.prepareStatement(EXTERNAL_IDS_SQL);
+                    statement.setFetchSize(properties.warmUpFetchSize());
+                    statement.setLong(1, lowerId);
+                    statement.setLong(2, upperId);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> filter.put(resultSet.getString(1))
+        ));
+    }
+}
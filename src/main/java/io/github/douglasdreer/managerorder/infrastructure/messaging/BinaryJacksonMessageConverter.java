@@ -0,0 +1,38 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJacksonMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor de mensagens para um {@link WireFormat} binário (CBOR ou Smile).
+ *
+ * <p>Reaproveita o {@link AbstractJacksonMessageConverter}, o mesmo usado para JSON:
+ * o corpo é lido e escrito como bytes pelo mapper do formato, e a resolução do tipo
+ * de destino (tipo inferido do listener ou cabeçalho {@code __TypeId__}) não muda.
+ * Formatos binários não têm charset, então o {@code content_encoding} é ignorado na
+ * leitura e omitido na escrita; a classe base o usaria para decodificar o corpo como texto.</p>
+ */
+public class BinaryJacksonMessageConverter extends AbstractJacksonMessageConverter {
+
+    public BinaryJacksonMessageConverter(WireFormat format) {
+        super(format.binaryMapper(), MimeTypeUtils.parseMimeType(format.contentType()));
+    }
+
+    @Override
+    protected Object convertContent(Message message, Object conversionHint, MessageProperties properties,
+                                    String encoding) throws IOException {
+        return super.convertContent(message, conversionHint, properties, null);
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties, Type genericType) {
+        Message message = super.createMessage(object, messageProperties, genericType);
+        message.getMessageProperties().setContentEncoding(null);
+        return message;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link MessageConverter} que comprime o corpo de mensagens grandes.
+ *
+ * <p>Na escrita, o corpo gerado pelo conversor delegado só é comprimido quando atinge
+ * {@code threshold} bytes e quando a compressão de fato o reduz; o algoritmo é indicado no
+ * {@code content_encoding} ({@code lz4:UTF-8}, por exemplo), preservando a codificação
+ * original após o separador. Na leitura, mensagens com um algoritmo conhecido no
+ * {@code content_encoding} são descomprimidas antes da conversão, independentemente de
+ * a compressão estar habilitada na escrita.</p>
+ */
+public class CompressingMessageConverter implements MessageConverter {
+
+    private final MessageConverter delegate;
+    private final MessageCompression compression;
+    private final long threshold;
+
+    /**
+     * @param delegate conversor do conteúdo
+     * @param compression algoritmo usado na escrita, ou {@code null} para não comprimir
+     * @param threshold tamanho mínimo do corpo, em bytes, para comprimir
+     */
+    public CompressingMessageConverter(MessageConverter delegate, MessageCompression compression, long threshold) {
+        this.delegate = delegate;
+        this.compression = compression;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        Message message = delegate.toMessage(object, messageProperties);
+        byte[] body = message.getBody();
+        if (compression == null || body.length < threshold) {
+            return message;
+        }
+
+        byte[] compressed;
+        try {
+            compressed = compression.compress(body);
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao comprimir a mensagem com " + compression.encoding(), e);
+        }
+        if (compressed.length >= body.length) {
+            return message;
+        }
+
+        MessageProperties properties = message.getMessageProperties();
+        String originalEncoding = properties.getContentEncoding();
+        properties.setContentEncoding(compression.encoding() + (originalEncoding == null ? "" : ":" + originalEncoding));
+        properties.setContentLength(compressed.length);
+        return new Message(compressed, properties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String contentEncoding = properties.getContentEncoding();
+        Optional<MessageCompression> messageCompression = MessageCompression.fromContentEncoding(contentEncoding);
+        if (messageCompression.isEmpty()) {
+            return delegate.fromMessage(message);
+        }
+
+        byte[] body;
+        try {
+            body = messageCompression.get().decompress(message.getBody());
+        } catch (IOException e) {
+            throw new MessageConversionException("Falha ao descomprimir a mensagem (" + contentEncoding + ")", e);
+        }
+        // A mensagem recebida não é alterada: ela pode ainda ser rejeitada e ir para a DLQ comprimida
+        int separator = contentEncoding.indexOf(':');
+        Message decompressed = MessageBuilder.withBody(body)
+                .copyProperties(properties)
+                .setContentEncoding(separator < 0 ? null : contentEncoding.substring(separator + 1))
+                .setContentLength(body.length)
+                .build();
+        return delegate.fromMessage(decompressed);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.infrastructure.messaging.DlqReplayService.ReplayRequest;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.DlqReplayService.ReplayStatus;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Endpoint do Actuator para o reprocessamento da DLQ de importação ({@link DlqReplayService}).
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/dlqreplay}: situação e progresso do reprocessamento mais recente;</li>
+ *   <li>{@code POST /actuator/dlqreplay}: inicia um reprocessamento, com os parâmetros opcionais
+ *       {@code parallelism}, {@code ratePerSecond}, {@code errorContains}, {@code since},
+ *       {@code until} (ISO-8601) e {@code maxMessages};</li>
+ *   <li>{@code POST /actuator/dlqreplay/{pause|resume|stop}}: controla o reprocessamento em andamento.</li>
+ * </ul>
+ *
+ * <p>Não é exposto por padrão: incluir {@code dlqreplay} em {@code management.endpoints.web.exposure.include}.</p>
+ */
+@Component
+@Endpoint(id = "dlqreplay")
+@RequiredArgsConstructor
+public class DlqReplayEndpoint {
+
+    private final DlqReplayService replayService;
+
+    @ReadOperation
+    public ReplayStatus status() {
+        return replayService.status();
+    }
+
+    @WriteOperation
+    public ReplayStatus start(@Nullable Integer parallelism,
+                             @Nullable Double ratePerSecond,
+                             @Nullable String errorContains,
+                             @Nullable Instant since,
+                             @Nullable Instant until,
+                             @Nullable Long maxMessages) {
+        return invoke(() -> replayService.start(
+                new ReplayRequest(parallelism, ratePerSecond, errorContains, since, until, maxMessages)));
+    }
+
+    @WriteOperation
+    public ReplayStatus control(@Selector String action) {
+        return invoke(() -> switch (action) {
+            case "pause" -> replayService.pause();
+            case "resume" -> replayService.resume();
+            case "stop" -> replayService.stop();
+            default -> throw new IllegalArgumentException("Ação desconhecida: " + action + " (pause, resume ou stop)");
+        });
+    }
+
+    private static ReplayStatus invoke(Supplier<ReplayStatus> operation) {
+        try {
+            return operation.get();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
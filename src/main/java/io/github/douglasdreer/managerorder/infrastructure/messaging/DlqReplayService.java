@@ -0,0 +1,455 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.DlqReplayProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Reprocessa as mensagens da fila {@value RabbitMQConfig#IMPORT_DLQ} pelo {@link OrderService}.
+ *
+ * <p>Cada reprocessamento considera no máximo as mensagens presentes na DLQ no início (ou
+ * {@code maxMessages}). As mensagens são lidas com {@code basic.get} sem confirmação automática,
+ * por {@code parallelism} threads, e o envio ao {@link OrderService} é limitado a
+ * {@code ratePerSecond} por um {@link TokenBucket}. Mensagens reprocessadas são confirmadas;
+ * as que não passam no filtro ou falham de novo são republicadas no final da DLQ e confirmadas
+ * depois que o broker aceita a cópia. Assim nenhuma entrega fica pendente no canal durante a
+ * execução, o que levaria o broker a fechá-lo ao atingir o {@code consumer_timeout}. Como a leitura
+ * para ao atingir a quantidade inicial, as cópias, atrás dela na fila, não são lidas de novo na mesma
+ * execução. Se a cópia não for aceita, a original fica pendente e volta à DLQ ao final ou antes de
+ * uma pausa; se a aplicação cair no meio, o broker a devolve do mesmo modo.</p>
+ *
+ * <p>O reprocessamento pode ser pausado e retomado; pausado, as threads apenas aguardam, sem
+ * entregas pendentes.</p>
+ */
+@Slf4j
+@Component
+public class DlqReplayService {
+
+    public enum State { IDLE, RUNNING, PAUSED, STOPPING }
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final OrderService orderService;
+    private final DlqReplayProperties properties;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+    private final boolean confirmsEnabled;
+
+    private final Counter replayedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+
+    private volatile Replay current;
+
+    public DlqReplayService(RabbitTemplate rabbitTemplate,
+                            MessageConverter messageConverter,
+                            OrderService orderService,
+                            DlqReplayProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        this.orderService = orderService;
+        this.properties = properties;
+        this.confirmsEnabled = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+
+        this.replayedCounter = outcomeCounter(meterRegistry, "replayed");
+        this.skippedCounter = outcomeCounter(meterRegistry, "skipped");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("orders.dlq.replay.remaining", this, service -> service.remaining())
+                .description("Mensagens da DLQ ainda não lidas pelo reprocessamento em andamento")
+                .register(meterRegistry);
+        Gauge.builder("orders.dlq.replay.paused", this, service -> service.state() == State.PAUSED ? 1 : 0)
+                .description("1 enquanto o reprocessamento da DLQ está pausado")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia um reprocessamento em segundo plano.
+     *
+     * @param request parâmetros do reprocessamento; campos nulos usam os padrões de {@link DlqReplayProperties}
+     * @return situação do reprocessamento iniciado
+     * @throws IllegalStateException se já houver um reprocessamento em andamento
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     */
+    public synchronized ReplayStatus start(ReplayRequest request) {
+        if (current != null && current.finishedAt == null) {
+            throw new IllegalStateException("Já existe um reprocessamento da DLQ em andamento");
+        }
+
+        int parallelism = request.parallelism() != null ? request.parallelism() : properties.parallelism();
+        double ratePerSecond = request.ratePerSecond() != null ? request.ratePerSecond() : properties.ratePerSecond();
+        if (parallelism < 1 || ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Paralelismo e taxa devem ser positivos");
+        }
+        if (request.since() != null && request.until() != null && !request.since().isBefore(request.until())) {
+            throw new IllegalArgumentException("O início da janela deve ser anterior ao fim");
+        }
+
+        long queued = rabbitTemplate.execute(channel -> channel.messageCount(RabbitMQConfig.IMPORT_DLQ));
+        long candidates = request.maxMessages() != null && request.maxMessages() > 0
+                ? Math.min(queued, request.maxMessages())
+                : queued;
+
+        Replay replay = new Replay(request, parallelism, ratePerSecond, candidates);
+        current = replay;
+        log.info("Reprocessamento da DLQ iniciado. mensagens={}, paralelismo={}, taxa={}/s, filtro={}",
+                candidates, parallelism, ratePerSecond, request);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("dlq-replay-", 0).factory());
+        CompletableFuture.allOf(IntStream.range(0, parallelism)
+                        .mapToObj(i -> CompletableFuture.runAsync(() -> drain(replay), executor))
+                        .toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    replay.finishedAt = Instant.now();
+                    if (error != null) {
+                        log.error("Reprocessamento da DLQ interrompido por erro: {}", error.getMessage());
+                    }
+                    log.info("Reprocessamento da DLQ concluído. {}", replay.status());
+                });
+        return replay.status();
+    }
+
+    public ReplayStatus pause() {
+        Replay replay = running();
+        replay.paused = true;
+        log.info("Reprocessamento da DLQ pausado.");
+        return replay.status();
+    }
+
+    public ReplayStatus resume() {
+        Replay replay = running();
+        synchronized (replay) {
+            replay.paused = false;
+            replay.notifyAll();
+        }
+        log.info("Reprocessamento da DLQ retomado.");
+        return replay.status();
+    }
+
+    /**
+     * Interrompe o reprocessamento depois das mensagens em andamento; as não lidas permanecem na DLQ.
+     */
+    public ReplayStatus stop() {
+        Replay replay = running();
+        synchronized (replay) {
+            replay.stopped = true;
+            replay.notifyAll();
+        }
+        log.info("Reprocessamento da DLQ interrompido a pedido.");
+        return replay.status();
+    }
+
+    public ReplayStatus status() {
+        Replay replay = current;
+        return replay != null ? replay.status() : ReplayStatus.idle();
+    }
+
+    State state() {
+        Replay replay = current;
+        return replay != null ? replay.state() : State.IDLE;
+    }
+
+    private long remaining() {
+        Replay replay = current;
+        return replay != null && replay.finishedAt == null ? Math.max(0, replay.remaining.get()) : 0;
+    }
+
+    private Replay running() {
+        Replay replay = current;
+        if (replay == null || replay.finishedAt != null) {
+            throw new IllegalStateException("Nenhum reprocessamento da DLQ em andamento");
+        }
+        return replay;
+    }
+
+    private void drain(Replay replay) {
+        rabbitTemplate.execute(channel -> {
+            drain(replay, channel);
+            return null;
+        });
+    }
+
+    /**
+     * Lê mensagens da DLQ até esgotar a cota do reprocessamento. As mensagens cuja cópia não foi
+     * aceita permanecem pendentes neste canal até o {@code basic.nack} antes de uma pausa ou ao final.
+     */
+    private void drain(Replay replay, Channel channel) throws Exception {
+        long lastPending = -1;
+        try {
+            while (true) {
+                if (replay.paused && lastPending >= 0) {
+                    channel.basicNack(lastPending, true, true);
+                    lastPending = -1;
+                }
+                if (!replay.awaitRunning() || replay.remaining.getAndDecrement() <= 0) {
+                    break;
+                }
+
+                GetResponse response = channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false);
+                if (response == null) {
+                    break;
+                }
+                long deliveryTag = response.getEnvelope().getDeliveryTag();
+                Message message = toMessage(response);
+
+                if (!replay.request.matches(message.getMessageProperties())) {
+                    replay.skipped.incrementAndGet();
+                    skippedCounter.increment();
+                    if (!returnToDlq(channel, deliveryTag, message)) {
+                        lastPending = deliveryTag;
+                    }
+                    continue;
+                }
+
+                replay.bucket.acquire();
+                if (replay(message)) {
+                    channel.basicAck(deliveryTag, false);
+                    replay.replayed.incrementAndGet();
+                    replayedCounter.increment();
+                } else {
+                    replay.failed.incrementAndGet();
+                    failedCounter.increment();
+                    if (!returnToDlq(channel, deliveryTag, message)) {
+                        lastPending = deliveryTag;
+                    }
+                }
+            }
+        } finally {
+            if (lastPending >= 0) {
+                channel.basicNack(lastPending, true, true);
+            }
+        }
+    }
+
+    private boolean replay(Message message) {
+        try {
+            message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+            if (!(messageConverter.fromMessage(message) instanceof OrderInputDTO input)) {
+                throw new MessageConversionException("Payload não corresponde a um OrderInputDTO");
+            }
+            orderService.processOrder(input);
+            return true;
+        } catch (Exception e) {
+            log.warn("Falha ao reprocessar mensagem da DLQ; ela volta ao final da fila: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Republica a mensagem no final da DLQ e, aceita a cópia, confirma a original.
+     *
+     * @return {@code false} se o broker não aceitou a cópia; a original continua pendente
+     */
+    private boolean returnToDlq(Channel channel, long deliveryTag, Message message) throws IOException {
+        Message copy = MessageBuilder.withBody(message.getBody())
+                .copyProperties(message.getMessageProperties())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+        try {
+            publish(copy);
+        } catch (AmqpException e) {
+            log.warn("Mensagem mantida pendente; não foi possível devolvê-la ao final da DLQ: {}", e.getMessage());
+            return false;
+        }
+        channel.basicAck(deliveryTag, false);
+        return true;
+    }
+
+    private void publish(Message copy) {
+        if (!confirmsEnabled) {
+            rabbitTemplate.send("", RabbitMQConfig.IMPORT_DLQ, copy);
+            return;
+        }
+
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.send("", RabbitMQConfig.IMPORT_DLQ, copy, correlation);
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(properties.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.ack() || correlation.getReturned() != null) {
+                throw new AmqpException("Broker recusou a cópia: "
+                        + (confirm.ack() ? correlation.getReturned().getReplyText() : confirm.reason()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Envio da cópia interrompido", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AmqpException("Sem confirmação do broker para a cópia", e);
+        }
+    }
+
+    private Message toMessage(GetResponse response) {
+        MessageProperties messageProperties = propertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+        messageProperties.setConsumerQueue(RabbitMQConfig.IMPORT_DLQ);
+        return new Message(response.getBody(), messageProperties);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("orders.dlq.replay.messages")
+                .description("Mensagens da DLQ lidas pelo reprocessamento, por desfecho")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parâmetros de um reprocessamento.
+     *
+     * @param parallelism threads lendo a DLQ; nulo usa o padrão
+     * @param ratePerSecond limite de pedidos reprocessados por segundo; nulo usa o padrão
+     * @param errorContains trecho procurado, sem diferenciar maiúsculas, no tipo e na mensagem da exceção
+     *                      registrados em {@value RabbitMQConfig#EXCEPTION_TYPE_HEADER} e
+     *                      {@value RabbitMQConfig#EXCEPTION_MESSAGE_HEADER}
+     * @param since reprocessa apenas mensagens enviadas à DLQ a partir deste instante
+     * @param until reprocessa apenas mensagens enviadas à DLQ antes deste instante
+     * @param maxMessages quantidade máxima de mensagens lidas; nulo ou zero considera toda a DLQ
+     */
+    public record ReplayRequest(Integer parallelism, Double ratePerSecond, String errorContains,
+                                Instant since, Instant until, Long maxMessages) {
+
+        /**
+         * Verifica se a mensagem atende aos filtros de erro e de janela de tempo.
+         * Sem um instante de envio à DLQ conhecido, a mensagem só passa se não houver janela.
+         */
+        boolean matches(MessageProperties messageProperties) {
+            if (errorContains != null && !errorContains.isBlank()) {
+                String error = messageProperties.getHeader(RabbitMQConfig.EXCEPTION_TYPE_HEADER) + ": "
+                        + messageProperties.getHeader(RabbitMQConfig.EXCEPTION_MESSAGE_HEADER);
+                if (!error.toLowerCase(Locale.ROOT).contains(errorContains.toLowerCase(Locale.ROOT))) {
+                    return false;
+                }
+            }
+            if (since == null && until == null) {
+                return true;
+            }
+            Instant deadLetteredAt = deadLetteredAt(messageProperties);
+            return deadLetteredAt != null
+                    && (since == null || !deadLetteredAt.isBefore(since))
+                    && (until == null || deadLetteredAt.isBefore(until));
+        }
+
+        /**
+         * Instante do envio à DLQ: o cabeçalho gravado pelo {@link ImportRetryPublisher} ou,
+         * para mensagens rejeitadas pelo broker, o registro mais recente do {@code x-death}.
+         */
+        private static Instant deadLetteredAt(MessageProperties messageProperties) {
+            if (messageProperties.getHeader(RabbitMQConfig.DEAD_LETTERED_AT_HEADER) instanceof Number epochMilli) {
+                return Instant.ofEpochMilli(epochMilli.longValue());
+            }
+            List<Map<String, ?>> xDeath = messageProperties.getXDeathHeader();
+            if (xDeath != null && !xDeath.isEmpty() && xDeath.getFirst().get("time") instanceof Date time) {
+                return time.toInstant();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Situação do reprocessamento mais recente.
+     *
+     * @param state estado atual
+     * @param candidates mensagens consideradas no início
+     * @param replayed mensagens reprocessadas e removidas da DLQ
+     * @param skipped mensagens fora do filtro, mantidas no final da DLQ
+     * @param failed mensagens que falharam de novo, mantidas no final da DLQ
+     */
+    public record ReplayStatus(State state, long candidates, long replayed, long skipped, long failed,
+                               int parallelism, double ratePerSecond, ReplayRequest request,
+                               Instant startedAt, Instant finishedAt) {
+
+        static ReplayStatus idle() {
+            return new ReplayStatus(State.IDLE, 0, 0, 0, 0, 0, 0, null, null, null);
+        }
+    }
+
+    private static final class Replay {
+
+        private final ReplayRequest request;
+        private final int parallelism;
+        private final double ratePerSecond;
+        private final long candidates;
+        private final TokenBucket bucket;
+        private final AtomicLong remaining;
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final Instant startedAt = Instant.now();
+
+        private volatile Instant finishedAt;
+        private volatile boolean paused;
+        private volatile boolean stopped;
+
+        private Replay(ReplayRequest request, int parallelism, double ratePerSecond, long candidates) {
+            this.request = request;
+            this.parallelism = parallelism;
+            this.ratePerSecond = ratePerSecond;
+            this.candidates = candidates;
+            // Capacidade de uma ficha por thread: sem rajadas acima da taxa no início ou após pausas
+            this.bucket = new TokenBucket(ratePerSecond, parallelism);
+            this.remaining = new AtomicLong(candidates);
+        }
+
+        /**
+         * Aguarda enquanto o reprocessamento estiver pausado.
+         *
+         * @return {@code false} se o reprocessamento foi interrompido
+         */
+        private synchronized boolean awaitRunning() throws InterruptedException {
+            while (paused && !stopped) {
+                wait();
+            }
+            return !stopped;
+        }
+
+        private State state() {
+            if (finishedAt != null) {
+                return State.IDLE;
+            }
+            if (stopped) {
+                return State.STOPPING;
+            }
+            return paused ? State.PAUSED : State.RUNNING;
+        }
+
+        private ReplayStatus status() {
+            return new ReplayStatus(state(), candidates, replayed.get(), skipped.get(), failed.get(),
+                    parallelism, ratePerSecond, request, startedAt, finishedAt);
+        }
+    }
+}
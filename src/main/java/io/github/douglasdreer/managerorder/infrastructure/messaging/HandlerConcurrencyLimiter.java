@@ -0,0 +1,52 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Advice do container de listeners que limita quantos handlers executam ao mesmo tempo.
+ *
+ * <p>Com virtual threads, criar consumidores é barato e o gargalo real passa a ser o
+ * pool de conexões do banco. O semáforo mantém os handlers excedentes estacionados
+ * (sem ocupar thread de plataforma) em vez de disputarem conexões no Hikari.</p>
+ *
+ * <p>Métricas publicadas: {@code orders.listener.handlers.active},
+ * {@code orders.listener.handlers.limit} e {@code orders.listener.permit.wait}.</p>
+ */
+public class HandlerConcurrencyLimiter implements MethodInterceptor {
+
+    private final Semaphore permits;
+    private final Timer permitWait;
+
+    public HandlerConcurrencyLimiter(int maxConcurrentHandlers, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentHandlers, true);
+        this.permitWait = Timer.builder("orders.listener.permit.wait")
+                .description("Espera de um handler por uma vaga de execução")
+                .register(meterRegistry);
+
+        Gauge.builder("orders.listener.handlers.active", permits, p -> maxConcurrentHandlers - p.availablePermits())
+                .description("Handlers da fila de importação em execução")
+                .register(meterRegistry);
+        Gauge.builder("orders.listener.handlers.limit", () -> maxConcurrentHandlers)
+                .description("Máximo de handlers da fila de importação em execução")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long startedAt = System.nanoTime();
+        permits.acquire();
+        permitWait.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        try {
+            return invocation.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+/**
+ * Classificação das falhas de importação, que decide o destino da mensagem.
+ *
+ * <p>Falhas permanentes não mudam em uma nova tentativa: a mensagem vai direto para
+ * {@value io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig#IMPORT_INVALID_QUEUE}.
+ * As demais seguem o caminho de novas tentativas do {@link ImportRetryPublisher}.</p>
+ */
+public enum ImportFailure {
+
+    /** Corpo ilegível: JSON malformado, formato desconhecido ou tipo diferente de pedido. */
+    MALFORMED("malformed", true),
+
+    /** Pedido legível que viola as restrições de {@code OrderInputDTO}. */
+    INVALID("invalid", true),
+
+    /** Qualquer outra falha, como indisponibilidade do banco; pode passar em uma nova tentativa. */
+    TRANSIENT("transient", false);
+
+    private final String tag;
+    private final boolean permanent;
+
+    ImportFailure(String tag, boolean permanent) {
+        this.tag = tag;
+        this.permanent = permanent;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public boolean permanent() {
+        return permanent;
+    }
+
+    /**
+     * Classifica a falha pela primeira causa reconhecida na cadeia de exceções.
+     */
+    public static ImportFailure classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MessageConversionException) {
+                return MALFORMED;
+            }
+            if (cause instanceof ConstraintViolationException) {
+                return INVALID;
+            }
+        }
+        return TRANSIENT;
+    }
+}
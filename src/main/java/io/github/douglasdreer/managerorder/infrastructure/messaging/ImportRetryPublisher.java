@@ -0,0 +1,183 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportRetryProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agenda novas tentativas de mensagens de importação que falharam e, esgotadas as tentativas,
+ * as envia para a DLQ com a causa da falha.
+ *
+ * <p>Falhas permanentes ({@link ImportFailure#permanent()}) não passam pelas novas tentativas:
+ * a mensagem vai direto para {@value RabbitMQConfig#IMPORT_INVALID_QUEUE}, com os mesmos
+ * cabeçalhos de causa da DLQ.</p>
+ *
+ * <p>A mensagem é copiada, sem reconversão, para a fila de espera da próxima tentativa
+ * ({@link RabbitMQConfig#importRetryTopology}) com o cabeçalho {@value RabbitMQConfig#RETRY_COUNT_HEADER}
+ * incrementado e a fila de origem em {@value RabbitMQConfig#ORIGIN_QUEUE_HEADER}. Depois da última
+ * tentativa, a cópia vai para {@value RabbitMQConfig#DLX_EXCHANGE} com o tipo e a mensagem da exceção
+ * e o instante do envio nos cabeçalhos, usados como filtro pelo {@link DlqReplayService}. Quem chama
+ * confirma a mensagem original apenas depois que a cópia for aceita pelo broker; se a cópia falhar, a
+ * exceção deve devolver a original à fila, para que nenhuma mensagem se perca entre as duas operações.</p>
+ *
+ * <p>Nenhuma espera acontece no listener: o atraso é o TTL da fila de espera.</p>
+ */
+@Slf4j
+@Component
+public class ImportRetryPublisher {
+
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1024;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ImportRetryProperties properties;
+    private final boolean confirmsEnabled;
+
+    private final List<Counter> scheduled;
+    private final Counter exhausted;
+    private final Map<ImportFailure, Counter> rejected = new EnumMap<>(ImportFailure.class);
+
+    public ImportRetryPublisher(RabbitTemplate rabbitTemplate, ImportRetryProperties properties, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.confirmsEnabled = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+
+        this.scheduled = properties.delays().stream()
+                .map(delay -> Counter.builder("orders.import.retries")
+                        .description("Novas tentativas de importação agendadas por atraso")
+                        .tag("delay", delay.toString())
+                        .register(meterRegistry))
+                .toList();
+        this.exhausted = Counter.builder("orders.import.retries.exhausted")
+                .description("Mensagens de importação enviadas à DLQ após esgotar as tentativas")
+                .register(meterRegistry);
+        for (ImportFailure failure : ImportFailure.values()) {
+            if (failure.permanent()) {
+                rejected.put(failure, Counter.builder("orders.import.rejected")
+                        .description("Mensagens de importação com falha permanente enviadas à fila de inválidos")
+                        .tag("reason", failure.tag())
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    /**
+     * Encaminha a mensagem conforme a {@link ImportFailure classificação} da falha: permanentes
+     * para a fila de inválidos, transitórias para {@link #retryOrDeadLetter(Message, Throwable)}.
+     * Em ambos os casos a original pode ser confirmada quando o método retorna.
+     *
+     * @param message mensagem recebida que falhou
+     * @param cause falha da conversão, da validação ou do processamento
+     * @return a classificação aplicada
+     * @throws AmqpException se o broker não aceitar a cópia; a original deve voltar à fila
+     */
+    public ImportFailure handleFailure(Message message, Throwable cause) {
+        ImportFailure failure = ImportFailure.classify(cause);
+        if (failure.permanent()) {
+            publish(RabbitMQConfig.DLX_EXCHANGE, RabbitMQConfig.RK_INVALID, withFailureHeaders(message, cause));
+            rejected.get(failure).increment();
+            log.error("Falha permanente ({}); mensagem enviada sem novas tentativas para {}: {}",
+                    failure.tag(), RabbitMQConfig.IMPORT_INVALID_QUEUE, cause.getMessage());
+        } else {
+            retryOrDeadLetter(message, cause);
+        }
+        return failure;
+    }
+
+    /**
+     * Envia a mensagem para a fila de espera da próxima tentativa ou, esgotadas as tentativas, para a DLQ.
+     * Em ambos os casos a original pode ser confirmada quando o método retorna.
+     *
+     * @param message mensagem recebida que falhou
+     * @param cause falha do processamento
+     * @throws AmqpException se o broker não aceitar a cópia; a original deve voltar à fila
+     */
+    public void retryOrDeadLetter(Message message, Throwable cause) {
+        MessageProperties received = message.getMessageProperties();
+        int attempt = retryCount(received);
+        if (!properties.enabled() || attempt >= properties.delays().size()) {
+            publish(RabbitMQConfig.DLX_EXCHANGE, RabbitMQConfig.RK_ERROR, withFailureHeaders(message, cause));
+            exhausted.increment();
+            log.error("Tentativas esgotadas após {} novas tentativas; mensagem enviada à DLQ: {}",
+                    attempt, cause.getMessage());
+            return;
+        }
+
+        Duration delay = properties.delays().get(attempt);
+        String originQueue = received.getConsumerQueue() != null
+                ? received.getConsumerQueue()
+                : RabbitMQConfig.IMPORT_QUEUE;
+        Message retry = MessageBuilder.withBody(message.getBody())
+                .copyProperties(received)
+                .setHeader(RabbitMQConfig.RETRY_COUNT_HEADER, attempt + 1)
+                .setHeader(RabbitMQConfig.ORIGIN_QUEUE_HEADER, originQueue)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+
+        publish("", RabbitMQConfig.importRetryQueue(delay), retry);
+        scheduled.get(attempt).increment();
+        log.warn("Nova tentativa {} de {} agendada em {} para a fila {}: {}",
+                attempt + 1, properties.delays().size(), delay, originQueue, cause.getMessage());
+    }
+
+    private static Message withFailureHeaders(Message message, Throwable cause) {
+        String exceptionMessage = String.valueOf(cause.getMessage());
+        return MessageBuilder.withBody(message.getBody())
+                .copyProperties(message.getMessageProperties())
+                .setHeader(RabbitMQConfig.EXCEPTION_TYPE_HEADER, cause.getClass().getName())
+                .setHeader(RabbitMQConfig.EXCEPTION_MESSAGE_HEADER,
+                        exceptionMessage.length() > MAX_EXCEPTION_MESSAGE_LENGTH
+                                ? exceptionMessage.substring(0, MAX_EXCEPTION_MESSAGE_LENGTH)
+                                : exceptionMessage)
+                .setHeader(RabbitMQConfig.DEAD_LETTERED_AT_HEADER, Instant.now().toEpochMilli())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+    }
+
+    private void publish(String exchange, String routingKey, Message copy) {
+        if (!confirmsEnabled) {
+            rabbitTemplate.send(exchange, routingKey, copy);
+            return;
+        }
+
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.send(exchange, routingKey, copy, correlation);
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture()
+                    .get(properties.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.ack() || correlation.getReturned() != null) {
+                throw new AmqpException("Broker recusou a cópia para " + routingKey + ": "
+                        + (confirm.ack() ? correlation.getReturned().getReplyText() : confirm.reason()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Envio da cópia para " + routingKey + " interrompido", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AmqpException("Sem confirmação do broker para a cópia enviada a " + routingKey, e);
+        }
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        return properties.getHeader(RabbitMQConfig.RETRY_COUNT_HEADER) instanceof Number count
+                ? count.intValue()
+                : 0;
+    }
+}
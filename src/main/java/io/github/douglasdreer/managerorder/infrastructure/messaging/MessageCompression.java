@@ -0,0 +1,100 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Algoritmos de compressão do corpo das mensagens, identificados pelo
+ * prefixo do {@code content_encoding} da mensagem AMQP.
+ *
+ * <p>O {@code content_encoding} segue a convenção dos pós-processadores de compressão do
+ * Spring AMQP: {@code <algoritmo>:<codificação original>}, por exemplo {@code lz4:UTF-8}.
+ * Mensagens em {@code gzip} podem ser lidas também pelo {@code GUnzipPostProcessor}.</p>
+ */
+public enum MessageCompression {
+
+    /**
+     * Formato de frame LZ4: compressão menor que a do gzip, mas com custo de CPU muito mais baixo.
+     */
+    LZ4("lz4") {
+        @Override
+        OutputStream compressor(OutputStream out) throws IOException {
+            return new LZ4FrameOutputStream(out);
+        }
+
+        @Override
+        InputStream decompressor(InputStream in) throws IOException {
+            return new LZ4FrameInputStream(in);
+        }
+    },
+
+    /**
+     * Gzip, legível por qualquer consumidor, inclusive fora da JVM.
+     */
+    GZIP("gzip") {
+        @Override
+        OutputStream compressor(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+
+        @Override
+        InputStream decompressor(InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+    };
+
+    private final String encoding;
+
+    MessageCompression(String encoding) {
+        this.encoding = encoding;
+    }
+
+    public String encoding() {
+        return encoding;
+    }
+
+    /**
+     * Identifica o algoritmo pelo prefixo de um {@code content_encoding}.
+     *
+     * @param contentEncoding valor do cabeçalho, possivelmente nulo
+     * @return algoritmo correspondente, ou vazio se o corpo não estiver comprimido
+     */
+    public static Optional<MessageCompression> fromContentEncoding(String contentEncoding) {
+        if (contentEncoding == null) {
+            return Optional.empty();
+        }
+        int separator = contentEncoding.indexOf(':');
+        String prefix = (separator < 0 ? contentEncoding : contentEncoding.substring(0, separator)).trim();
+        return Arrays.stream(values())
+                .filter(compression -> compression.encoding.equalsIgnoreCase(prefix))
+                .findFirst();
+    }
+
+    public byte[] compress(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream compressor = compressor(out)) {
+            compressor.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] decompress(byte[] body) throws IOException {
+        try (InputStream decompressor = decompressor(new ByteArrayInputStream(body))) {
+            return decompressor.readAllBytes();
+        }
+    }
+
+    abstract OutputStream compressor(OutputStream out) throws IOException;
+
+    abstract InputStream decompressor(InputStream in) throws IOException;
+}
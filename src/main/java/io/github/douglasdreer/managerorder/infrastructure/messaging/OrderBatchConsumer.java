@@ -0,0 +1,150 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumidor em lote da fila de importação.
+ *
+ * <p>Substitui o {@link OrderConsumer} quando
+ * {@code manager-order.messaging.import-batch.enabled=true}. Mensagens ilegíveis
+ * ou com pedidos inválidos saem do lote antes da persistência e vão direto para a
+ * fila de inválidos. O restante do lote é
+ * persistido em uma única transação; se o lote falhar, as mensagens são
+ * reprocessadas uma a uma pelo {@link OrderService#processOrder}, que responde
+ * como duplicado o pedido já gravado por outra instância ou por uma entrega
+ * anterior, para que apenas as problemáticas sejam reenviadas
+ * pelo {@link ImportRetryPublisher} ou, esgotadas as tentativas, sigam para a DLQ.
+ * A publicação dos pedidos calculados fica a cargo do {@link OrderOutboxRelay}.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "manager-order.messaging.import-batch", name = "enabled", havingValue = "true")
+public class OrderBatchConsumer {
+
+    private final OrderService orderService;
+    private final MessageConverter messageConverter;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final ImportRetryPublisher retryPublisher;
+    private final OrderInputValidator inputValidator;
+
+    @RabbitListener(
+            queues = RabbitMQConfig.IMPORT_QUEUE,
+            containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY
+    )
+    public void consumeOrders(List<Message> messages, Channel channel) throws IOException {
+        pipelineMetrics.messagesStarted(messages.size());
+        try {
+            processBatch(messages, channel);
+        } finally {
+            pipelineMetrics.messagesFinished(messages.size());
+        }
+    }
+
+    private void processBatch(List<Message> messages, Channel channel) throws IOException {
+        log.info("Iniciando processamento do lote com {} mensagens", messages.size());
+
+        List<PendingOrder> pending = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                OrderInputDTO input = pipelineMetrics.time(Stage.DESERIALIZATION, () -> convert(message));
+                pipelineMetrics.time(Stage.VALIDATION, () -> inputValidator.validate(input));
+                pending.add(new PendingOrder(message, input));
+            } catch (MessageConversionException | ConstraintViolationException e) {
+                log.error("Mensagem rejeitada antes do lote. deliveryTag={}: {}",
+                        message.getMessageProperties().getDeliveryTag(), e.getMessage());
+                handleFailure(message, e, channel);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            orderService.processOrders(pending.stream().map(PendingOrder::input).toList());
+
+            for (PendingOrder order : pending) {
+                channel.basicAck(order.deliveryTag(), false);
+            }
+
+            log.info("Lote com {} pedidos processado com sucesso.", pending.size());
+
+        } catch (Exception e) {
+            log.warn("Falha no processamento do lote, reprocessando {} pedidos individualmente: {}",
+                    pending.size(), e.getMessage());
+            processIndividually(pending, channel);
+        }
+    }
+
+    /**
+     * Reprocessa cada pedido do lote em sua própria transação, isolando
+     * as mensagens que falham para uma nova tentativa ou para a DLQ.
+     *
+     * <p>O filtro de idempotência é local a cada instância e pode não conhecer um
+     * pedido já gravado, o que derruba o lote com violação de unicidade. A inserção
+     * individual resolve o conflito com {@code ON CONFLICT DO NOTHING} e devolve o
+     * pedido existente, em vez de falhar de novo.</p>
+     */
+    private void processIndividually(List<PendingOrder> pending, Channel channel) throws IOException {
+        for (PendingOrder order : pending) {
+            try {
+                orderService.processOrder(order.input());
+                channel.basicAck(order.deliveryTag(), false);
+            } catch (Exception e) {
+                log.error("Falha no processamento do pedido {}: {}", order.input().externalId(), e.getMessage());
+                handleFailure(order.message(), e, channel);
+            }
+        }
+    }
+
+    /**
+     * Confirma a mensagem depois que a cópia para a fila de inválidos, a nova tentativa
+     * ou o envio à DLQ for aceito pelo broker. Se a cópia falhar, a mensagem volta à fila.
+     */
+    private void handleFailure(Message message, Exception cause, Channel channel) throws IOException {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            retryPublisher.handleFailure(message, cause);
+        } catch (AmqpException e) {
+            log.error("Falha ao encaminhar a mensagem {}; devolvida à fila: {}", deliveryTag, e.getMessage());
+            channel.basicReject(deliveryTag, true);
+            return;
+        }
+        channel.basicAck(deliveryTag, false);
+    }
+
+    private OrderInputDTO convert(Message message) {
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+        if (messageConverter.fromMessage(message) instanceof OrderInputDTO input) {
+            return input;
+        }
+        throw new MessageConversionException("Payload não corresponde a um OrderInputDTO");
+    }
+
+    private record PendingOrder(Message message, OrderInputDTO input) {
+
+        long deliveryTag() {
+            return message.getMessageProperties().getDeliveryTag();
+        }
+    }
+}
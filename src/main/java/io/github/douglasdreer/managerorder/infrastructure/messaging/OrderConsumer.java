@@ -1,44 +1,72 @@
 package io.github.douglasdreer.managerorder.infrastructure.messaging;
 
 import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
-import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 import io.github.douglasdreer.managerorder.domain.service.OrderService;
 import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
-import io.github.douglasdreer.managerorder.infrastructure.messaging.impl.OrderProducerImpl;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "manager-order.messaging.import-batch", name = "enabled", havingValue = "false", matchIfMissing = true)
 public class OrderConsumer {
 
     private final OrderService orderService;
-    private final OrderProducerImpl orderProducer;
+    private final MessageConverter messageConverter;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final ImportRetryPublisher retryPublisher;
+    private final OrderInputValidator inputValidator;
 
     /**
-     * Ouve a fila de importação. Se um erro fatal ocorrer,
-     * a configuração do RabbitMQ cuidará do roteamento para a DLQ.
+     * Ouve a fila de importação. O pedido é convertido e validado antes do
+     * processamento; as falhas são classificadas pelo {@link ImportRetryPublisher}:
+     * mensagens ilegíveis ou inválidas vão direto para a fila de inválidos, e as
+     * demais agendam uma nova tentativa ou, esgotadas as tentativas, vão à DLQ.
+     * O pedido calculado é publicado pelo {@link OrderOutboxRelay}.
+     *
+     * A conversão do payload é feita aqui, e não pelo container, para que
+     * sua duração seja medida e para que a falha siga a mesma classificação.
      */
     @RabbitListener(queues = RabbitMQConfig.IMPORT_QUEUE)
-    public void consumeOrder(OrderInputDTO input) {
-        log.info("Iniciando percepção do pedido: {}", input.externalId());
-
+    public void consumeOrder(Message message) {
+        pipelineMetrics.messagesStarted(1);
         try {
-            // A transformação acontece aqui
-            OrderOutputDTO processedOrder = orderService.processOrder(input);
+            OrderInputDTO input = pipelineMetrics.time(Stage.DESERIALIZATION, () -> convert(message));
+            pipelineMetrics.time(Stage.VALIDATION, () -> inputValidator.validate(input));
+            process(input);
+        } catch (Exception e) {
+            log.error("Falha na importação do pedido. deliveryTag={}: {}",
+                    message.getMessageProperties().getDeliveryTag(), e.getMessage());
+            // Com a cópia aceita pelo broker, a mensagem original é confirmada ao retornar
+            retryPublisher.handleFailure(message, e);
+        } finally {
+            pipelineMetrics.messagesFinished(1);
+        }
+    }
 
-            // Manifesta o resultado para o próximo serviço (Produto B)
-            orderProducer.sendCalculatedOrder(processedOrder);
+    private void process(OrderInputDTO input) {
+        log.info("Iniciando percepção do pedido: {}", input.externalId());
 
-            log.info("Pedido {} processado e enviado com sucesso.", input.externalId());
+        // A transformação acontece aqui; o evento para o Produto B segue pelo outbox
+        orderService.processOrder(input);
 
-        } catch (Exception e) {
-            log.error("Falha na conexão com os dados do pedido {}: {}", input.externalId(), e.getMessage());
-            // Ao lançar a exceção, o RabbitMQ entende que deve enviar para a DLQ configurada no Bean
-            throw e;
+        log.info("Pedido {} processado com sucesso.", input.externalId());
+    }
+
+    private OrderInputDTO convert(Message message) {
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+        if (messageConverter.fromMessage(message) instanceof OrderInputDTO input) {
+            return input;
         }
+        throw new MessageConversionException("Payload não corresponde a um OrderInputDTO");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Valida os pedidos recebidos pela fila e pela importação em massa antes do
+ * processamento, com as mesmas restrições Jakarta usadas pela API.
+ *
+ * <p>Usa o {@link Validator} compartilhado da aplicação, que guarda os metadados de
+ * restrição por tipo depois da primeira validação: no caminho quente sobra apenas a
+ * checagem dos valores, sem reflexão por mensagem.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderInputValidator {
+
+    private final Validator validator;
+
+    /**
+     * @throws ConstraintViolationException se o pedido violar alguma restrição;
+     *                                      classificada como {@link ImportFailure#INVALID}
+     */
+    public void validate(OrderInputDTO input) {
+        Set<ConstraintViolation<OrderInputDTO>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException("Pedido inválido: " + String.join(", ", describe(violations)),
+                    violations);
+        }
+    }
+
+    /**
+     * Valida o pedido sem lançar exceção, para quem reporta as violações por item.
+     *
+     * @return violações no formato {@code campo: mensagem}, em ordem alfabética;
+     *         vazia se o pedido for válido
+     */
+    public List<String> errors(OrderInputDTO input) {
+        return describe(validator.validate(input));
+    }
+
+    private static List<String> describe(Set<ConstraintViolation<OrderInputDTO>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+
+import java.util.Collection;
+
+/**
+ * Registra eventos de pedidos calculados para publicação assíncrona.
+ *
+ * <p>Deve ser chamado dentro da transação que persiste o pedido; o evento só
+ * é publicado se essa transação for confirmada.</p>
+ */
+public interface OrderOutbox {
+    void enqueue(OrderOutputDTO order);
+
+    void enqueueAll(Collection<OrderOutputDTO> orders);
+}
@@ -0,0 +1,116 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.domain.entity.OutboxEvent;
+import io.github.douglasdreer.managerorder.domain.repository.OutboxEventRepository;
+import io.github.douglasdreer.managerorder.infrastructure.config.OutboxProperties;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Publica no broker os eventos registrados no outbox.
+ *
+ * <p>Cada ciclo drena o outbox em lotes de {@code manager-order.outbox.batch-size}.
+ * Cada lote é bloqueado com {@code FOR UPDATE SKIP LOCKED}, publicado sem esperar
+ * mensagem a mensagem e marcado como enviado com um único {@code UPDATE} quando
+ * todas as confirmações do broker chegam, tudo na mesma transação. Se a publicação
+ * falhar, a transação é desfeita e o lote volta a ser tentado no próximo ciclo
+ * (entrega ao menos uma vez; o consumidor deve tolerar repetições).</p>
+ *
+ * <p>O tempo entre o envio de cada evento e a sua confirmação pelo broker é
+ * registrado como a etapa {@code publish} do {@link OrderPipelineMetrics}.</p>
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderProducer orderProducer;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderPipelineMetrics pipelineMetrics;
+
+    public OrderOutboxRelay(OutboxEventRepository outboxEventRepository,
+                            OrderProducer orderProducer,
+                            ObjectMapper objectMapper,
+                            OutboxProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            OrderPipelineMetrics pipelineMetrics) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderProducer = orderProducer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    @Scheduled(fixedDelayString = "${manager-order.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published == properties.batchSize());
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Falha ao publicar eventos do outbox, nova tentativa no próximo ciclo: {}", cause.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${manager-order.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime threshold = LocalDateTime.now().minus(properties.retention());
+        int removed = transactionTemplate.execute(status -> outboxEventRepository.deleteSentBefore(threshold));
+        if (removed > 0) {
+            log.info("Eventos do outbox removidos. quantidade={}", removed);
+        }
+    }
+
+    /**
+     * Publica e marca como enviado um lote de eventos pendentes.
+     *
+     * @return quantidade de eventos publicados
+     */
+    int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockPendingBatch(properties.batchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture.allOf(events.stream()
+                        .map(this::publish)
+                        .toArray(CompletableFuture[]::new))
+                .join();
+
+        outboxEventRepository.markSent(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        log.debug("Lote do outbox publicado. quantidade={}", events.size());
+        return events.size();
+    }
+
+    private CompletableFuture<Void> publish(OutboxEvent event) {
+        long start = pipelineMetrics.start();
+        return orderProducer.sendCalculatedOrder(readPayload(event))
+                .whenComplete((result, error) -> pipelineMetrics.stop(Stage.PUBLISH, start));
+    }
+
+    private OrderOutputDTO readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), OrderOutputDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Evento do outbox ilegível. id=" + event.getId(), e);
+        }
+    }
+}
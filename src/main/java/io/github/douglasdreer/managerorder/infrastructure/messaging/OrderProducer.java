@@ -2,6 +2,14 @@ package io.github.douglasdreer.managerorder.infrastructure.messaging;
 
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface OrderProducer {
-    void sendCalculatedOrder(OrderOutputDTO order);
+    /**
+     * Publica o pedido calculado.
+     *
+     * @return futuro concluído quando o broker confirma a mensagem, ou com erro
+     *         se ela for recusada ou devolvida após esgotar as tentativas
+     */
+    CompletableFuture<Void> sendCalculatedOrder(OrderOutputDTO order);
 }
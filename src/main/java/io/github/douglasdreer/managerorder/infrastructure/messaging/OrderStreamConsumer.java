@@ -0,0 +1,246 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.stream.MessageHandler;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportStreamProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.rabbit.stream.support.StreamMessageProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consumidor do stream de importação, habilitado por {@code manager-order.messaging.stream.enabled}.
+ *
+ * <p>Os pedidos são acumulados em lotes de até {@code batch-size}, ou pelo tempo de
+ * {@code flush-interval}, e persistidos em uma única transação, como no {@link OrderBatchConsumer}.
+ * Só depois da persistência o offset da última mensagem do lote é guardado no broker; se a
+ * aplicação cair antes, o lote é relido ao reiniciar e a idempotência por {@code externalId}
+ * descarta o que já foi gravado.</p>
+ *
+ * <p>Um stream não permite rejeitar mensagens: as que falham são copiadas pelo
+ * {@link ImportRetryPublisher} para a fila de inválidos ou para uma nova tentativa, que volta ao
+ * final do stream. Se a cópia não for aceita pelo broker, o lote é descartado sem guardar o
+ * offset e o listener é reiniciado, voltando a ler a partir do último offset guardado.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "manager-order.messaging.stream", name = "enabled", havingValue = "true")
+public class OrderStreamConsumer {
+
+    static final String LISTENER_ID = "order-import-stream";
+
+    private final OrderService orderService;
+    private final MessageConverter messageConverter;
+    private final OrderPipelineMetrics pipelineMetrics;
+    private final ImportRetryPublisher retryPublisher;
+    private final OrderInputValidator inputValidator;
+    private final ImportStreamProperties properties;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<PendingOrder> pending;
+    private final ScheduledExecutorService flusher;
+
+    // Contexto da última mensagem recebida; guardar o seu offset confirma tudo o que veio antes
+    private MessageHandler.Context lastContext;
+    private int received;
+    private long oldestReceivedAt;
+    // Mensagens recebidas até o listener reiniciar são ignoradas; serão relidas
+    private boolean rewinding;
+
+    public OrderStreamConsumer(OrderService orderService,
+                               MessageConverter messageConverter,
+                               OrderPipelineMetrics pipelineMetrics,
+                               ImportRetryPublisher retryPublisher,
+                               OrderInputValidator inputValidator,
+                               ImportStreamProperties properties,
+                               RabbitListenerEndpointRegistry listenerRegistry) {
+        this.orderService = orderService;
+        this.messageConverter = messageConverter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.retryPublisher = retryPublisher;
+        this.inputValidator = inputValidator;
+        this.properties = properties;
+        this.listenerRegistry = listenerRegistry;
+        this.pending = new ArrayList<>(properties.batchSize());
+
+        long interval = properties.flushInterval().toNanos();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("order-stream-flush").daemon().factory());
+        this.flusher.scheduleWithFixedDelay(this::flushIfExpired, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    @RabbitListener(
+            id = LISTENER_ID,
+            queues = RabbitMQConfig.IMPORT_STREAM,
+            containerFactory = RabbitMQConfig.STREAM_LISTENER_CONTAINER_FACTORY
+    )
+    public void consumeOrder(Message message) {
+        // As novas tentativas voltam ao stream pelo cabeçalho de origem
+        message.getMessageProperties().setConsumerQueue(RabbitMQConfig.IMPORT_STREAM);
+
+        lock.lock();
+        try {
+            if (rewinding) {
+                return;
+            }
+            pipelineMetrics.messagesStarted(1);
+            if (received == 0) {
+                oldestReceivedAt = System.nanoTime();
+            }
+            received++;
+            lastContext = context(message);
+            try {
+                OrderInputDTO input = pipelineMetrics.time(Stage.DESERIALIZATION, () -> convert(message));
+                pipelineMetrics.time(Stage.VALIDATION, () -> inputValidator.validate(input));
+                pending.add(new PendingOrder(message, input));
+            } catch (MessageConversionException | ConstraintViolationException e) {
+                log.error("Mensagem rejeitada antes do lote. offset={}: {}", lastContext.offset(), e.getMessage());
+                handleFailure(message, e);
+            }
+
+            if (pending.size() >= properties.batchSize()) {
+                flush();
+            }
+        } catch (AmqpException e) {
+            rewind(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // O que ainda não foi persistido não teve o offset guardado e será relido
+        flusher.shutdownNow();
+    }
+
+    private void flushIfExpired() {
+        lock.lock();
+        try {
+            if (!rewinding && received > 0
+                    && System.nanoTime() - oldestReceivedAt >= properties.flushInterval().toNanos()) {
+                flush();
+            }
+        } catch (AmqpException e) {
+            rewind(e);
+        } catch (RuntimeException e) {
+            log.error("Falha ao concluir o lote do stream; offset não guardado: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta o que está pendente e reinicia o listener fora da thread de entrega, para que a
+     * leitura recomece do último offset guardado. Deve ser chamado com o lock adquirido.
+     */
+    private void rewind(AmqpException cause) {
+        log.error("{}; listener do stream será reiniciado", cause.getMessage());
+        pipelineMetrics.messagesFinished(received);
+        pending.clear();
+        received = 0;
+        rewinding = true;
+        flusher.execute(this::restart);
+    }
+
+    private void restart() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+        container.stop();
+        lock.lock();
+        try {
+            rewinding = false;
+        } finally {
+            lock.unlock();
+        }
+        container.start();
+    }
+
+    /**
+     * Persiste os pedidos pendentes e guarda o offset da última mensagem recebida.
+     * Deve ser chamado com o lock adquirido.
+     */
+    private void flush() {
+        List<PendingOrder> batch = List.copyOf(pending);
+        MessageHandler.Context context = lastContext;
+        int finished = received;
+        pending.clear();
+        received = 0;
+
+        try {
+            if (!batch.isEmpty()) {
+                persist(batch);
+            }
+            context.storeOffset();
+            log.info("Lote do stream com {} pedidos processado. offset={}", batch.size(), context.offset());
+        } finally {
+            pipelineMetrics.messagesFinished(finished);
+        }
+    }
+
+    private void persist(List<PendingOrder> batch) {
+        try {
+            orderService.processOrders(batch.stream().map(PendingOrder::input).toList());
+        } catch (Exception e) {
+            log.warn("Falha no processamento do lote do stream, reprocessando {} pedidos individualmente: {}",
+                    batch.size(), e.getMessage());
+            for (PendingOrder order : batch) {
+                try {
+                    // Resolve com ON CONFLICT o pedido já gravado que o filtro local não conhecia
+                    orderService.processOrder(order.input());
+                } catch (Exception orderFailure) {
+                    log.error("Falha no processamento do pedido {}: {}",
+                            order.input().externalId(), orderFailure.getMessage());
+                    handleFailure(order.message(), orderFailure);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sem a cópia aceita pelo broker, a exceção interrompe o lote antes de o offset ser guardado.
+     */
+    private void handleFailure(Message message, Exception cause) {
+        try {
+            retryPublisher.handleFailure(message, cause);
+        } catch (AmqpException e) {
+            throw new AmqpException("Falha ao encaminhar a mensagem do offset "
+                    + context(message).offset() + "; o lote será relido", e);
+        }
+    }
+
+    private OrderInputDTO convert(Message message) {
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+        if (messageConverter.fromMessage(message) instanceof OrderInputDTO input) {
+            return input;
+        }
+        throw new MessageConversionException("Payload não corresponde a um OrderInputDTO");
+    }
+
+    private static MessageHandler.Context context(Message message) {
+        return ((StreamMessageProperties) message.getMessageProperties()).getContext();
+    }
+
+    private record PendingOrder(Message message, OrderInputDTO input) {
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportShardingProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Registra um listener por fila da importação particionada.
+ *
+ * <p>Cada fila recebe um container próprio com um único consumidor, para que a prioridade
+ * ({@link ImportShardingProperties#consumerPriority(int)}) seja definida por fila e o consumidor
+ * ativo de cada uma processe as mensagens em sequência. O processamento é delegado ao
+ * {@link OrderConsumer} ou, com o consumo em lote habilitado, ao {@link OrderBatchConsumer}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "manager-order.messaging.sharding", name = "enabled", havingValue = "true")
+public class ShardedImportListenerConfigurer implements RabbitListenerConfigurer {
+
+    static final String ENDPOINT_ID_PREFIX = "order-import-shard-";
+
+    private final ImportShardingProperties sharding;
+    private final ObjectProvider<OrderConsumer> orderConsumer;
+    private final ObjectProvider<OrderBatchConsumer> orderBatchConsumer;
+    private final ObjectProvider<RabbitListenerContainerFactory<?>> batchContainerFactory;
+
+    public ShardedImportListenerConfigurer(
+            ImportShardingProperties sharding,
+            ObjectProvider<OrderConsumer> orderConsumer,
+            ObjectProvider<OrderBatchConsumer> orderBatchConsumer,
+            @Qualifier(RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+            ObjectProvider<RabbitListenerContainerFactory<?>> batchContainerFactory) {
+        this.sharding = sharding;
+        this.orderConsumer = orderConsumer;
+        this.orderBatchConsumer = orderBatchConsumer;
+        this.batchContainerFactory = batchContainerFactory;
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        OrderBatchConsumer batchConsumer = orderBatchConsumer.getIfAvailable();
+        for (int shard = 0; shard < sharding.shards(); shard++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId(ENDPOINT_ID_PREFIX + shard);
+            endpoint.setQueueNames(RabbitMQConfig.importShardQueue(shard));
+            endpoint.setConcurrency("1");
+            endpoint.setPriority(sharding.consumerPriority(shard));
+
+            if (batchConsumer != null) {
+                endpoint.setBatchListener(true);
+                endpoint.setMessageListener(new BatchListener(batchConsumer));
+                registrar.registerEndpoint(endpoint, batchContainerFactory.getObject());
+            } else {
+                OrderConsumer consumer = orderConsumer.getObject();
+                endpoint.setMessageListener(consumer::consumeOrder);
+                registrar.registerEndpoint(endpoint);
+            }
+        }
+        log.info("Importação particionada em {} filas. instância={} de {}",
+                sharding.shards(), sharding.instanceIndex(), sharding.instanceCount());
+    }
+
+    private record BatchListener(OrderBatchConsumer consumer) implements ChannelAwareBatchMessageListener {
+
+        @Override
+        public void onMessageBatch(List<Message> messages, Channel channel) {
+            try {
+                consumer.consumeOrders(messages, channel);
+            } catch (IOException e) {
+                throw new AmqpIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de fichas compartilhado entre threads, usado para limitar a taxa do
+ * reprocessamento da DLQ.
+ *
+ * <p>As fichas são repostas continuamente a {@code ratePerSecond} por segundo até
+ * {@code capacity}. Quem pede uma ficha sem saldo a reserva assim mesmo e espera o
+ * tempo necessário para repô-la, de modo que as esperas se enfileiram na ordem dos pedidos.</p>
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double ratePerSecond, double capacity) {
+        this(ratePerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, double capacity, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Taxa e capacidade devem ser positivas");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Retira uma ficha, esperando pela reposição se o saldo acabou.
+     */
+    void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Retira uma ficha, possivelmente deixando o saldo negativo.
+     *
+     * @return tempo, em nanossegundos, até que a ficha retirada tenha sido reposta
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Codificações aceitas nas mensagens de pedidos, identificadas pelo
+ * {@code content_type} da mensagem AMQP.
+ *
+ * <p>Os formatos binários usam o mesmo modelo de dados do JSON (Jackson), sem
+ * esquema: trocam os nomes de campo repetidos e os números em texto por uma
+ * representação compacta, reduzindo o tamanho da mensagem e o custo de parsing.</p>
+ */
+public enum WireFormat {
+
+    JSON("application/json"),
+    CBOR("application/cbor"),
+    SMILE("application/x-jackson-smile");
+
+    private final String contentType;
+
+    WireFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Cria o mapper Jackson de um formato binário.
+     *
+     * @return mapper do formato
+     * @throws IllegalStateException para {@link #JSON}, convertido pelo conversor padrão
+     */
+    ObjectMapper binaryMapper() {
+        return switch (this) {
+            case CBOR -> new CBORMapper();
+            case SMILE -> new SmileMapper();
+            case JSON -> throw new IllegalStateException("JSON não é um formato binário");
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.domain.entity.OutboxEvent;
+import io.github.douglasdreer.managerorder.domain.repository.OutboxEventRepository;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderOutbox;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxImpl implements OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(OrderOutputDTO order) {
+        outboxEventRepository.save(toEvent(order));
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueAll(Collection<OrderOutputDTO> orders) {
+        outboxEventRepository.saveAll(orders.stream().map(this::toEvent).toList());
+    }
+
+    private OutboxEvent toEvent(OrderOutputDTO order) {
+        try {
+            return OutboxEvent.builder()
+                    .orderId(order.orderId())
+                    .externalId(order.externalId())
+                    .payload(objectMapper.writeValueAsString(order))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do pedido " + order.externalId(), e);
+        }
+    }
+}
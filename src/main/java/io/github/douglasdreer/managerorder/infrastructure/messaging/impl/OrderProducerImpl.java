@@ -1,39 +1,233 @@
 package io.github.douglasdreer.managerorder.infrastructure.messaging.impl;
 
-import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
-import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.infrastructure.config.PublisherProperties;
 import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
 import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderProducer;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.WireFormat;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica pedidos calculados com confirmações assíncronas do broker.
+ *
+ * <p>Cada mensagem recebe um {@link CorrelationData} próprio e o chamador é liberado
+ * logo após o envio; a confirmação chega depois e conclui o futuro retornado.
+ * O número de mensagens não confirmadas é limitado por uma janela
+ * ({@code manager-order.messaging.publisher.max-in-flight}): com a janela cheia,
+ * a publicação aguarda uma vaga. Nacks, devoluções (mensagem sem rota) e
+ * confirmações que não chegam no prazo são republicados com nova correlação
+ * até {@code max-attempts}. O pedido é codificado no {@link WireFormat} configurado
+ * para o exchange de destino ({@code wire-formats}).</p>
+ *
+ * <p>Métricas publicadas:</p>
+ * <ul>
+ *     <li>{@code orders.publisher.inflight} e {@code orders.publisher.window.capacity}</li>
+ *     <li>{@code orders.publisher.confirms} com tag {@code result}
+ *     ({@code ack}, {@code nack}, {@code returned}, {@code timeout})</li>
+ *     <li>{@code orders.publisher.retries} e {@code orders.publisher.failures}</li>
+ *     <li>{@code orders.publisher.confirm.latency}</li>
+ * </ul>
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OrderProducerImpl implements OrderProducer {
 
     private final RabbitTemplate rabbitTemplate;
+    private final PublisherProperties properties;
+    private final boolean confirmsEnabled;
+    private final WireFormat wireFormat;
+    private final Semaphore window;
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Counter acks;
+    private final Counter nacks;
+    private final Counter returns;
+    private final Counter timeouts;
+    private final Counter retries;
+    private final Counter failures;
+    private final Timer confirmLatency;
+
+    public OrderProducerImpl(RabbitTemplate rabbitTemplate, PublisherProperties properties, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.confirmsEnabled = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        this.wireFormat = properties.wireFormatFor(RabbitMQConfig.MAIN_EXCHANGE);
+        this.window = new Semaphore(properties.maxInFlight());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("order-publisher-retry").daemon().factory()
+        );
+
+        this.acks = confirmCounter(meterRegistry, "ack");
+        this.nacks = confirmCounter(meterRegistry, "nack");
+        this.returns = confirmCounter(meterRegistry, "returned");
+        this.timeouts = confirmCounter(meterRegistry, "timeout");
+        this.retries = Counter.builder("orders.publisher.retries")
+                .description("Republicações após nack, devolução ou timeout de confirmação")
+                .register(meterRegistry);
+        this.failures = Counter.builder("orders.publisher.failures")
+                .description("Publicações abandonadas após esgotar as tentativas")
+                .register(meterRegistry);
+        this.confirmLatency = Timer.builder("orders.publisher.confirm.latency")
+                .description("Tempo entre a publicação e a confirmação do broker")
+                .register(meterRegistry);
+
+        Gauge.builder("orders.publisher.inflight", window, w -> properties.maxInFlight() - w.availablePermits())
+                .description("Mensagens publicadas aguardando confirmação ou nova tentativa")
+                .register(meterRegistry);
+        Gauge.builder("orders.publisher.window.capacity", properties, PublisherProperties::maxInFlight)
+                .description("Tamanho máximo da janela de mensagens não confirmadas")
+                .register(meterRegistry);
+
+        if (!confirmsEnabled) {
+            log.warn("Publisher confirms desabilitado; pedidos publicados sem confirmação do broker.");
+        }
+    }
 
     @Override
-    @Transactional
-    @CircuitBreaker(name = "orderService", fallbackMethod = "processOrderFallback")
-    public void sendCalculatedOrder(OrderOutputDTO order) {
+    @CircuitBreaker(name = "orderService", fallbackMethod = "sendCalculatedOrderFallback")
+    public CompletableFuture<Void> sendCalculatedOrder(OrderOutputDTO order) {
         log.info("Enviando pedido calculado {} para a fila do Produto B", order.externalId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.MAIN_EXCHANGE,
-                RabbitMQConfig.RK_IMPORT,
-                order
+
+        Message message = toMessage(order);
+        if (!confirmsEnabled) {
+            rabbitTemplate.send(RabbitMQConfig.MAIN_EXCHANGE, RabbitMQConfig.RK_IMPORT, message);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        acquireWindowSlot(order);
+        PendingPublish pending = new PendingPublish(order, message, new CompletableFuture<>());
+        publish(pending, 1);
+        return pending.result();
+    }
+
+    public CompletableFuture<Void> sendCalculatedOrderFallback(OrderOutputDTO order, Throwable ex) {
+        log.error("Circuit breaker ativo ou erro ao publicar o pedido {}: {}", order.externalId(), ex.getMessage());
+        return CompletableFuture.failedFuture(ex);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    /**
+     * Converte o pedido uma única vez, no formato configurado para o exchange;
+     * as republicações reaproveitam a mesma mensagem. O {@code externalId} vai no
+     * cabeçalho {@value RabbitMQConfig#ORDER_KEY_HEADER}, usado na importação particionada.
+     */
+    private Message toMessage(OrderOutputDTO order) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(wireFormat.contentType());
+        messageProperties.setHeader(RabbitMQConfig.ORDER_KEY_HEADER, order.externalId());
+        return rabbitTemplate.getMessageConverter().toMessage(order, messageProperties);
+    }
+
+    private void acquireWindowSlot(OrderOutputDTO order) {
+        try {
+            if (!window.tryAcquire(properties.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Janela de confirmações cheia ao publicar o pedido " + order.externalId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Publicação interrompida para o pedido " + order.externalId(), e);
+        }
+    }
+
+    private void publish(PendingPublish pending, int attempt) {
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        long startedAt = System.nanoTime();
+
+        try {
+            rabbitTemplate.send(
+                    RabbitMQConfig.MAIN_EXCHANGE,
+                    RabbitMQConfig.RK_IMPORT,
+                    pending.message(),
+                    correlation
+            );
+        } catch (AmqpException e) {
+            failures.increment();
+            finish(pending, e);
+            return;
+        }
+
+        correlation.getFuture()
+                .orTimeout(properties.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    confirmLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    if (error != null) {
+                        timeouts.increment();
+                        retryOrFail(pending, attempt, "confirmação não recebida em " + properties.confirmTimeout());
+                    } else if (!confirm.ack()) {
+                        nacks.increment();
+                        retryOrFail(pending, attempt, "nack do broker: " + confirm.reason());
+                    } else if (correlation.getReturned() != null) {
+                        returns.increment();
+                        retryOrFail(pending, attempt, "mensagem devolvida: " + describe(correlation.getReturned()));
+                    } else {
+                        acks.increment();
+                        finish(pending, null);
+                    }
+                });
+    }
+
+    private void retryOrFail(PendingPublish pending, int attempt, String reason) {
+        if (attempt >= properties.maxAttempts()) {
+            log.error("Pedido {} não confirmado após {} tentativas: {}", pending.order().externalId(), attempt, reason);
+            failures.increment();
+            finish(pending, new AmqpException("Pedido " + pending.order().externalId() + " não confirmado: " + reason));
+            return;
+        }
+
+        log.warn("Republicando pedido {} (tentativa {}): {}", pending.order().externalId(), attempt + 1, reason);
+        retries.increment();
+        retryScheduler.schedule(
+                () -> publish(pending, attempt + 1),
+                properties.retryBackoff().multipliedBy(attempt).toMillis(),
+                TimeUnit.MILLISECONDS
         );
     }
 
-    public OrderOutputDTO processOrderFallback(OrderInputDTO input, Throwable ex) {
-        log.error("Circuit breaker ativo ou erro ao processar o pedido {}: {}", input.externalId(), ex.getMessage());
-        return new OrderOutputDTO(null, input.externalId(), null, OrderStatus.ERROR, null, null);
+    private void finish(PendingPublish pending, Throwable error) {
+        window.release();
+        if (error == null) {
+            pending.result().complete(null);
+        } else {
+            pending.result().completeExceptionally(error);
+        }
+    }
+
+    private static String describe(ReturnedMessage returned) {
+        return returned.getReplyCode() + " " + returned.getReplyText();
+    }
+
+    private static Counter confirmCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("orders.publisher.confirms")
+                .description("Confirmações de publicação recebidas do broker")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record PendingPublish(OrderOutputDTO order, Message message, CompletableFuture<Void> result) {
     }
-}
\ No newline at end of file
+}
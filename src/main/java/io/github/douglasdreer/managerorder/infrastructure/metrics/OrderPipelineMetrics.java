@@ -0,0 +1,168 @@
+package io.github.douglasdreer.managerorder.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Métricas por etapa do fluxo consumo → persistência → publicação de pedidos.
+ *
+ * <p>Métricas publicadas:</p>
+ * <ul>
+ *     <li>{@code orders.pipeline.stage} (timer com histograma de percentis) com tag
+ *     {@code stage}: {@code deserialization}, {@code validation}, {@code idempotency_lookup}, {@code mapping},
+ *     {@code calculate_total}, {@code persist} e {@code publish}</li>
+ *     <li>{@code orders.pipeline.orders} com tag {@code outcome}: {@code created},
+ *     {@code duplicate} e {@code concurrent_conflict}</li>
+ *     <li>{@code orders.pipeline.inflight}: mensagens recebidas ainda em processamento</li>
+ * </ul>
+ *
+ * <p>Todos os medidores são registrados na construção; medir uma etapa custa
+ * duas leituras de {@link System#nanoTime()} e a gravação no histograma, sem
+ * buscas no registro. Os percentis são calculados no Prometheus a partir dos
+ * buckets ({@code histogram_quantile}), e não na aplicação.</p>
+ */
+@Component
+public class OrderPipelineMetrics {
+
+    /**
+     * Etapas medidas do fluxo de um pedido.
+     */
+    public enum Stage {
+        DESERIALIZATION("deserialization"),
+        VALIDATION("validation"),
+        IDEMPOTENCY_LOOKUP("idempotency_lookup"),
+        MAPPING("mapping"),
+        CALCULATE_TOTAL("calculate_total"),
+        PERSIST("persist"),
+        PUBLISH("publish");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Desfechos do processamento de um pedido.
+     */
+    public enum Outcome {
+        /** Pedido persistido neste processamento. */
+        CREATED("created"),
+        /** O externalId já existia antes do processamento. */
+        DUPLICATE("duplicate"),
+        /** Outro processamento gravou o mesmo externalId ao mesmo tempo. */
+        CONCURRENT_CONFLICT("concurrent_conflict");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OrderPipelineMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("orders.pipeline.stage")
+                    .description("Duração de cada etapa do processamento de pedidos")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("orders.pipeline.orders")
+                    .description("Pedidos processados por desfecho")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("orders.pipeline.inflight", inFlight, AtomicInteger::get)
+                .description("Mensagens recebidas ainda em processamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marca o início de uma etapa, para ser encerrada com {@link #stop(Stage, long)}.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra a duração de uma etapa iniciada em {@code start}.
+     */
+    public void stop(Stage stage, long start) {
+        timers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> action) {
+        long start = start();
+        try {
+            return action.get();
+        } finally {
+            stop(stage, start);
+        }
+    }
+
+    public void time(Stage stage, Runnable action) {
+        long start = start();
+        try {
+            action.run();
+        } finally {
+            stop(stage, start);
+        }
+    }
+
+    public void outcome(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    public void outcome(Outcome outcome, long count) {
+        if (count > 0) {
+            outcomes.get(outcome).increment(count);
+        }
+    }
+
+    /**
+     * Conta desfechos somente depois que a transação corrente for confirmada; sem
+     * transação ativa, conta na hora. Assim, um lote desfeito e reprocessado pedido
+     * a pedido tem cada pedido contado uma única vez, pelo reprocessamento.
+     */
+    public void outcomeAfterCommit(Outcome outcome, long count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outcome(outcome, count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outcome(outcome, count);
+            }
+        });
+    }
+
+    public void messagesStarted(int count) {
+        inFlight.addAndGet(count);
+    }
+
+    public void messagesFinished(int count) {
+        inFlight.addAndGet(-count);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Conversão dos itens de um pedido para o JSON da coluna {@code tb_orders.items_json}.
+ *
+ * <p>Cada item é gravado com os mesmos campos de {@code tb_order_items}, exceto as chaves:
+ * {@code [{"productName":"Mouse","quantity":2,"unitPrice":89.90}]}. Os valores monetários são
+ * números sem notação científica e preservam a escala no {@code jsonb} do PostgreSQL.</p>
+ */
+public final class OrderItemsJson {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+    private static final ObjectReader READER = MAPPER.readerFor(Item[].class);
+
+    private OrderItemsJson() {
+    }
+
+    /**
+     * Item como gravado na coluna.
+     *
+     * @param productName nome do produto
+     * @param quantity quantidade
+     * @param unitPrice valor unitário
+     */
+    public record Item(String productName, int quantity, BigDecimal unitPrice) {
+    }
+
+    /**
+     * @param items itens do pedido, na ordem em que devem ser lidos
+     * @return array JSON com um objeto por item
+     */
+    public static String write(List<OrderItem> items) {
+        return MAPPER.writeValueAsString(items.stream()
+                .map(item -> new Item(item.getProductName(), item.getQuantity(), item.getUnitPrice()))
+                .toList());
+    }
+
+    /**
+     * @param json conteúdo de {@code items_json}
+     * @return itens na ordem em que foram gravados
+     */
+    public static List<Item> read(String json) {
+        return List.of(READER.<Item[]>readValue(json));
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties.RetentionAction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém as partições mensais de {@code tb_orders} e {@code tb_order_items}.
+ *
+ * <p>A cada execução (na inicialização e em {@code manager-order.partitioning.maintenance-cron}):</p>
+ * <ol>
+ *     <li>cria as partições do mês atual e dos {@code premade-months} seguintes, por meio
+ *     de {@code fn_create_order_partitions} (V8). Se a partição DEFAULT recebeu pedidos de
+ *     meses sem partição, a criação começa no mês do mais antigo deles, e a função move as
+ *     linhas para as novas partições;</li>
+ *     <li>retira as partições cujo mês inteiro é mais antigo que {@code retention}. Os itens
+ *     são desanexados antes dos pedidos e deixam de referenciá-los antes que a partição de
+ *     pedidos seja desanexada: com {@code DROP}, a tabela de itens é removida; com
+ *     {@code DETACH}, perde a chave estrangeira herdada e fica, como a de pedidos, avulsa
+ *     para arquivamento;</li>
+ *     <li>remove de {@code tb_order_external_ids}, em lotes, as chaves dos pedidos retirados.
+ *     A unicidade do {@code externalId} vale, portanto, enquanto o pedido estiver retido.</li>
+ * </ol>
+ *
+ * <p>Cada partição é tratada em uma transação própria, serializada entre instâncias por um
+ * advisory lock e limitada por {@code lock-timeout}: se o bloqueio não sair a tempo, a
+ * operação é abandonada e refeita na próxima execução, sem enfileirar o tráfego de pedidos
+ * atrás do DDL. Em bancos onde {@code tb_orders} não é particionada (esquema gerado pelo
+ * Hibernate nos testes), a manutenção não faz nada.</p>
+ */
+@Slf4j
+@Component
+public class OrderPartitionMaintenance {
+
+    static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('tb_orders'))";
+    static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass('tb_orders')
+            """;
+    static final String CREATE_PARTITIONS_SQL = "SELECT fn_create_order_partitions(?)";
+    static final String OLDEST_DEFAULT_ORDER_SQL = "SELECT MIN(created_at) FROM tb_orders_default";
+    static final String FOREIGN_KEYS_SQL =
+            "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'";
+    static final String ADVISORY_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('tb_orders_partitions'))";
+    static final String DELETE_EXPIRED_KEYS_SQL = """
+            DELETE FROM tb_order_external_ids WHERE external_id IN (
+                SELECT external_id FROM tb_order_external_ids WHERE created_at < ? LIMIT ?)
+            """;
+
+    private static final Pattern ORDERS_PARTITION = Pattern.compile("tb_orders_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderPartitionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     OrderPartitionProperties properties,
+                                     PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${manager-order.partitioning.maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        maintain(LocalDateTime.now());
+    }
+
+    void maintain(LocalDateTime now) {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))) {
+                log.debug("tb_orders não é particionada; manutenção de partições ignorada");
+                return;
+            }
+            createUpcomingPartitions(YearMonth.from(now));
+            retireExpiredPartitions(now.minus(properties.retention()));
+        } catch (DataAccessException e) {
+            log.warn("Falha na manutenção das partições de pedidos, nova tentativa na próxima execução: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Cria as partições até {@code premade-months} depois de {@code current}, a partir do
+     * mês atual ou do mês mais antigo com pedidos na partição DEFAULT, se anterior.
+     */
+    private void createUpcomingPartitions(YearMonth current) {
+        YearMonth last = current.plusMonths(properties.premadeMonths());
+        LocalDateTime oldestDefault = jdbcTemplate.queryForObject(OLDEST_DEFAULT_ORDER_SQL, LocalDateTime.class);
+        YearMonth first = current;
+        if (oldestDefault != null && YearMonth.from(oldestDefault).isBefore(current)) {
+            first = YearMonth.from(oldestDefault);
+            log.warn("Partição DEFAULT contém pedidos sem partição mensal; movendo a partir de {}", first);
+        }
+
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate start = month.atDay(1);
+            inMaintenanceTransaction(() -> jdbcTemplate.queryForList(CREATE_PARTITIONS_SQL, start));
+        }
+    }
+
+    /**
+     * Retira as partições cujo limite superior não passa de {@code cutoff} e expira
+     * as chaves de idempotência anteriores à partição mais antiga que permaneceu.
+     *
+     * @param cutoff instante antes do qual os pedidos podem ser descartados
+     */
+    private void retireExpiredPartitions(LocalDateTime cutoff) {
+        List<YearMonth> months = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+                .map(ORDERS_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), SUFFIX))
+                .sorted()
+                .toList();
+
+        YearMonth oldestKept = null;
+        for (YearMonth month : months) {
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                oldestKept = month;
+                break;
+            }
+            retire(month);
+        }
+
+        if (oldestKept != null) {
+            expireKeysBefore(oldestKept.atDay(1).atStartOfDay());
+        }
+    }
+
+    private void retire(YearMonth month) {
+        String orders = "tb_orders_p" + month.format(SUFFIX);
+        String items = "tb_order_items_p" + month.format(SUFFIX);
+
+        inMaintenanceTransaction(() -> {
+            jdbcTemplate.execute("ALTER TABLE tb_order_items DETACH PARTITION " + items);
+            // A partição desanexada mantém a chave estrangeira para tb_orders, o que impediria
+            // desanexar a partição de pedidos referenciada por ela
+            if (properties.retentionAction() == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + items);
+            } else {
+                jdbcTemplate.queryForList(FOREIGN_KEYS_SQL, String.class, items).forEach(constraint ->
+                        jdbcTemplate.execute("ALTER TABLE " + items + " DROP CONSTRAINT \"" + constraint + "\""));
+            }
+
+            jdbcTemplate.execute("ALTER TABLE tb_orders DETACH PARTITION " + orders);
+            if (properties.retentionAction() == RetentionAction.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + orders);
+            }
+        });
+        log.info("Partição de pedidos retirada. mes={}, acao={}", month, properties.retentionAction());
+    }
+
+    private void expireKeysBefore(LocalDateTime bound) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_EXPIRED_KEYS_SQL, bound, properties.keyDeleteBatchSize())));
+            total += deleted;
+        } while (deleted == properties.keyDeleteBatchSize());
+
+        if (total > 0) {
+            log.info("Chaves de idempotência expiradas removidas. quantidade={}, anterioresA={}", total, bound);
+        }
+    }
+
+    private void inMaintenanceTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + properties.lockTimeout().toMillis() + "ms'");
+            jdbcTemplate.execute(ADVISORY_LOCK_SQL);
+            action.run();
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Gera o identificador da entidade a partir de uma sequence do banco
+ * utilizando o otimizador {@code pooled} do Hibernate.
+ *
+ * <p>Diferente de {@code GenerationType.IDENTITY}, o identificador é conhecido
+ * antes do INSERT, permitindo que o Hibernate agrupe as inserções em lotes JDBC
+ * ({@code hibernate.jdbc.batch_size}).</p>
+ *
+ * <p>O tamanho de alocação é lido da propriedade
+ * {@value PooledSequenceGenerator#ALLOCATION_SIZE_SETTING} e deve ser igual ao
+ * {@code INCREMENT BY} da sequence no banco.</p>
+ *
+ * @see PooledSequenceGenerator
+ * @since 1.0
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+
+    /**
+     * Nome da sequence no banco de dados.
+     */
+    String name();
+}
@@ -0,0 +1,49 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Gerador de identificadores baseado em sequence com tamanho de alocação
+ * configurável.
+ *
+ * <p>Estende o {@link SequenceStyleGenerator} do Hibernate, fixando o
+ * otimizador {@code pooled} e obtendo o {@code increment_size} das
+ * configurações do Hibernate em vez de um valor fixo na anotação.</p>
+ *
+ * @see PooledSequence
+ * @since 1.0
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Propriedade do Hibernate com o tamanho de alocação dos identificadores.
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "manager_order.id.allocation_size";
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config, Member member, GeneratorCreationContext context) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) throws MappingException {
+        int allocationSize = creationContext.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_INCREMENT_SIZE);
+
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+
+        super.configure(creationContext, parameters);
+    }
+}
@@ -7,12 +7,14 @@ import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
 import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
 import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 /**
  * Factory utilitária para criação de objetos de domínio e DTOs
@@ -70,6 +72,18 @@ public final class OrderTestFactory {
         return order;
     }
 
+    /**
+     * Cria um pedido com a quantidade informada de itens associados.
+     *
+     * @param itemCount quantidade de itens do pedido
+     * @return pedido com itens
+     */
+    public static Order createOrderWithItems(int itemCount) {
+        Order order = createOrder();
+        IntStream.range(0, itemCount).forEach(i -> createItem(order));
+        return order;
+    }
+
     /**
      * Cria um pedido com itens e valor total calculado.
      *
@@ -84,6 +98,30 @@ public final class OrderTestFactory {
         return order;
     }
 
+    /**
+     * Cria as linhas de projeção equivalentes a um pedido,
+     * uma por item, como lidas por {@code findRowsByExternalId}.
+     *
+     * @param order pedido de origem
+     * @return linhas achatadas do pedido
+     */
+    public static List<OrderRow> createOrderRows(Order order) {
+        return order.getItems().stream()
+                .map(item -> new OrderRow(
+                        order.getId(),
+                        order.getExternalId(),
+                        order.getTotalValue(),
+                        order.getStatus(),
+                        order.getCreatedAt(),
+                        order.getVersion(),
+                        null,
+                        item.getProductName(),
+                        item.getUnitPrice(),
+                        item.getQuantity()
+                ))
+                .toList();
+    }
+
     /**
      * Cria um pedido já processado.
      *
@@ -128,6 +166,22 @@ public final class OrderTestFactory {
 
 
 
+    /**
+     * Cria um {@link OrderInputDTO} válido com a quantidade informada
+     * de itens, útil para cenários de volume.
+     *
+     * @param itemCount quantidade de itens do pedido
+     * @return DTO de entrada de pedido
+     */
+    public static OrderInputDTO createOrderInputDTO(int itemCount) {
+        return new OrderInputDTO(
+                generateExternalId(),
+                IntStream.range(0, itemCount)
+                        .mapToObj(i -> new OrderItemInputDTO(DEFAULT_PRODUCT_NAME + "-" + i, DEFAULT_UNIT_PRICE, DEFAULT_QUANTITY))
+                        .toList()
+        );
+    }
+
     /**
      * Cria um item de pedido para uso em {@link OrderInputDTO}.
      *
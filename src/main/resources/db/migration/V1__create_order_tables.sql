@@ -0,0 +1,21 @@
+-- Esquema inicial de pedidos, equivalente ao mapeamento JPA original (IDENTITY).
+-- Bancos criados antes da adoção do Flyway são marcados nesta versão (baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS tb_orders (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    external_id VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('RECEIVED', 'CALCULATED', 'PROCESSED', 'ERROR')),
+    total_value NUMERIC(19, 2),
+    version     BIGINT,
+    CONSTRAINT uk_external_order_id UNIQUE (external_id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_order_items (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_name VARCHAR(255)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   NUMERIC(19, 2) NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES tb_orders (id)
+);
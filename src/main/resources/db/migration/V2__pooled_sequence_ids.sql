@@ -0,0 +1,14 @@
+-- Troca IDENTITY por sequences com alocação em blocos (otimizador pooled do Hibernate),
+-- permitindo que os INSERTs de pedidos e itens sejam enviados em lote pelo JDBC.
+-- O INCREMENT BY deve ser igual a manager_order.id.allocation_size.
+
+CREATE SEQUENCE IF NOT EXISTS seq_orders INCREMENT BY ${id_allocation_size};
+CREATE SEQUENCE IF NOT EXISTS seq_order_items INCREMENT BY ${id_allocation_size};
+
+-- O otimizador pooled trata o valor retornado como o topo do bloco; posicionar a sequence
+-- em MAX(id) + incremento faz o primeiro bloco começar logo após o maior id existente.
+SELECT setval('seq_orders', COALESCE(MAX(id), 0) + ${id_allocation_size}, false) FROM tb_orders;
+SELECT setval('seq_order_items', COALESCE(MAX(id), 0) + ${id_allocation_size}, false) FROM tb_order_items;
+
+ALTER TABLE tb_orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
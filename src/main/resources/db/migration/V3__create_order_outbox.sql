@@ -0,0 +1,18 @@
+-- Outbox de eventos de pedidos: gravado na mesma transação do pedido e
+-- drenado pelo relay, que marca sent_at após publicar no broker.
+CREATE SEQUENCE IF NOT EXISTS seq_order_outbox INCREMENT BY ${id_allocation_size};
+
+CREATE TABLE IF NOT EXISTS tb_order_outbox (
+    id          BIGINT       PRIMARY KEY,
+    order_id    BIGINT       NOT NULL,
+    external_id VARCHAR(255) NOT NULL,
+    payload     JSONB        NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    sent_at     TIMESTAMP(6)
+);
+
+-- Índice parcial: o relay só percorre eventos pendentes, em ordem de id.
+CREATE INDEX IF NOT EXISTS idx_order_outbox_pending ON tb_order_outbox (id) WHERE sent_at IS NULL;
+
+-- Suporte à limpeza periódica dos eventos já enviados.
+CREATE INDEX IF NOT EXISTS idx_order_outbox_sent_at ON tb_order_outbox (sent_at) WHERE sent_at IS NOT NULL;
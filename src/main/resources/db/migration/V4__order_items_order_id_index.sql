@@ -0,0 +1,3 @@
+-- O PostgreSQL não indexa chaves estrangeiras automaticamente: sem este índice,
+-- carregar os itens de um pedido (JOIN por order_id) percorre tb_order_items inteira.
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON tb_order_items (order_id);
@@ -0,0 +1,6 @@
+-- Listagem por status e período com paginação por chave (created_at, id).
+-- A ordem das colunas casa com o WHERE status = ? e o ORDER BY created_at, id; o INCLUDE
+-- traz as demais colunas do resumo para que a página seja lida só do índice.
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id
+    ON tb_orders (status, created_at, id)
+    INCLUDE (external_id, total_value);
@@ -0,0 +1,92 @@
+-- Particiona tb_orders e tb_order_items por mês de criação do pedido. Partições antigas
+-- passam a ser desanexadas/removidas pela retenção (OrderPartitionMaintenance), sem DELETE
+-- linha a linha. A migração reescreve as duas tabelas em uma única transação: em bancos
+-- grandes, aplicar em janela de manutenção.
+
+ALTER TABLE tb_order_items RENAME TO tb_order_items_legacy;
+ALTER TABLE tb_orders RENAME TO tb_orders_legacy;
+ALTER TABLE tb_orders_legacy DROP CONSTRAINT uk_external_order_id;
+
+-- O PostgreSQL só aceita UNIQUE em tabela particionada se a restrição incluir a chave de
+-- partição. A unicidade do external_id passa para esta tabela global, que guarda a
+-- partição (created_at) de cada pedido e mantém o nome da restrição original.
+CREATE TABLE IF NOT EXISTS tb_order_external_ids (
+    external_id VARCHAR(255) NOT NULL,
+    order_id    BIGINT       NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_external_order_id PRIMARY KEY (external_id)
+);
+
+-- Suporte à expiração das chaves junto com as partições retiradas.
+CREATE INDEX IF NOT EXISTS idx_order_external_ids_created_at ON tb_order_external_ids (created_at);
+
+CREATE TABLE tb_orders (
+    id          BIGINT       NOT NULL,
+    external_id VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('RECEIVED', 'CALCULATED', 'PROCESSED', 'ERROR')),
+    total_value NUMERIC(19, 2),
+    version     BIGINT,
+    CONSTRAINT pk_orders PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Os itens carregam a data do pedido para serem particionados (e retidos) junto com ele.
+CREATE TABLE tb_order_items (
+    id               BIGINT         NOT NULL,
+    product_name     VARCHAR(255)   NOT NULL,
+    quantity         INTEGER        NOT NULL,
+    unit_price       NUMERIC(19, 2) NOT NULL,
+    order_id         BIGINT         NOT NULL,
+    order_created_at TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_order_items PRIMARY KEY (id, order_created_at)
+) PARTITION BY RANGE (order_created_at);
+
+-- Cria as partições mensais de pedidos e itens que começam em month_start.
+-- Idempotente; também chamada pelo job de manutenção para criar partições futuras.
+CREATE OR REPLACE FUNCTION fn_create_order_partitions(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    lower_bound DATE := date_trunc('month', month_start)::DATE;
+    upper_bound DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    suffix      TEXT := to_char(month_start, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tb_orders FOR VALUES FROM (%L) TO (%L)',
+                   'tb_orders_p' || suffix, lower_bound, upper_bound);
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tb_order_items FOR VALUES FROM (%L) TO (%L)',
+                   'tb_order_items_p' || suffix, lower_bound, upper_bound);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições para todos os dados existentes e para os próximos meses.
+SELECT fn_create_order_partitions(month::DATE)
+FROM generate_series(
+        date_trunc('month', LEAST(COALESCE((SELECT MIN(created_at) FROM tb_orders_legacy), LOCALTIMESTAMP), LOCALTIMESTAMP)),
+        date_trunc('month', GREATEST(COALESCE((SELECT MAX(created_at) FROM tb_orders_legacy), LOCALTIMESTAMP), LOCALTIMESTAMP))
+            + INTERVAL '3 months',
+        INTERVAL '1 month') AS month;
+
+INSERT INTO tb_orders (id, external_id, created_at, status, total_value, version)
+SELECT id, external_id, created_at, status, total_value, version
+FROM tb_orders_legacy;
+
+INSERT INTO tb_order_items (id, product_name, quantity, unit_price, order_id, order_created_at)
+SELECT i.id, i.product_name, i.quantity, i.unit_price, i.order_id, o.created_at
+FROM tb_order_items_legacy i
+JOIN tb_orders_legacy o ON o.id = i.order_id;
+
+INSERT INTO tb_order_external_ids (external_id, order_id, created_at)
+SELECT external_id, id, created_at
+FROM tb_orders_legacy;
+
+DROP TABLE tb_order_items_legacy;
+DROP TABLE tb_orders_legacy;
+
+-- A chave estrangeira inclui a data do pedido, que faz parte da chave primária particionada.
+ALTER TABLE tb_order_items
+    ADD CONSTRAINT fk_order_items_order FOREIGN KEY (order_id, order_created_at) REFERENCES tb_orders (id, created_at);
+
+-- Índices criados no pai são replicados em cada partição, inclusive nas futuras.
+CREATE INDEX IF NOT EXISTS idx_orders_external_id ON tb_orders (external_id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id
+    ON tb_orders (status, created_at, id)
+    INCLUDE (external_id, total_value);
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON tb_order_items (order_id, order_created_at);
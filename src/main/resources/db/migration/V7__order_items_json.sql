@@ -0,0 +1,5 @@
+-- Itens do pedido na própria linha de tb_orders, usada quando manager-order.storage.items = JSONB.
+-- A coluna é nula para os pedidos gravados no modelo relacional, cujos itens continuam em
+-- tb_order_items; a leitura aceita os dois formatos, então não há conversão dos dados existentes.
+-- Nas tabelas particionadas a coluna é propagada para todas as partições, sem reescrita.
+ALTER TABLE tb_orders ADD COLUMN IF NOT EXISTS items_json JSONB;
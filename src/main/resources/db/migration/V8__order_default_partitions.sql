@@ -0,0 +1,41 @@
+-- Partições DEFAULT: um pedido cujo mês ainda não tem partição (manutenção parada por mais de
+-- premade-months, relógio adiantado) é gravado aqui em vez de o INSERT falhar. A manutenção
+-- cria depois a partição mensal e move essas linhas para ela.
+CREATE TABLE IF NOT EXISTS tb_orders_default PARTITION OF tb_orders DEFAULT;
+CREATE TABLE IF NOT EXISTS tb_order_items_default PARTITION OF tb_order_items DEFAULT;
+
+-- Com a partição DEFAULT, CREATE TABLE ... PARTITION OF falha se ela já contiver linhas do mês.
+-- Nesse caso as partições do mês são montadas como tabelas avulsas, recebem as linhas da DEFAULT
+-- (itens antes dos pedidos, pela chave estrangeira) e são anexadas (pedidos antes dos itens).
+CREATE OR REPLACE FUNCTION fn_create_order_partitions(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    lower_bound      DATE := date_trunc('month', month_start)::DATE;
+    upper_bound      DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    suffix           TEXT := to_char(month_start, 'YYYYMM');
+    orders_partition TEXT := 'tb_orders_p' || suffix;
+    items_partition  TEXT := 'tb_order_items_p' || suffix;
+BEGIN
+    IF to_regclass(orders_partition) IS NULL
+        AND EXISTS (SELECT 1 FROM tb_orders_default WHERE created_at >= lower_bound AND created_at < upper_bound) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE tb_orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', orders_partition);
+        EXECUTE format('CREATE TABLE %I (LIKE tb_order_items INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', items_partition);
+        EXECUTE format('WITH moved AS (DELETE FROM tb_order_items_default '
+                           || 'WHERE order_created_at >= %L AND order_created_at < %L RETURNING *) '
+                           || 'INSERT INTO %I SELECT * FROM moved',
+                       lower_bound, upper_bound, items_partition);
+        EXECUTE format('WITH moved AS (DELETE FROM tb_orders_default '
+                           || 'WHERE created_at >= %L AND created_at < %L RETURNING *) '
+                           || 'INSERT INTO %I SELECT * FROM moved',
+                       lower_bound, upper_bound, orders_partition);
+        EXECUTE format('ALTER TABLE tb_orders ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       orders_partition, lower_bound, upper_bound);
+        EXECUTE format('ALTER TABLE tb_order_items ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       items_partition, lower_bound, upper_bound);
+    END IF;
+
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tb_orders FOR VALUES FROM (%L) TO (%L)',
+                   orders_partition, lower_bound, upper_bound);
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tb_order_items FOR VALUES FROM (%L) TO (%L)',
+                   items_partition, lower_bound, upper_bound);
+END;
+$$ LANGUAGE plpgsql;
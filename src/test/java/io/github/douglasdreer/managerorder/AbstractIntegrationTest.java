@@ -15,5 +15,5 @@ public abstract class AbstractIntegrationTest {
 
     @Container
     @ServiceConnection
-    static RabbitMQContainer rabbitmq = new RabbitMQContainer("rabbitmq:3-management-alpine");
+    static RabbitMQContainer rabbitmq = new RabbitMQContainer("rabbitmq:4-management-alpine");
 }
\ No newline at end of file
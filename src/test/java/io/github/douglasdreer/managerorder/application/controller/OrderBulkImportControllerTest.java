@@ -0,0 +1,81 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import io.github.douglasdreer.managerorder.domain.service.OrderBulkImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkImportControllerTest {
+
+    @InjectMocks
+    private OrderBulkImportController orderBulkImportController;
+
+    @Mock
+    private OrderBulkImportService orderBulkImportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(orderBulkImportController)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should stream the request body to the import and its results back")
+    void shouldStreamBulkImport() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            InputStream in = invocation.getArgument(0);
+            OutputStream out = invocation.getArgument(1);
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            out.write(("received:" + body.lines().count() + "\n").getBytes(StandardCharsets.UTF_8));
+            return Map.of();
+        }).when(orderBulkImportService).importOrders(any(), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"externalId\":\"a\"}\n{\"externalId\":\"b\"}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("received:2\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject bodies that are not NDJSON")
+    void shouldRejectUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/orders/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
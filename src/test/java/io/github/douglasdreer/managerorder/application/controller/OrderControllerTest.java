@@ -0,0 +1,147 @@
+package io.github.douglasdreer.managerorder.application.controller;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderSummaryPage;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @InjectMocks
+    private OrderController orderController;
+
+    @Mock
+    private OrderService orderService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(orderController)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return order with ETag when found by externalId")
+    void shouldReturnOrderWithEtag() throws Exception {
+        // Arrange
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+        when(orderService.findByExternalId(output.externalId()))
+                .thenReturn(Optional.of(new VersionedOrder(output, 2L)));
+
+        // Act / Assert
+        mockMvc.perform(get("/orders/{externalId}", output.externalId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-2\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.externalId").value(output.externalId()))
+                .andExpect(jsonPath("$.items.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 304 when If-None-Match matches the current version")
+    void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        // Arrange
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+        when(orderService.findById(1L))
+                .thenReturn(Optional.of(new VersionedOrder(output, 2L)));
+
+        // Act / Assert
+        mockMvc.perform(get("/orders/id/{id}", 1L).header("If-None-Match", "\"1-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-2\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should return 200 when If-None-Match refers to an older version")
+    void shouldReturnOrderWhenEtagIsStale() throws Exception {
+        // Arrange
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+        when(orderService.findById(1L))
+                .thenReturn(Optional.of(new VersionedOrder(output, 3L)));
+
+        // Act / Assert
+        mockMvc.perform(get("/orders/id/{id}", 1L).header("If-None-Match", "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when order does not exist")
+    void shouldReturnNotFoundWhenMissing() throws Exception {
+        // Arrange
+        when(orderService.findByExternalId("missing"))
+                .thenReturn(Optional.empty());
+
+        // Act / Assert
+        mockMvc.perform(get("/orders/{externalId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should list summaries by status with next cursor")
+    void shouldListSummariesByStatus() throws Exception {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+        OrderSummary summary = new OrderSummary(1L, "external-1", BigDecimal.TEN, OrderStatus.CALCULATED, from);
+        when(orderService.listByStatus(OrderStatus.CALCULATED, from, to, null, 50))
+                .thenReturn(new OrderSummaryPage(List.of(summary), "next"));
+
+        // Act / Assert
+        mockMvc.perform(get("/orders")
+                        .param("status", "CALCULATED")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-01T11:00:00")
+                        .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].externalId").value("external-1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the cursor is invalid")
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        // Arrange
+        when(orderService.listByStatus(eq(OrderStatus.CALCULATED), any(), any(), eq("broken"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Cursor inválido: broken"));
+
+        // Act / Assert
+        mockMvc.perform(get("/orders")
+                        .param("status", "CALCULATED")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Cursor inválido: broken"));
+    }
+}
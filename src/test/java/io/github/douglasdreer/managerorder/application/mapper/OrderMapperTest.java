@@ -3,11 +3,16 @@ package io.github.douglasdreer.managerorder.application.mapper;
 import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
 import io.github.douglasdreer.managerorder.util.OrderTestFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -57,4 +62,59 @@ class OrderMapperTest {
         BigDecimal expectedSubTotal = order.getTotalValue();
         assertThat(itemOutput.totalAmount()).isEqualByComparingTo(expectedSubTotal);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve converter linhas da projeção para OutputDTO sem entidades")
+    void shouldMapProjectionRowsToDto() {
+        // Arrange
+        Order order = OrderTestFactory.createOrderWithItems(3);
+        order.setId(7L);
+        order.calculateTotal();
+        List<OrderRow> rows = OrderTestFactory.createOrderRows(order);
+
+        // Act
+        OrderOutputDTO result = orderMapper.fromProjection(rows);
+
+        // Assert
+        assertThat(result).isEqualTo(orderMapper.toDto(order));
+    }
+
+    @Test
+    @DisplayName("Deve converter pedido sem itens a partir da linha do LEFT JOIN")
+    void shouldMapProjectionOfOrderWithoutItems() {
+        // Arrange
+        OrderRow row = new OrderRow(7L, "EXT-1", BigDecimal.ZERO, OrderStatus.CALCULATED,
+                LocalDateTime.now(), 0L, null, null, null, null);
+
+        // Act
+        OrderOutputDTO result = orderMapper.fromProjection(List.of(row));
+
+        // Assert
+        assertThat(result.orderId()).isEqualTo(7L);
+        assertThat(result.items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ler os itens gravados em JSON com o mesmo resultado do modelo relacional")
+    void shouldMapItemsStoredAsJson() {
+        // Arrange
+        Order order = OrderTestFactory.createOrderWithItems(3);
+        order.setId(7L);
+        order.calculateTotal();
+        OrderOutputDTO relational = orderMapper.toDto(order);
+
+        String itemsJson = OrderItemsJson.write(order.getItems());
+        order.setItemsJson(itemsJson);
+        order.getItems().clear();
+        OrderRow row = new OrderRow(7L, order.getExternalId(), order.getTotalValue(), order.getStatus(),
+                order.getCreatedAt(), 0L, itemsJson);
+
+        // Act
+        OrderOutputDTO fromEntity = orderMapper.toDto(order);
+        OrderOutputDTO fromProjection = orderMapper.fromProjection(List.of(row));
+
+        // Assert
+        assertThat(fromEntity).isEqualTo(relational);
+        assertThat(fromProjection).isEqualTo(relational);
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.douglasdreer.managerorder.domain.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MoneyAccumulatorTest {
+
+    /**
+     * Verifica que a soma em centavos produz exatamente o mesmo {@link BigDecimal}
+     * (valor e escala) da soma original, para escalas de 0 a 2.
+     */
+    @Test
+    @DisplayName("Should match BigDecimal arithmetic exactly, including scale")
+    void shouldMatchBigDecimalArithmetic() {
+        Random random = new Random(42);
+
+        for (int run = 0; run < 1_000; run++) {
+            List<BigDecimal> prices = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(20); i++) {
+                prices.add(BigDecimal.valueOf(random.nextLong(1_000_000_000L), random.nextInt(3)));
+                quantities.add(random.nextInt(1_000));
+            }
+
+            assertThat(accumulate(prices, quantities)).isEqualTo(reference(prices, quantities));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep scale of the unit price when multiplying")
+    void shouldMultiplyKeepingScale() {
+        assertThat(MoneyAccumulator.multiply(new BigDecimal("50.00"), 2)).isEqualTo(new BigDecimal("100.00"));
+        assertThat(MoneyAccumulator.multiply(new BigDecimal("50"), 2)).isEqualTo(new BigDecimal("100"));
+        assertThat(MoneyAccumulator.multiply(new BigDecimal("0.125"), 3)).isEqualTo(new BigDecimal("0.375"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal when the sum overflows long minor units")
+    void shouldFallBackOnOverflow() {
+        BigDecimal price = new BigDecimal("99999999999999.99");
+        List<BigDecimal> prices = List.of(price, price, new BigDecimal("0.01"));
+        List<Integer> quantities = List.of(Integer.MAX_VALUE, Integer.MAX_VALUE, 1);
+
+        assertThat(accumulate(prices, quantities)).isEqualTo(reference(prices, quantities));
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for amounts with more than two decimal places")
+    void shouldFallBackOnExtraDecimals() {
+        List<BigDecimal> prices = List.of(new BigDecimal("10.50"), new BigDecimal("0.333"), new BigDecimal("1"));
+        List<Integer> quantities = List.of(2, 3, 4);
+
+        assertThat(accumulate(prices, quantities)).isEqualTo(new BigDecimal("25.999"));
+    }
+
+    @Test
+    @DisplayName("Should return zero with scale zero when nothing is added")
+    void shouldReturnZeroWhenEmpty() {
+        assertThat(new MoneyAccumulator().total()).isEqualTo(BigDecimal.ZERO);
+    }
+
+    private static BigDecimal accumulate(List<BigDecimal> prices, List<Integer> quantities) {
+        MoneyAccumulator accumulator = new MoneyAccumulator();
+        for (int i = 0; i < prices.size(); i++) {
+            accumulator.add(prices.get(i), quantities.get(i));
+        }
+        return accumulator.total();
+    }
+
+    private static BigDecimal reference(List<BigDecimal> prices, List<Integer> quantities) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < prices.size(); i++) {
+            total = total.add(prices.get(i).multiply(BigDecimal.valueOf(quantities.get(i))));
+        }
+        return total;
+    }
+}
@@ -2,20 +2,34 @@ package io.github.douglasdreer.managerorder.domain.repository;
 
 import io.github.douglasdreer.managerorder.AbstractIntegrationTest;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderExternalId;
 import io.github.douglasdreer.managerorder.domain.entity.OrderItem;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static io.github.douglasdreer.managerorder.domain.entity.OrderStatus.*;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -23,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class OrderRepositoryTest extends AbstractIntegrationTest {
 
     @Autowired
@@ -32,6 +47,15 @@ class OrderRepositoryTest extends AbstractIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderExternalIdRepository orderExternalIdRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     @DisplayName("Integração Real: Salva pedido no Postgres Container")
     void shouldSaveOrderWithItems() {
@@ -59,16 +83,140 @@ class OrderRepositoryTest extends AbstractIntegrationTest {
     @Test
     @DisplayName("Integração Real: Constraint de Unique Key do Banco")
     void shouldEnforceUniqueExternalIdInDatabase() {
-        Order order1 = Order.builder().externalId("DUPLICADO-DB").build();
-        orderRepository.saveAndFlush(order1);
+        Order order1 = orderRepository.saveAndFlush(Order.builder().externalId("DUPLICADO-DB").build());
+        orderExternalIdRepository.saveAndFlush(OrderExternalId.of(order1));
+        entityManager.clear();
 
-        Order order2 = Order.builder().externalId("DUPLICADO-DB").build();
+        Order order2 = orderRepository.saveAndFlush(Order.builder().externalId("DUPLICADO-DB").build());
 
         assertThrows(DataIntegrityViolationException.class, () -> {
-            orderRepository.saveAndFlush(order2);
+            orderExternalIdRepository.saveAndFlush(OrderExternalId.of(order2));
         });
     }
 
+    @Test
+    @DisplayName("Integração Real: INSERT ON CONFLICT grava apenas o primeiro externalId")
+    void shouldInsertOnlyWhenExternalIdIsAbsent() {
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        Optional<Long> first = orderRepository.insertIfAbsent("ON-CONFLICT-01", createdAt, CALCULATED.name(), BigDecimal.TEN);
+        Optional<Long> second = orderRepository.insertIfAbsent("ON-CONFLICT-01", createdAt, CALCULATED.name(), BigDecimal.TEN);
+
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+        assertThat(orderRepository.findByExternalId("ON-CONFLICT-01"))
+                .hasValueSatisfying(order -> assertThat(order.getId()).isEqualTo(first.get()));
+        assertThat(orderExternalIdRepository.findById("ON-CONFLICT-01"))
+                .hasValueSatisfying(key -> assertThat(key.getOrderId()).isEqualTo(first.get()));
+    }
+
+    @Test
+    @DisplayName("Integração Real: Itens do pedido são inseridos em lotes JDBC")
+    void shouldInsertOrderItemsUsingJdbcBatches() {
+        // 50 itens com batch_size 20: sem batch seriam 51 INSERTs preparados
+        Order order = OrderTestFactory.createOrderWithItems(50);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        orderRepository.saveAndFlush(order);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(51);
+        // 1 INSERT do pedido + 3 lotes de itens + chamadas às sequences
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Integração Real: Pedido e itens são lidos em uma única consulta")
+    void shouldReadOrderWithItemsInSingleQuery() {
+        Order order = OrderTestFactory.createOrderWithItems(3);
+        order.calculateTotal();
+        orderRepository.saveAndFlush(order);
+        orderExternalIdRepository.saveAndFlush(OrderExternalId.of(order));
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderRow> rows = orderRepository.findRowsByExternalId(order.getExternalId());
+
+        assertThat(rows.size()).isEqualTo(3);
+        assertThat(rows.getFirst().orderId()).isEqualTo(order.getId());
+        // pedido e itens na mesma consulta; nenhuma carga tardia de itens
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Integração Real: Pedidos do lote são localizados pela chave de idempotência, com os itens")
+    void shouldFindOrdersWithItemsThroughExternalIdKeys() {
+        Order order = OrderTestFactory.createOrderWithItems(2);
+        order.calculateTotal();
+        orderRepository.saveAndFlush(order);
+        orderExternalIdRepository.saveAndFlush(OrderExternalId.of(order));
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Order> found = orderRepository.findByExternalIdIn(List.of(order.getExternalId(), "missing"));
+
+        assertThat(found.size()).isEqualTo(1);
+        assertThat(found.getFirst().getId()).isEqualTo(order.getId());
+        assertThat(found.getFirst().getItems().size()).isEqualTo(2);
+        // itens no mesmo JOIN FETCH; nenhuma carga tardia
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Integração Real: Listagem por chave percorre o período sem repetir nem pular pedidos")
+    void shouldPageSummariesByKeyset() {
+        // Dois pedidos com o mesmo createdAt forçam o desempate pelo id
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < 5; i++) {
+            Order order = OrderTestFactory.createCalculatedOrder();
+            order.setCreatedAt(from.plusMinutes(i / 2));
+            entityManager.persist(order);
+        }
+        Order otherStatus = OrderTestFactory.createProcessedOrder();
+        otherStatus.setCreatedAt(from);
+        entityManager.persist(otherStatus);
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDateTime to = from.plusHours(1);
+        List<OrderSummary> first = orderRepository.findSummariesAfter(CALCULATED, from, to, from, Long.MIN_VALUE, Limit.of(3));
+        OrderSummary last = first.getLast();
+        List<OrderSummary> second = orderRepository.findSummariesAfter(CALCULATED, from, to, last.createdAt(), last.orderId(), Limit.of(3));
+
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(second.size()).isEqualTo(2);
+        assertThat(second.getFirst().createdAt().isBefore(last.createdAt())).isFalse();
+        assertThat(second.stream().noneMatch(first::contains)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Integração Real: Exportação percorre pedidos e itens com linhas contíguas por pedido")
+    void shouldStreamRowsGroupedByOrder() {
+        LocalDateTime from = LocalDateTime.of(2031, 1, 1, 0, 0);
+        Order withItems = OrderTestFactory.createOrderWithItems(2);
+        withItems.setCreatedAt(from);
+        Order withoutItems = OrderTestFactory.createOrder();
+        withoutItems.setCreatedAt(from.plusMinutes(1));
+        entityManager.persist(withItems);
+        entityManager.persist(withoutItems);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderRow> rows;
+        try (Stream<OrderRow> stream = orderRepository.streamRowsCreatedBetween(from, from.plusDays(1))) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows.size()).isEqualTo(3);
+        assertThat(rows.get(0).orderId()).isEqualTo(withItems.getId());
+        assertThat(rows.get(1).orderId()).isEqualTo(withItems.getId());
+        assertThat(rows.get(2).orderId()).isEqualTo(withoutItems.getId());
+        assertThat(rows.get(2).productName()).isNull();
+    }
 
     @Test
     @DisplayName("Integração Real: Optimistic Locking com PlatformTransactionManager")
@@ -0,0 +1,211 @@
+package io.github.douglasdreer.managerorder.domain.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.BulkOrderResult;
+import io.github.douglasdreer.managerorder.application.dto.BulkOrderResult.Status;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderProcessingResult;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.BulkImportProperties;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderInputValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkImportServiceImplTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ValidatorFactory validatorFactory;
+
+    private OrderBulkImportServiceImpl bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        bulkImportService = new OrderBulkImportServiceImpl(orderService, objectMapper,
+                new OrderInputValidator(validatorFactory.getValidator()),
+                new BulkImportProperties(2, DataSize.ofBytes(256)));
+
+        lenient().when(orderService.processOrders(anyList()))
+                .thenAnswer(invocation -> {
+                    List<OrderInputDTO> inputs = invocation.getArgument(0);
+                    return inputs.stream()
+                            .map(input -> new OrderProcessingResult(output(input.externalId()), !input.externalId().startsWith("dup")))
+                            .toList();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Should process valid lines in chunks and report every line in order")
+    void shouldProcessLinesInChunks() throws Exception {
+        // Arrange
+        String body = String.join("\n",
+                order("ext-1"),
+                order("dup-2"),
+                "",
+                order("ext-3")) + "\n";
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<Status, Long> counts = bulkImportService.importOrders(input(body), out);
+
+        // Assert
+        List<BulkOrderResult> results = results(out);
+        assertThat(results).extracting(BulkOrderResult::line).containsExactly(1L, 2L, 4L);
+        assertThat(results).extracting(BulkOrderResult::status)
+                .containsExactly(Status.CREATED, Status.DUPLICATE, Status.CREATED);
+        assertThat(counts).containsEntry(Status.CREATED, 2L).containsEntry(Status.DUPLICATE, 1L);
+
+        // chunk-size 2: um bloco com duas linhas e outro com a restante
+        verify(orderService, times(2)).processOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report malformed, invalid and oversized lines without processing them")
+    void shouldReportInvalidLines() throws Exception {
+        // Arrange
+        String oversized = "{\"externalId\":\"" + "x".repeat(300) + "\"}";
+        String body = String.join("\n",
+                "{not json",
+                "{\"externalId\":\"ext-1\",\"items\":[]}",
+                "{\"externalId\":\"ext-2\",\"items\":[{\"productName\":\"p\",\"unitPrice\":-1,\"quantity\":1}]}",
+                oversized);
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<Status, Long> counts = bulkImportService.importOrders(input(body), out);
+
+        // Assert
+        List<BulkOrderResult> results = results(out);
+        assertThat(results).extracting(BulkOrderResult::status).containsOnly(Status.INVALID);
+        assertThat(results.get(0).errors().getFirst()).startsWith("JSON inválido");
+        assertThat(results.get(1).externalId()).isEqualTo("ext-1");
+        assertThat(results.get(1).errors()).containsExactly("items: Order must have at least one item");
+        assertThat(results.get(2).errors()).containsExactly("items[0].unitPrice: Price must be positive");
+        assertThat(results.get(3).errors().getFirst()).startsWith("Linha excede o tamanho máximo");
+        assertThat(counts).containsEntry(Status.INVALID, 4L);
+
+        verify(orderService, never()).processOrders(anyList());
+    }
+
+    @Test
+    @DisplayName("Should measure the line size limit in UTF-8 bytes, not characters")
+    void shouldMeasureLineSizeInBytes() throws Exception {
+        // Arrange: 142 caracteres / 202 bytes e 182 caracteres / 282 bytes, com limite de 256
+        String body = String.join("\n",
+                order("ext-1", "ç".repeat(60)),
+                order("ext-2", "ç".repeat(100)));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulkImportService.importOrders(input(body), out);
+
+        // Assert
+        List<BulkOrderResult> results = results(out);
+        assertThat(results).extracting(BulkOrderResult::status).containsExactly(Status.CREATED, Status.INVALID);
+        assertThat(results.get(1).errors().getFirst()).startsWith("Linha excede o tamanho máximo");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk line by line and report lines that still fail")
+    void shouldRetryFailedChunkLineByLine() throws Exception {
+        // Arrange
+        String body = String.join("\n",
+                order("ext-1"),
+                order("dup-2"),
+                order("ext-3"));
+
+        when(orderService.processOrders(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(orderService.processOrderWithOutcome(any()))
+                .thenAnswer(invocation -> {
+                    OrderInputDTO input = invocation.getArgument(0);
+                    return new OrderProcessingResult(output(input.externalId()), false);
+                })
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<Status, Long> counts = bulkImportService.importOrders(input(body), out);
+
+        // Assert
+        List<BulkOrderResult> results = results(out);
+        assertThat(results).extracting(BulkOrderResult::line).containsExactly(1L, 2L, 3L);
+        assertThat(results).extracting(BulkOrderResult::status)
+                .containsExactly(Status.DUPLICATE, Status.FAILED, Status.FAILED);
+        assertThat(results.get(1).externalId()).isEqualTo("dup-2");
+        assertThat(results.get(1).errors()).containsExactly("Falha ao gravar o pedido: timeout");
+        assertThat(counts).containsEntry(Status.DUPLICATE, 1L).containsEntry(Status.FAILED, 2L);
+
+        verify(orderService, times(2)).processOrders(anyList());
+        verify(orderService, times(3)).processOrderWithOutcome(any());
+    }
+
+    private static String order(String externalId) {
+        return order(externalId, "p");
+    }
+
+    private static String order(String externalId, String productName) {
+        return "{\"externalId\":\"" + externalId + "\",\"items\":[{\"productName\":\"" + productName
+                + "\",\"unitPrice\":10.00,\"quantity\":1}]}";
+    }
+
+    private static OrderOutputDTO output(String externalId) {
+        return new OrderOutputDTO(1L, externalId, BigDecimal.TEN, OrderStatus.CALCULATED, LocalDateTime.now(), List.of());
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<BulkOrderResult> results(ByteArrayOutputStream out) {
+        return Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, BulkOrderResult.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.douglasdreer.managerorder.domain.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapperImpl;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.OrderRepository;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.service.OrderExportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(1);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+
+    private OrderExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportServiceImpl(orderRepository, orderMapper, objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should write one NDJSON line per order grouping its item rows")
+    void shouldWriteOneJsonLinePerOrder() throws Exception {
+        // Arrange
+        when(orderRepository.streamRowsCreatedBetween(FROM, TO))
+                .thenReturn(Stream.of(
+                        row(1L, "external-1", "product-a"),
+                        row(1L, "external-1", "product-b"),
+                        row(2L, "external-2", null)
+                ));
+        when(objectMapper.writeValueAsBytes(any()))
+                .thenAnswer(invocation -> {
+                    OrderOutputDTO order = invocation.getArgument(0);
+                    return (order.externalId() + ":" + order.items().size()).getBytes(StandardCharsets.UTF_8);
+                });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.export(Format.NDJSON, FROM, TO, out);
+
+        // Assert
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("external-1:2\nexternal-2:0\n");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @DisplayName("Should write one CSV line per item escaping special characters")
+    void shouldWriteOneCsvLinePerItem() throws Exception {
+        // Arrange
+        when(orderRepository.streamRowsCreatedBetween(FROM, TO))
+                .thenReturn(Stream.of(
+                        row(1L, "external-1", "caixa, \"grande\""),
+                        row(1L, "external-1", "product-b"),
+                        row(2L, "external-2", null)
+                ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.export(Format.CSV, FROM, TO, out);
+
+        // Assert
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                OrderExportServiceImpl.CSV_HEADER.strip(),
+                "1,external-1,CALCULATED,2030-01-01T10:00,100.00,\"caixa, \"\"grande\"\"\",50.00,2",
+                "1,external-1,CALCULATED,2030-01-01T10:00,100.00,product-b,50.00,2",
+                "2,external-2,CALCULATED,2030-01-01T10:00,100.00,,,"
+        );
+    }
+
+    @Test
+    @DisplayName("Should expand items stored as JSON into one CSV line each")
+    void shouldExpandJsonItemsInCsv() throws Exception {
+        // Arrange
+        OrderRow inline = new OrderRow(3L, "external-3", new BigDecimal("100.00"), OrderStatus.CALCULATED,
+                LocalDateTime.of(2030, 1, 1, 10, 0), 0L,
+                "[{\"quantity\": 1, \"unitPrice\": 60.00, \"productName\": \"product-a\"}, "
+                        + "{\"quantity\": 2, \"unitPrice\": 20.00, \"productName\": \"product-b\"}]");
+        when(orderRepository.streamRowsCreatedBetween(FROM, TO))
+                .thenReturn(Stream.of(row(1L, "external-1", "product-a"), inline));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.export(Format.CSV, FROM, TO, out);
+
+        // Assert
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                OrderExportServiceImpl.CSV_HEADER.strip(),
+                "1,external-1,CALCULATED,2030-01-01T10:00,100.00,product-a,50.00,2",
+                "3,external-3,CALCULATED,2030-01-01T10:00,100.00,product-a,60.00,1",
+                "3,external-3,CALCULATED,2030-01-01T10:00,100.00,product-b,20.00,2"
+        );
+    }
+
+    @Test
+    @DisplayName("Should write only the CSV header when there are no orders")
+    void shouldWriteOnlyHeaderWhenEmpty() throws Exception {
+        // Arrange
+        when(orderRepository.streamRowsCreatedBetween(FROM, TO))
+                .thenReturn(Stream.of());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = exportService.export(Format.CSV, FROM, TO, out);
+
+        // Assert
+        assertThat(exported).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(OrderExportServiceImpl.CSV_HEADER);
+    }
+
+    private static OrderRow row(Long orderId, String externalId, String productName) {
+        boolean hasItem = productName != null;
+        return new OrderRow(
+                orderId,
+                externalId,
+                new BigDecimal("100.00"),
+                OrderStatus.CALCULATED,
+                LocalDateTime.of(2030, 1, 1, 10, 0),
+                0L,
+                null,
+                productName,
+                hasItem ? new BigDecimal("50.00") : null,
+                hasItem ? 2 : null
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package io.github.douglasdreer.managerorder.domain.service.impl;
+
+import io.github.douglasdreer.managerorder.AbstractIntegrationTest;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
+import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
+import io.github.douglasdreer.managerorder.domain.repository.OrderExternalIdRepository;
+import io.github.douglasdreer.managerorder.domain.repository.OrderItemRepository;
+import io.github.douglasdreer.managerorder.domain.repository.OrderRepository;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.cache.OrderLookupCache;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderStorageProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderStorageProperties.ItemStorage;
+import io.github.douglasdreer.managerorder.infrastructure.idempotency.ExternalIdFilter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderOutbox;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a gravação dos itens em {@code tb_order_items} com a gravação em
+ * {@code tb_orders.items_json}.
+ *
+ * <p>Os dois modos criam o mesmo volume de pedidos, um por transação, pelo
+ * {@link OrderServiceImpl} real contra o Postgres do container, e depois leem cada
+ * pedido pelo id, sem cache. Executar com {@code ./gradlew benchmarkTest}.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class OrderItemStorageBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int ORDERS = 2_000;
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderExternalIdRepository orderExternalIdRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private ExternalIdFilter externalIdFilter;
+
+    @Autowired
+    private OrderOutbox orderOutbox;
+
+    @Autowired
+    private OrderLookupCache orderLookupCache;
+
+    @Autowired
+    private OrderPipelineMetrics pipelineMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Benchmark: relational items vs JSONB items column")
+    void compareItemStorage() {
+        Result relational = run(ItemStorage.RELATIONAL);
+        Result jsonb = run(ItemStorage.JSONB);
+
+        log.info("Item storage benchmark ({} pedidos x {} itens): relational write={} pedidos/s read={} pedidos/s, "
+                        + "jsonb write={} pedidos/s read={} pedidos/s",
+                ORDERS, ITEMS_PER_ORDER,
+                throughput(relational.write()), throughput(relational.read()),
+                throughput(jsonb.write()), throughput(jsonb.read()));
+    }
+
+    private Result run(ItemStorage storage) {
+        OrderService orderService = new OrderServiceImpl(orderRepository, orderItemRepository,
+                orderExternalIdRepository, orderMapper, externalIdFilter, orderOutbox, orderLookupCache,
+                pipelineMetrics, new OrderStorageProperties(storage));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<OrderInputDTO> inputs = IntStream.range(0, ORDERS)
+                .mapToObj(i -> OrderTestFactory.createOrderInputDTO(ITEMS_PER_ORDER))
+                .toList();
+
+        long writeStart = System.nanoTime();
+        List<Long> ids = inputs.stream()
+                .map(input -> transaction.execute(status -> orderService.processOrder(input)).orderId())
+                .toList();
+        Duration write = Duration.ofNanos(System.nanoTime() - writeStart);
+
+        long readStart = System.nanoTime();
+        for (Long id : ids) {
+            assertThat(orderService.findById(id))
+                    .map(VersionedOrder::order)
+                    .hasValueSatisfying(order -> assertThat(order.items()).hasSize(ITEMS_PER_ORDER));
+        }
+        Duration read = Duration.ofNanos(System.nanoTime() - readStart);
+
+        return new Result(write, read);
+    }
+
+    private static long throughput(Duration elapsed) {
+        return Math.round(ORDERS / (elapsed.toNanos() / 1_000_000_000.0));
+    }
+
+    private record Result(Duration write, Duration read) {
+    }
+}
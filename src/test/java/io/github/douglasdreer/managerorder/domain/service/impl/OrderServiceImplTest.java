@@ -1,24 +1,50 @@
 package io.github.douglasdreer.managerorder.domain.service.impl;
 
+import io.github.douglasdreer.managerorder.application.dto.OrderCursor;
 import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
 import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderProcessingResult;
+import io.github.douglasdreer.managerorder.application.dto.OrderSummaryPage;
+import io.github.douglasdreer.managerorder.application.dto.VersionedOrder;
 import io.github.douglasdreer.managerorder.application.mapper.OrderMapper;
 import io.github.douglasdreer.managerorder.domain.entity.Order;
+import io.github.douglasdreer.managerorder.domain.entity.OrderExternalId;
+import io.github.douglasdreer.managerorder.domain.entity.OrderStatus;
+import io.github.douglasdreer.managerorder.domain.repository.OrderExternalIdRepository;
+import io.github.douglasdreer.managerorder.domain.repository.OrderItemRepository;
 import io.github.douglasdreer.managerorder.domain.repository.OrderRepository;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderRow;
+import io.github.douglasdreer.managerorder.domain.repository.projection.OrderSummary;
+import io.github.douglasdreer.managerorder.infrastructure.cache.OrderLookupCache;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderCacheProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderStorageProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderStorageProperties.ItemStorage;
+import io.github.douglasdreer.managerorder.infrastructure.idempotency.ExternalIdFilter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.OrderOutbox;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.infrastructure.persistence.OrderItemsJson;
 import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,31 +56,57 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderExternalIdRepository orderExternalIdRepository;
+
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private ExternalIdFilter externalIdFilter;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderPipelineMetrics pipelineMetrics = new OrderPipelineMetrics(meterRegistry);
+
+    @Spy
+    private OrderLookupCache orderLookupCache = new OrderLookupCache(
+            new OrderCacheProperties(true, 100, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+
+    @Spy
+    private OrderStorageProperties storageProperties = new OrderStorageProperties(ItemStorage.RELATIONAL);
+
     /**
      * Verifica o comportamento do serviço ao criar um novo pedido
      * quando o externalId não existe no sistema.
      *
-     * Deve mapear, persistir e retornar o pedido criado.
+     * Deve mapear, inserir o cabeçalho em um único comando, persistir
+     * os itens e retornar o pedido criado sem consultar o banco antes.
      */
     @Test
     @DisplayName("Should create and persist a new order successfully")
     void shouldCreateNewOrderSuccessfully() {
         // Arrange
         OrderInputDTO inputDTO = OrderTestFactory.createOrderInputDTO();
-        Order entity = OrderTestFactory.createOrder();
+        Order entity = OrderTestFactory.createOrderWithItems();
+        Order reference = OrderTestFactory.createOrderWithId(1L);
         OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
 
-        when(orderRepository.findByExternalId(inputDTO.externalId()))
-                .thenReturn(Optional.empty());
-
         when(orderMapper.toEntity(inputDTO))
                 .thenReturn(entity);
 
-        when(orderRepository.saveAndFlush(entity))
-                .thenReturn(entity);
+        when(orderRepository.insertIfAbsent(eq(entity.getExternalId()), any(), any(), any()))
+                .thenReturn(Optional.of(1L));
+
+        when(orderRepository.getReferenceById(1L))
+                .thenReturn(reference);
 
         when(orderMapper.toDto(entity))
                 .thenReturn(expectedOutput);
@@ -68,30 +120,49 @@ class OrderServiceImplTest {
                 .usingRecursiveComparison()
                 .isEqualTo(expectedOutput);
 
+        assertThat(entity.getId()).isEqualTo(1L);
+        assertThat(entity.getItems()).allSatisfy(item -> {
+            assertThat(item.getOrder()).isSameAs(reference);
+            assertThat(item.getOrderCreatedAt()).isEqualTo(entity.getCreatedAt());
+        });
+
         // Verify
-        verify(orderRepository).findByExternalId(inputDTO.externalId());
         verify(orderMapper).toEntity(inputDTO);
-        verify(orderRepository).saveAndFlush(entity);
+        verify(orderItemRepository).saveAll(entity.getItems());
         verify(orderMapper).toDto(entity);
+        verify(externalIdFilter).put(entity.getExternalId());
+        verify(orderOutbox).enqueue(expectedOutput);
+        verify(orderRepository, never()).findRowsByExternalId(any());
+        verify(orderRepository, never()).saveAndFlush(any());
+
+        assertThat(outcomeCount("created")).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.pipeline.stage").tag("stage", "persist").timer().count()).isEqualTo(1);
     }
 
     /**
      * Verifica o comportamento do serviço ao receber um pedido
      * com um externalId que já existe no sistema.
      *
-     * Deve retornar o pedido existente sem criar um novo.
+     * O INSERT não grava nada e o pedido existente é lido e retornado.
      */
     @Test
     @DisplayName("Should return existing order when externalId already exists (idempotency)")
     void shouldReturnExistingOrderWhenDuplicated() {
         // Arrange
         OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
-        Order existingOrder = OrderTestFactory.createCalculatedOrder();
+        Order orderEntity = OrderTestFactory.createOrder();
+        List<OrderRow> existingRows = OrderTestFactory.createOrderRows(OrderTestFactory.createCalculatedOrder());
         OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
 
-        when(orderRepository.findByExternalId(input.externalId())).thenReturn(Optional.of(existingOrder));
+        when(orderMapper.toEntity(input))
+                .thenReturn(orderEntity);
+
+        when(orderRepository.insertIfAbsent(any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
 
-        when(orderMapper.toDto(existingOrder))
+        when(orderRepository.findRowsByExternalId(input.externalId())).thenReturn(existingRows);
+
+        when(orderMapper.fromProjection(existingRows))
                 .thenReturn(expectedOutput);
 
         // Act
@@ -102,81 +173,69 @@ class OrderServiceImplTest {
                 .usingRecursiveComparison()
                 .isEqualTo(expectedOutput);
 
-        verify(orderRepository).findByExternalId(input.externalId());
-
-        verify(orderMapper).toDto(existingOrder);
+        verify(orderRepository).insertIfAbsent(any(), any(), any(), any());
+        verify(orderRepository).findRowsByExternalId(input.externalId());
+        verify(orderMapper).toEntity(input);
+        verify(orderMapper).fromProjection(existingRows);
 
         verify(orderRepository, never()).save(any());
         verify(orderRepository, never()).saveAndFlush(any());
-        verify(orderMapper, never()).toEntity(any());
+        verifyNoInteractions(orderItemRepository, orderOutbox);
 
         verifyNoMoreInteractions(orderRepository, orderMapper);
+
+        assertThat(outcomeCount("concurrent_conflict")).isEqualTo(1);
     }
 
     /**
-     * Trata cenários de concorrência onde múltiplos pedidos com o mesmo externalId
-     * podem ser criados simultaneamente.
-     *
-     * Em caso de violação de unicidade, tenta recuperar o pedido persistido
-     * pela transação concorrente.
+     * Verifica que o processamento individual informa se o pedido foi criado
+     * ou já existia, como no processamento em lote.
      */
     @Test
-    @DisplayName("Should recover order when concurrent creation causes unique constraint violation")
-    void shouldRecoverOrderWhenUniqueConstraintViolationOccurs() {
+    @DisplayName("Should report whether a single order was created or already existed")
+    void shouldReportOutcomeOfSingleOrder() {
         // Arrange
         OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
-        Order orderEntity = OrderTestFactory.createOrder();
-        Order existingOrder = OrderTestFactory.createCalculatedOrder();
+        List<OrderRow> existingRows = OrderTestFactory.createOrderRows(OrderTestFactory.createCalculatedOrder());
         OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
 
-        when(orderRepository.findByExternalId(input.externalId()))
-                .thenReturn(Optional.empty())
-                .thenReturn(Optional.of(existingOrder));
         when(orderMapper.toEntity(input))
-                .thenReturn(orderEntity);
-
-        when(orderRepository.saveAndFlush(any(Order.class)))
-                .thenThrow(new DataIntegrityViolationException("Duplicate external_id"));
-
-        when(orderMapper.toDto(existingOrder))
+                .thenReturn(OrderTestFactory.createOrder());
+        when(orderRepository.insertIfAbsent(any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(orderRepository.findRowsByExternalId(input.externalId()))
+                .thenReturn(existingRows);
+        when(orderMapper.fromProjection(existingRows))
                 .thenReturn(expectedOutput);
 
         // Act
-        OrderOutputDTO result = orderService.processOrder(input);
+        OrderProcessingResult result = orderService.processOrderWithOutcome(input);
 
         // Assert
-        assertThat(result).isEqualTo(expectedOutput);
-
-        verify(orderRepository, times(2)).findByExternalId(input.externalId());
-        verify(orderRepository).saveAndFlush(any(Order.class));
-        verify(orderMapper).toDto(existingOrder);
+        assertThat(result).isEqualTo(new OrderProcessingResult(expectedOutput, false));
     }
 
     /**
-     * Trata cenários de concorrência onde múltiplos pedidos com o mesmo externalId
-     * podem ser criados simultaneamente.
-     *
-     * Em caso de violação de unicidade, tenta recuperar o pedido persistido
-     * pela transação concorrente.
+     * Trata cenários em que o INSERT encontra conflito de externalId,
+     * mas o pedido não é encontrado na leitura seguinte.
      *
      * @throws IllegalStateException se o pedido existir no banco, mas não puder ser recuperado
      */
     @Test
-    @DisplayName("Should throw IllegalStateException when unique constraint violation occurs and order cannot be recovered")
-    void shouldThrowIllegalStateExceptionWhenOrderCannotBeRecoveredAfterConstraintViolation() {
+    @DisplayName("Should throw IllegalStateException when insert conflicts and order cannot be recovered")
+    void shouldThrowIllegalStateExceptionWhenOrderCannotBeRecoveredAfterConflict() {
         // Arrange
         OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
         Order orderEntity = OrderTestFactory.createOrder();
 
-        when(orderRepository.findByExternalId(input.externalId()))
-                .thenReturn(Optional.empty())
-                .thenReturn(Optional.empty());
-
         when(orderMapper.toEntity(input))
                 .thenReturn(orderEntity);
 
-        when(orderRepository.saveAndFlush(any(Order.class)))
-                .thenThrow(new DataIntegrityViolationException("Duplicate external_id"));
+        when(orderRepository.insertIfAbsent(any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        when(orderRepository.findRowsByExternalId(input.externalId()))
+                .thenReturn(List.of());
 
         // Act + Assert
         IllegalStateException exception = assertThrows(
@@ -189,21 +248,399 @@ class OrderServiceImplTest {
                 .contains("O pedido existe, mas não pôde ser recuperado")
                 .contains(input.externalId());
 
-        // Assert — causa
-        assertThat(exception.getCause())
-                .isInstanceOf(DataIntegrityViolationException.class);
-
         // Verify — fluxo completo
-        verify(orderRepository, times(2))
-                .findByExternalId(input.externalId());
+        verify(orderRepository).insertIfAbsent(any(), any(), any(), any());
 
         verify(orderRepository)
-                .saveAndFlush(any(Order.class));
+                .findRowsByExternalId(input.externalId());
 
         verify(orderMapper)
                 .toEntity(input);
 
+        verifyNoInteractions(orderItemRepository, orderOutbox);
         verifyNoMoreInteractions(orderRepository, orderMapper);
     }
 
+    /**
+     * Verifica que, quando o filtro indica que o externalId pode existir,
+     * o pedido é lido antes de qualquer tentativa de inserção.
+     */
+    @Test
+    @DisplayName("Should read existing order first when filter reports externalId as maybe present")
+    void shouldLookupBeforeInsertWhenFilterReportsMaybePresent() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
+        List<OrderRow> existingRows = OrderTestFactory.createOrderRows(OrderTestFactory.createCalculatedOrder());
+        OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
+
+        when(externalIdFilter.mightContain(input.externalId()))
+                .thenReturn(true);
+        when(orderRepository.findRowsByExternalId(input.externalId()))
+                .thenReturn(existingRows);
+        when(orderMapper.fromProjection(existingRows))
+                .thenReturn(expectedOutput);
+
+        // Act
+        OrderOutputDTO result = orderService.processOrder(input);
+
+        // Assert
+        assertThat(result).isEqualTo(expectedOutput);
+
+        verify(orderRepository, never()).insertIfAbsent(any(), any(), any(), any());
+        verify(orderMapper, never()).toEntity(any());
+        verify(externalIdFilter, never()).recordFalsePositive();
+
+        assertThat(outcomeCount("duplicate")).isEqualTo(1);
+    }
+
+    /**
+     * Verifica que um falso positivo do filtro é contabilizado
+     * e o pedido segue para a inserção normalmente.
+     */
+    @Test
+    @DisplayName("Should record false positive and insert when filter hit is not confirmed")
+    void shouldRecordFalsePositiveAndInsertWhenFilterHitIsNotConfirmed() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
+        Order entity = OrderTestFactory.createOrder();
+        OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
+
+        when(externalIdFilter.mightContain(input.externalId()))
+                .thenReturn(true);
+        when(orderRepository.findRowsByExternalId(input.externalId()))
+                .thenReturn(List.of());
+        when(orderMapper.toEntity(input))
+                .thenReturn(entity);
+        when(orderRepository.insertIfAbsent(any(), any(), any(), any()))
+                .thenReturn(Optional.of(1L));
+        when(orderMapper.toDto(entity))
+                .thenReturn(expectedOutput);
+
+        // Act
+        OrderOutputDTO result = orderService.processOrder(input);
+
+        // Assert
+        assertThat(result).isEqualTo(expectedOutput);
+
+        verify(externalIdFilter).recordFalsePositive();
+        verify(externalIdFilter).put(entity.getExternalId());
+    }
+
+    /**
+     * Verifica o processamento em lote quando parte dos pedidos já existe.
+     *
+     * Deve consultar a idempotência uma única vez, persistir apenas os novos
+     * pedidos e devolver os resultados na ordem da entrada.
+     */
+    @Test
+    @DisplayName("Should persist only new orders of a batch and keep input order")
+    void shouldPersistOnlyNewOrdersOfBatch() {
+        // Arrange
+        OrderInputDTO newInput = OrderTestFactory.createOrderInputDTO();
+        OrderInputDTO duplicatedInput = OrderTestFactory.createOrderInputDTO();
+        Order newOrder = OrderTestFactory.createOrder();
+        Order existingOrder = OrderTestFactory.createCalculatedOrder();
+        existingOrder.setExternalId(duplicatedInput.externalId());
+        OrderOutputDTO newOutput = OrderTestFactory.createOrderOutputDTO();
+        OrderOutputDTO existingOutput = OrderTestFactory.createOrderOutputDTO();
+
+        when(externalIdFilter.mightContain(newInput.externalId()))
+                .thenReturn(false);
+        when(externalIdFilter.mightContain(duplicatedInput.externalId()))
+                .thenReturn(true);
+        when(orderRepository.findByExternalIdIn(Set.of(duplicatedInput.externalId())))
+                .thenReturn(List.of(existingOrder));
+        when(orderMapper.toEntity(newInput))
+                .thenReturn(newOrder);
+        when(orderMapper.toDto(newOrder))
+                .thenReturn(newOutput);
+        when(orderMapper.toDto(existingOrder))
+                .thenReturn(existingOutput);
+
+        // Act
+        List<OrderProcessingResult> results = orderService.processOrders(List.of(newInput, duplicatedInput));
+
+        // Assert
+        assertThat(results).containsExactly(
+                new OrderProcessingResult(newOutput, true),
+                new OrderProcessingResult(existingOutput, false)
+        );
+
+        verify(orderRepository).saveAll(List.of(newOrder));
+        verify(orderExternalIdRepository).saveAll(argThat((Iterable<OrderExternalId> keys) ->
+                keys.iterator().next().getExternalId().equals(newOrder.getExternalId())));
+        verify(orderRepository).flush();
+        verify(orderMapper, never()).toEntity(duplicatedInput);
+        verify(externalIdFilter).put(newInput.externalId());
+        verify(orderOutbox).enqueueAll(List.of(newOutput));
+
+        assertThat(outcomeCount("created")).isEqualTo(1);
+        assertThat(outcomeCount("duplicate")).isEqualTo(1);
+    }
+
+    /**
+     * Verifica que um externalId repetido dentro do mesmo lote
+     * é persistido apenas uma vez.
+     */
+    @Test
+    @DisplayName("Should persist repeated externalId only once within the same batch")
+    void shouldDeduplicateExternalIdWithinBatch() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
+        Order order = OrderTestFactory.createOrder();
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+
+        when(orderMapper.toEntity(input))
+                .thenReturn(order);
+        when(orderMapper.toDto(order))
+                .thenReturn(output);
+
+        // Act
+        List<OrderProcessingResult> results = orderService.processOrders(List.of(input, input));
+
+        // Assert
+        assertThat(results).extracting(OrderProcessingResult::created)
+                .containsExactly(true, false);
+
+        verify(orderMapper).toEntity(input);
+        verify(orderRepository).saveAll(List.of(order));
+        verify(orderRepository, never()).findByExternalIdIn(any());
+        verify(orderOutbox).enqueueAll(List.of(output));
+    }
+
+    /**
+     * Verifica que um lote composto apenas por pedidos existentes
+     * não dispara escrita no banco.
+     */
+    @Test
+    @DisplayName("Should not write when every order of the batch already exists")
+    void shouldNotWriteWhenWholeBatchIsDuplicated() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO();
+        Order existingOrder = OrderTestFactory.createCalculatedOrder();
+        existingOrder.setExternalId(input.externalId());
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+
+        when(externalIdFilter.mightContain(input.externalId()))
+                .thenReturn(true);
+        when(orderRepository.findByExternalIdIn(any()))
+                .thenReturn(List.of(existingOrder));
+        when(orderMapper.toDto(existingOrder))
+                .thenReturn(output);
+
+        // Act
+        List<OrderProcessingResult> results = orderService.processOrders(List.of(input));
+
+        // Assert
+        assertThat(results).containsExactly(new OrderProcessingResult(output, false));
+
+        verify(orderRepository, never()).saveAll(any());
+        verify(orderExternalIdRepository, never()).saveAll(any());
+        verify(orderRepository, never()).flush();
+        verify(orderOutbox).enqueueAll(List.of());
+    }
+
+    /**
+     * Verifica que consultas repetidas pelo mesmo externalId vão ao banco
+     * apenas uma vez e que o pedido carregado também atende a consulta por id.
+     */
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        Order order = OrderTestFactory.createCalculatedOrder();
+        order.setId(1L);
+        order.setVersion(3L);
+        List<OrderRow> rows = OrderTestFactory.createOrderRows(order);
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+
+        when(orderRepository.findRowsByExternalId(order.getExternalId()))
+                .thenReturn(rows);
+        when(orderMapper.fromProjection(rows))
+                .thenReturn(output);
+
+        // Act
+        Optional<VersionedOrder> first = orderService.findByExternalId(order.getExternalId());
+        Optional<VersionedOrder> second = orderService.findByExternalId(order.getExternalId());
+        Optional<VersionedOrder> byId = orderService.findById(output.orderId());
+
+        // Assert
+        assertThat(first).contains(new VersionedOrder(output, 3L));
+        assertThat(second).isEqualTo(first);
+        assertThat(byId).isEqualTo(first);
+
+        verify(orderRepository, times(1)).findRowsByExternalId(order.getExternalId());
+        verify(orderRepository, never()).findRowsById(any());
+    }
+
+    /**
+     * Verifica que pedidos inexistentes não ficam no cache.
+     */
+    @Test
+    @DisplayName("Should not cache missing orders")
+    void shouldNotCacheMissingOrders() {
+        // Arrange
+        when(orderRepository.findRowsById(42L))
+                .thenReturn(List.of());
+
+        // Act
+        Optional<VersionedOrder> first = orderService.findById(42L);
+        Optional<VersionedOrder> second = orderService.findById(42L);
+
+        // Assert
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(orderRepository, times(2)).findRowsById(42L);
+    }
+
+    /**
+     * Verifica que a listagem lê um registro a mais para detectar a próxima
+     * página e devolve o cursor posicionado no último pedido entregue.
+     */
+    @Test
+    @DisplayName("Should return next cursor when there are more summaries than the page size")
+    void shouldReturnNextCursorWhenPageIsFull() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+        List<OrderSummary> summaries = List.of(summary(1L, from), summary(2L, from), summary(3L, from.plusMinutes(1)));
+
+        when(orderRepository.findSummariesAfter(OrderStatus.CALCULATED, from, to, from, Long.MIN_VALUE, Limit.of(3)))
+                .thenReturn(summaries);
+
+        // Act
+        OrderSummaryPage page = orderService.listByStatus(OrderStatus.CALCULATED, from, to, null, 2);
+
+        // Assert
+        assertThat(page.items()).containsExactly(summaries.get(0), summaries.get(1));
+        assertThat(OrderCursor.decode(page.nextCursor())).isEqualTo(new OrderCursor(from, 2L));
+    }
+
+    /**
+     * Verifica que a página seguinte parte do cursor recebido e que a
+     * última página não devolve cursor.
+     */
+    @Test
+    @DisplayName("Should continue from cursor and end without next cursor")
+    void shouldContinueFromCursor() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+        OrderCursor cursor = new OrderCursor(from, 2L);
+        List<OrderSummary> summaries = List.of(summary(3L, from.plusMinutes(1)));
+
+        when(orderRepository.findSummariesAfter(OrderStatus.CALCULATED, from, to, from, 2L, Limit.of(3)))
+                .thenReturn(summaries);
+
+        // Act
+        OrderSummaryPage page = orderService.listByStatus(OrderStatus.CALCULATED, from, to, cursor.encode(), 2);
+
+        // Assert
+        assertThat(page.items()).containsExactlyElementsOf(summaries);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    /**
+     * Verifica que cursores e tamanhos de página inválidos são rejeitados
+     * antes de consultar o banco.
+     */
+    @Test
+    @DisplayName("Should reject invalid cursor and page size")
+    void shouldRejectInvalidListingArguments() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.listByStatus(OrderStatus.CALCULATED, from, to, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.listByStatus(OrderStatus.CALCULATED, from, to, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.listByStatus(OrderStatus.CALCULATED, to, from, null, 10));
+
+        verify(orderRepository, never()).findSummariesAfter(any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Verifica que, no armazenamento JSONB, o pedido é gravado com os itens em
+     * uma única inserção, sem linhas em {@code tb_order_items}.
+     */
+    @Test
+    @DisplayName("Should insert the order and its items in a single row in JSONB mode")
+    void shouldInsertOrderInSingleRowInJsonbMode() {
+        // Arrange
+        OrderServiceImpl jsonbService = jsonbService();
+        OrderInputDTO inputDTO = OrderTestFactory.createOrderInputDTO(2);
+        Order entity = OrderTestFactory.createOrderWithItems(2);
+        entity.calculateTotal();
+        String expectedJson = OrderItemsJson.write(entity.getItems());
+        OrderOutputDTO expectedOutput = OrderTestFactory.createOrderOutputDTO();
+
+        when(orderMapper.toEntity(inputDTO))
+                .thenReturn(entity);
+        when(orderRepository.insertWithItemsIfAbsent(eq(entity.getExternalId()), any(), any(), any(), eq(expectedJson)))
+                .thenReturn(Optional.of(1L));
+        when(orderMapper.toDto(entity))
+                .thenReturn(expectedOutput);
+
+        // Act
+        OrderOutputDTO result = jsonbService.processOrder(inputDTO);
+
+        // Assert
+        assertThat(result).isEqualTo(expectedOutput);
+        assertThat(entity.getId()).isEqualTo(1L);
+        assertThat(entity.getItemsJson()).isEqualTo(expectedJson);
+        assertThat(entity.getItems()).isEmpty();
+
+        verify(orderRepository, never()).insertIfAbsent(any(), any(), any(), any());
+        verifyNoInteractions(orderItemRepository);
+        verify(externalIdFilter).put(entity.getExternalId());
+        verify(orderOutbox).enqueue(expectedOutput);
+    }
+
+    /**
+     * Verifica que, no armazenamento JSONB, pedidos com {@code items_json} são lidos
+     * só pelo cabeçalho e que pedidos gravados no modelo relacional caem na consulta
+     * com os itens, restrita à partição pela data de criação do cabeçalho.
+     */
+    @Test
+    @DisplayName("Should read JSONB orders without the item join and fall back for relational orders")
+    void shouldReadBothStorageFormatsInJsonbMode() {
+        // Arrange
+        OrderServiceImpl jsonbService = jsonbService();
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 1, 10, 0);
+        OrderRow inline = new OrderRow(1L, "external-1", BigDecimal.TEN, OrderStatus.CALCULATED, createdAt, 0L, "[]");
+        OrderRow legacyHeader = new OrderRow(2L, "external-2", BigDecimal.TEN, OrderStatus.CALCULATED, createdAt, 0L, null);
+        List<OrderRow> legacyRows = List.of(new OrderRow(2L, "external-2", BigDecimal.TEN, OrderStatus.CALCULATED,
+                createdAt, 0L, null, "product", BigDecimal.TEN, 1));
+        OrderOutputDTO output = OrderTestFactory.createOrderOutputDTO();
+
+        when(orderRepository.findHeaderById(1L)).thenReturn(List.of(inline));
+        when(orderRepository.findHeaderByExternalId("external-2")).thenReturn(List.of(legacyHeader));
+        when(orderRepository.findRowsByIdAndCreatedAt(2L, createdAt)).thenReturn(legacyRows);
+        when(orderMapper.fromProjection(any())).thenReturn(output);
+
+        // Act
+        jsonbService.findById(1L);
+        jsonbService.findByExternalId("external-2");
+
+        // Assert
+        verify(orderMapper).fromProjection(List.of(inline));
+        verify(orderMapper).fromProjection(legacyRows);
+        verify(orderRepository, never()).findRowsById(any());
+        verify(orderRepository, never()).findRowsByExternalId(any());
+    }
+
+    private OrderServiceImpl jsonbService() {
+        return new OrderServiceImpl(orderRepository, orderItemRepository, orderExternalIdRepository, orderMapper,
+                externalIdFilter, orderOutbox, orderLookupCache, pipelineMetrics,
+                new OrderStorageProperties(ItemStorage.JSONB));
+    }
+
+    private static OrderSummary summary(Long id, LocalDateTime createdAt) {
+        return new OrderSummary(id, "external-" + id, BigDecimal.TEN, OrderStatus.CALCULATED, createdAt);
+    }
+
+    private double outcomeCount(String outcome) {
+        return meterRegistry.get("orders.pipeline.orders").tag("outcome", outcome).counter().count();
+    }
 }
@@ -14,11 +14,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE) // Não precisamos de porta Web aberta aqui
 class OrderServiceIntegrationTest extends AbstractIntegrationTest {
@@ -29,6 +35,9 @@ class OrderServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         // Como o container é compartilhado (static no AbstractIntegrationTest),
@@ -93,6 +102,30 @@ class OrderServiceIntegrationTest extends AbstractIntegrationTest {
         assertThat(result2.totalValue()).isEqualByComparingTo(valueAfterSecondCall);
     }
 
+    /**
+     * Testa um pedido já gravado que o filtro de idempotência desta instância não
+     * conhece, como o gravado por outra instância: o lote falha com violação de
+     * unicidade, e o processamento individual responde com o pedido existente.
+     */
+    @Test
+    @DisplayName("Integração: Deve responder como duplicado o pedido que o filtro local não conhece")
+    void shouldResolveOrderUnknownToLocalFilter() {
+        // Arrange
+        OrderInputDTO inputDTO = OrderTestFactory.createOrderInputDTO();
+        // Grava direto no banco, sem passar pelo filtro desta instância
+        Long existingId = new TransactionTemplate(transactionManager).execute(status ->
+                orderRepository.insertIfAbsent(inputDTO.externalId(), LocalDateTime.now(),
+                        OrderStatus.CALCULATED.name(), calculateExpectedTotal(inputDTO)).orElseThrow());
+
+        // Act + Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> orderService.processOrders(List.of(inputDTO)));
+        OrderOutputDTO result = orderService.processOrder(inputDTO);
+
+        assertThat(result.orderId()).isEqualTo(existingId);
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
     /**
      * Calcula o valor total esperado do pedido com base nos itens do DTO de entrada.
      * @param inputDTO
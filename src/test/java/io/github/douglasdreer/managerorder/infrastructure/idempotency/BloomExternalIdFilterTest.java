@@ -0,0 +1,81 @@
+package io.github.douglasdreer.managerorder.infrastructure.idempotency;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.IdempotencyFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomExternalIdFilterTest {
+
+    private static final int EXPECTED_INSERTIONS = 100_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Deve encaminhar tudo ao banco enquanto a carga inicial não terminar")
+    void shouldReportMaybePresentBeforeWarmUp() {
+        BloomExternalIdFilter filter = createFilter(true, DataSize.ofMegabytes(1));
+
+        assertThat(filter.mightContain("external-nunca-inserido")).isTrue();
+        assertThat(meterRegistry.counter("orders.idempotency.filter.lookups", "result", "bypass").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve gerar falso negativo para ids registrados")
+    void shouldNeverReturnFalseNegatives() {
+        BloomExternalIdFilter filter = createFilter(true, DataSize.ofMegabytes(1));
+        filter.markReady();
+
+        var ids = IntStream.range(0, EXPECTED_INSERTIONS).mapToObj(i -> "external-" + UUID.randomUUID()).toList();
+        ids.forEach(filter::put);
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falso positivo próxima da configurada")
+    void shouldKeepFalsePositiveRateNearConfiguredValue() {
+        BloomExternalIdFilter filter = createFilter(true, DataSize.ofMegabytes(1));
+        filter.markReady();
+        IntStream.range(0, EXPECTED_INSERTIONS).forEach(i -> filter.put("external-" + UUID.randomUUID()));
+
+        long falsePositives = IntStream.range(0, EXPECTED_INSERTIONS)
+                .filter(i -> filter.mightContain("novo-" + UUID.randomUUID()))
+                .count();
+
+        assertThat((double) falsePositives / EXPECTED_INSERTIONS).isLessThan(0.02);
+        assertThat(meterRegistry.counter("orders.idempotency.filter.lookups", "result", "miss").count())
+                .isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de memória configurado")
+    void shouldRespectMemoryCap() {
+        createFilter(true, DataSize.ofKilobytes(8));
+
+        assertThat(meterRegistry.get("orders.idempotency.filter.memory").gauge().value())
+                .isLessThanOrEqualTo(DataSize.ofKilobytes(8).toBytes());
+    }
+
+    @Test
+    @DisplayName("Filtro desabilitado deve sempre consultar o banco")
+    void shouldAlwaysReportMaybePresentWhenDisabled() {
+        BloomExternalIdFilter filter = createFilter(false, DataSize.ofMegabytes(1));
+        filter.markReady();
+
+        assertThat(filter.mightContain("qualquer")).isTrue();
+    }
+
+    private BloomExternalIdFilter createFilter(boolean enabled, DataSize maxMemory) {
+        IdempotencyFilterProperties properties = new IdempotencyFilterProperties(
+                enabled, EXPECTED_INSERTIONS, 0.01, maxMemory, 1, 1000
+        );
+        return new BloomExternalIdFilter(properties, meterRegistry);
+    }
+}
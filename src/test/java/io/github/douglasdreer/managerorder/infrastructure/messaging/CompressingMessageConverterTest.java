@@ -0,0 +1,105 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.GUnzipPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressingMessageConverterTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private final MessageConverter json = new JacksonJsonMessageConverter();
+
+    /**
+     * Verifica que mensagens acima do limite são comprimidas, sinalizadas no
+     * {@code content_encoding} e lidas de volta pelo mesmo conversor.
+     */
+    @ParameterizedTest
+    @EnumSource(MessageCompression.class)
+    @DisplayName("Should compress large messages and decompress them on read")
+    void shouldRoundTripCompressedMessages(MessageCompression compression) {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(json, compression, THRESHOLD);
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(100);
+        int uncompressedSize = json.toMessage(input, new MessageProperties()).getBody().length;
+
+        // Act
+        Message message = converter.toMessage(input, new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+        Object decoded = converter.fromMessage(message);
+
+        // Assert
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo(compression.encoding() + ":UTF-8");
+        assertThat(message.getBody().length).isLessThan(uncompressedSize);
+        assertThat(decoded).isEqualTo(input);
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo(compression.encoding() + ":UTF-8");
+    }
+
+    /**
+     * Verifica que mensagens abaixo do limite seguem sem compressão.
+     */
+    @Test
+    @DisplayName("Should skip compression below the threshold")
+    void shouldSkipSmallMessages() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(json, MessageCompression.LZ4, THRESHOLD);
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(1);
+
+        // Act
+        Message message = converter.toMessage(input, new MessageProperties());
+
+        // Assert
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo("UTF-8");
+        assertThat(message.getBody()).isEqualTo(json.toMessage(input, new MessageProperties()).getBody());
+    }
+
+    /**
+     * Verifica que mensagens comprimidas são lidas mesmo com a compressão
+     * desabilitada na escrita.
+     */
+    @Test
+    @DisplayName("Should decompress messages when compression is disabled for publishing")
+    void shouldReadCompressedMessagesWhenDisabled() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(100);
+        Message message = new CompressingMessageConverter(json, MessageCompression.LZ4, THRESHOLD)
+                .toMessage(input, new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+
+        // Act
+        Object decoded = new CompressingMessageConverter(json, null, THRESHOLD).fromMessage(message);
+
+        // Assert
+        assertThat(decoded).isEqualTo(input);
+    }
+
+    /**
+     * Verifica que mensagens em gzip seguem a convenção do Spring AMQP e podem
+     * ser lidas pelo {@link GUnzipPostProcessor}.
+     */
+    @Test
+    @DisplayName("Should write gzip messages readable by the Spring AMQP decompressor")
+    void shouldInteroperateWithSpringGunzip() {
+        // Arrange
+        CompressingMessageConverter converter = new CompressingMessageConverter(json, MessageCompression.GZIP, THRESHOLD);
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(100);
+
+        // Act
+        Message message = new GUnzipPostProcessor(true).postProcessMessage(converter.toMessage(input, new MessageProperties()));
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+
+        // Assert
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo("UTF-8");
+        assertThat(json.fromMessage(message)).isEqualTo(input);
+    }
+}
@@ -0,0 +1,292 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.DlqReplayProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.DlqReplayService.ReplayRequest;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.DlqReplayService.ReplayStatus;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.DlqReplayService.State;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqReplayServiceTest {
+
+    private static final ReplayRequest ALL = new ReplayRequest(1, 1000.0, null, null, null, null);
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DlqReplayService replayService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(rabbitTemplate.execute(any(ChannelCallback.class)))
+                .thenAnswer(invocation -> invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        confirmWith(new CorrelationData.Confirm(true, null));
+        replayService = new DlqReplayService(rabbitTemplate, new JacksonJsonMessageConverter(), orderService,
+                new DlqReplayProperties(4, 100, Duration.ofSeconds(1)), meterRegistry);
+    }
+
+    /**
+     * Verifica que as mensagens reprocessadas são confirmadas e que as fora do
+     * filtro de erro são republicadas no final da DLQ e confirmadas, sem ficar
+     * pendentes no canal.
+     */
+    @Test
+    @DisplayName("Should ack replayed messages and return filtered out ones to the DLQ")
+    void shouldReplayMatchingMessages() throws Exception {
+        // Arrange
+        OrderInputDTO ok = OrderTestFactory.createOrderInputDTO(1);
+        OrderInputDTO broken = OrderTestFactory.createOrderInputDTO(2);
+        when(channel.messageCount(RabbitMQConfig.IMPORT_DLQ)).thenReturn(3L);
+        when(channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false)).thenReturn(
+                deadLetter(1, ok, "java.sql.SQLTransientConnectionException", Instant.now()),
+                deadLetter(2, ok, "java.lang.IllegalArgumentException", Instant.now()),
+                deadLetter(3, broken, "org.springframework.dao.QueryTimeoutException", Instant.now()));
+
+        // Act
+        replayService.start(new ReplayRequest(1, 1000.0, "connection", null, null, null));
+        ReplayStatus status = awaitIdle();
+
+        // Assert
+        assertThat(status.candidates()).isEqualTo(3);
+        assertThat(status.replayed()).isEqualTo(1);
+        assertThat(status.skipped()).isEqualTo(2);
+        assertThat(status.failed()).isZero();
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(RabbitMQConfig.IMPORT_DLQ), any(Message.class),
+                any(CorrelationData.class));
+        verify(orderService).processOrder(ok);
+        verify(orderService, never()).processOrder(broken);
+        assertThat(meterRegistry.get("orders.dlq.replay.messages").tag("outcome", "replayed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    /**
+     * Verifica que falhas no reprocessamento devolvem a mensagem, com os cabeçalhos
+     * de causa, ao final da DLQ e que a leitura para ao atingir {@code maxMessages}.
+     */
+    @Test
+    @DisplayName("Should keep failed messages and stop at maxMessages")
+    void shouldKeepFailedMessages() throws Exception {
+        // Arrange
+        OrderInputDTO broken = OrderTestFactory.createOrderInputDTO(2);
+        when(channel.messageCount(RabbitMQConfig.IMPORT_DLQ)).thenReturn(10L);
+        when(channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false)).thenReturn(
+                deadLetter(7, broken, "x", Instant.now()),
+                deadLetter(8, broken, "x", Instant.now()));
+        when(orderService.processOrder(broken)).thenThrow(new IllegalStateException("ainda fora do ar"));
+
+        // Act
+        replayService.start(new ReplayRequest(1, 1000.0, null, null, null, 2L));
+        ReplayStatus status = awaitIdle();
+
+        // Assert
+        assertThat(status.candidates()).isEqualTo(2);
+        assertThat(status.failed()).isEqualTo(2);
+        verify(channel, times(2)).basicGet(RabbitMQConfig.IMPORT_DLQ, false);
+        verify(channel).basicAck(7, false);
+        verify(channel).basicAck(8, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+
+        ArgumentCaptor<Message> copies = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(RabbitMQConfig.IMPORT_DLQ), copies.capture(),
+                any(CorrelationData.class));
+        assertThat(copies.getValue().getMessageProperties().<String>getHeader(RabbitMQConfig.EXCEPTION_TYPE_HEADER))
+                .isEqualTo("x");
+        assertThat(copies.getValue().getMessageProperties().getDeliveryMode()).isEqualTo(MessageDeliveryMode.PERSISTENT);
+    }
+
+    /**
+     * Verifica que, se o broker recusar a cópia, a original não é confirmada e
+     * volta à DLQ ao final.
+     */
+    @Test
+    @DisplayName("Should keep the original pending when the broker refuses the copy")
+    void shouldKeepOriginalWhenCopyIsRefused() throws Exception {
+        // Arrange
+        OrderInputDTO broken = OrderTestFactory.createOrderInputDTO(2);
+        confirmWith(new CorrelationData.Confirm(false, "fila cheia"));
+        when(channel.messageCount(RabbitMQConfig.IMPORT_DLQ)).thenReturn(1L);
+        when(channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false)).thenReturn(deadLetter(5, broken, "x", Instant.now()));
+        when(orderService.processOrder(broken)).thenThrow(new IllegalStateException("ainda fora do ar"));
+
+        // Act
+        replayService.start(ALL);
+        ReplayStatus status = awaitIdle();
+
+        // Assert
+        assertThat(status.failed()).isEqualTo(1);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(5, true, true);
+    }
+
+    /**
+     * Verifica que, pausado, o reprocessamento não lê novas mensagens até ser retomado.
+     */
+    @Test
+    @DisplayName("Should hold reading while paused and finish after resume")
+    void shouldPauseAndResume() throws Exception {
+        // Arrange
+        OrderInputDTO order = OrderTestFactory.createOrderInputDTO(1);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(channel.messageCount(RabbitMQConfig.IMPORT_DLQ)).thenReturn(2L);
+        when(channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false))
+                .thenAnswer(invocation -> {
+                    fetching.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return deadLetter(1, order, "x", Instant.now());
+                })
+                .thenReturn(deadLetter(2, order, "x", Instant.now()));
+
+        // Act
+        replayService.start(ALL);
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+        replayService.pause();
+        release.countDown();
+        verify(channel, timeout(5000)).basicAck(1, false);
+        Thread.sleep(100);
+
+        // Assert
+        assertThat(replayService.status().state()).isEqualTo(State.PAUSED);
+        verify(channel, times(1)).basicGet(RabbitMQConfig.IMPORT_DLQ, false);
+
+        replayService.resume();
+        assertThat(awaitIdle().replayed()).isEqualTo(2);
+    }
+
+    /**
+     * Verifica que apenas um reprocessamento roda por vez e que os controles
+     * exigem um reprocessamento em andamento.
+     */
+    @Test
+    @DisplayName("Should reject concurrent replays and controls without a running replay")
+    void shouldRejectInvalidTransitions() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(channel.messageCount(RabbitMQConfig.IMPORT_DLQ)).thenReturn(1L);
+        when(channel.basicGet(RabbitMQConfig.IMPORT_DLQ, false)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        // Act + Assert
+        assertThatThrownBy(() -> replayService.pause()).isInstanceOf(IllegalStateException.class);
+
+        replayService.start(ALL);
+        assertThatThrownBy(() -> replayService.start(ALL)).isInstanceOf(IllegalStateException.class);
+
+        release.countDown();
+        assertThat(awaitIdle().replayed()).isZero();
+    }
+
+    /**
+     * Verifica o filtro de janela de tempo pelo instante de envio à DLQ.
+     */
+    @Test
+    @DisplayName("Should filter by the dead-letter time window")
+    void shouldFilterByTimeWindow() {
+        // Arrange
+        Instant since = Instant.parse("2026-10-01T00:00:00Z");
+        Instant until = Instant.parse("2026-10-02T00:00:00Z");
+        ReplayRequest request = new ReplayRequest(null, null, null, since, until, null);
+
+        // Act + Assert
+        assertThat(request.matches(properties(since.plusSeconds(60)))).isTrue();
+        assertThat(request.matches(properties(until))).isFalse();
+        assertThat(request.matches(properties(since.minusSeconds(1)))).isFalse();
+        assertThat(request.matches(new MessageProperties())).isFalse();
+        assertThat(ALL.matches(new MessageProperties())).isTrue();
+    }
+
+    private ReplayStatus awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (replayService.status().state() != State.IDLE && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        ReplayStatus status = replayService.status();
+        assertThat(status.state()).isEqualTo(State.IDLE);
+        return status;
+    }
+
+    private void confirmWith(CorrelationData.Confirm confirm) {
+        lenient().doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(confirm);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static MessageProperties properties(Instant deadLetteredAt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(RabbitMQConfig.DEAD_LETTERED_AT_HEADER, deadLetteredAt.toEpochMilli());
+        return properties;
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, OrderInputDTO input, String exceptionType, Instant at) {
+        byte[] body = new JacksonJsonMessageConverter().toMessage(input, new MessageProperties()).getBody();
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(RabbitMQConfig.EXCEPTION_TYPE_HEADER, exceptionType);
+        headers.put(RabbitMQConfig.EXCEPTION_MESSAGE_HEADER, "falha");
+        headers.put(RabbitMQConfig.DEAD_LETTERED_AT_HEADER, at.toEpochMilli());
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType(MessageProperties.CONTENT_TYPE_JSON)
+                .contentEncoding("UTF-8")
+                .headers(headers)
+                .build();
+        return new GetResponse(new Envelope(deliveryTag, false, RabbitMQConfig.DLX_EXCHANGE, RabbitMQConfig.RK_ERROR),
+                props, body, 0);
+    }
+}
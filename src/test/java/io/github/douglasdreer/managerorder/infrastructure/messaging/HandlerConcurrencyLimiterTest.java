@@ -0,0 +1,62 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HandlerConcurrencyLimiterTest {
+
+    /**
+     * Verifica que, mesmo com muitas virtual threads disputando,
+     * nunca há mais handlers em execução do que o limite configurado.
+     */
+    @Test
+    @DisplayName("Should never run more handlers than the configured limit")
+    void shouldBoundConcurrentHandlers() throws Throwable {
+        // Arrange
+        int limit = 3;
+        int handlers = 50;
+        HandlerConcurrencyLimiter limiter = new HandlerConcurrencyLimiter(limit, new SimpleMeterRegistry());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(handlers);
+
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.proceed()).thenAnswer(call -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return null;
+        });
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < handlers; i++) {
+                executor.execute(() -> {
+                    try {
+                        limiter.invoke(invocation);
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        // Assert
+        assertThat(peak.get()).isLessThanOrEqualTo(limit);
+    }
+}
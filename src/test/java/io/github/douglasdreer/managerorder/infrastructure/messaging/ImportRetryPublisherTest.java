@@ -0,0 +1,228 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportRetryProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportRetryPublisherTest {
+
+    private static final ImportRetryProperties PROPERTIES = new ImportRetryProperties(
+            true, List.of(Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(1)), Duration.ofSeconds(1));
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        lenient().when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+    }
+
+    /**
+     * Verifica que a primeira falha vai para a fila do menor atraso, com o
+     * contador de tentativas, a fila de origem e o corpo original preservados.
+     */
+    @Test
+    @DisplayName("Should copy the failed message to the first delay queue")
+    void shouldScheduleFirstRetry() {
+        // Arrange
+        ArgumentCaptor<Message> published = ArgumentCaptor.forClass(Message.class);
+        confirmWith(new CorrelationData.Confirm(true, null));
+        Message message = received(null);
+
+        // Act
+        publisher().retryOrDeadLetter(message, new IllegalStateException("conexão recusada"));
+
+        // Assert
+        verify(rabbitTemplate).send(eq(""), eq("q.orders.import.retry.1s"), published.capture(), any(CorrelationData.class));
+        MessageProperties properties = published.getValue().getMessageProperties();
+        assertThat(properties.<Integer>getHeader(RabbitMQConfig.RETRY_COUNT_HEADER)).isEqualTo(1);
+        assertThat(properties.<String>getHeader(RabbitMQConfig.ORIGIN_QUEUE_HEADER)).isEqualTo("q.orders.import.shard.3");
+        assertThat(properties.<String>getHeader(RabbitMQConfig.ORDER_KEY_HEADER)).isEqualTo("EXT-1");
+        assertThat(properties.getContentEncoding()).isEqualTo("lz4:UTF-8");
+        assertThat(properties.getDeliveryMode()).isEqualTo(MessageDeliveryMode.PERSISTENT);
+        assertThat(published.getValue().getBody()).isEqualTo(message.getBody());
+        assertThat(meterRegistry.get("orders.import.retries").tag("delay", "PT1S").counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Verifica que cada nova falha avança para o próximo atraso.
+     */
+    @Test
+    @DisplayName("Should move to the next delay on each retry")
+    void shouldEscalateDelay() {
+        // Arrange
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        // Act
+        publisher().retryOrDeadLetter(received(2), new IllegalStateException("timeout"));
+
+        // Assert
+        verify(rabbitTemplate).send(eq(""), eq("q.orders.import.retry.60s"), any(Message.class), any(CorrelationData.class));
+    }
+
+    /**
+     * Verifica que, esgotadas as tentativas, a mensagem vai para a DLQ com
+     * a causa da falha e o instante do envio nos cabeçalhos.
+     */
+    @Test
+    @DisplayName("Should dead-letter with the failure cause after the last delay")
+    void shouldDeadLetterWhenExhausted() {
+        // Arrange
+        ArgumentCaptor<Message> published = ArgumentCaptor.forClass(Message.class);
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        // Act
+        publisher().retryOrDeadLetter(received(3), new IllegalStateException("timeout"));
+
+        // Assert
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.DLX_EXCHANGE), eq(RabbitMQConfig.RK_ERROR),
+                published.capture(), any(CorrelationData.class));
+        MessageProperties properties = published.getValue().getMessageProperties();
+        assertThat(properties.<String>getHeader(RabbitMQConfig.EXCEPTION_TYPE_HEADER))
+                .isEqualTo(IllegalStateException.class.getName());
+        assertThat(properties.<String>getHeader(RabbitMQConfig.EXCEPTION_MESSAGE_HEADER)).isEqualTo("timeout");
+        assertThat(properties.<Long>getHeader(RabbitMQConfig.DEAD_LETTERED_AT_HEADER)).isPositive();
+        assertThat(meterRegistry.get("orders.import.retries.exhausted").counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Verifica que falhas permanentes vão direto para a fila de inválidos, sem
+     * novas tentativas, mesmo na primeira entrega.
+     */
+    @Test
+    @DisplayName("Should send permanent failures to the invalid-orders queue without retrying")
+    void shouldRejectPermanentFailures() {
+        // Arrange
+        ArgumentCaptor<Message> published = ArgumentCaptor.forClass(Message.class);
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        // Act
+        ImportFailure failure = publisher().handleFailure(received(null),
+                new MessageConversionException("Unexpected end-of-input"));
+
+        // Assert
+        assertThat(failure).isEqualTo(ImportFailure.MALFORMED);
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.DLX_EXCHANGE), eq(RabbitMQConfig.RK_INVALID),
+                published.capture(), any(CorrelationData.class));
+        assertThat(published.getValue().getMessageProperties().<String>getHeader(RabbitMQConfig.EXCEPTION_TYPE_HEADER))
+                .isEqualTo(MessageConversionException.class.getName());
+        assertThat(meterRegistry.get("orders.import.rejected").tag("reason", "malformed").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.find("orders.import.retries").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    /**
+     * Verifica que falhas transitórias seguem o caminho das novas tentativas.
+     */
+    @Test
+    @DisplayName("Should retry transient failures")
+    void shouldRetryTransientFailures() {
+        // Arrange
+        confirmWith(new CorrelationData.Confirm(true, null));
+
+        // Act
+        ImportFailure failure = publisher().handleFailure(received(null), new IllegalStateException("timeout"));
+
+        // Assert
+        assertThat(failure).isEqualTo(ImportFailure.TRANSIENT);
+        verify(rabbitTemplate).send(eq(""), eq("q.orders.import.retry.1s"), any(Message.class), any(CorrelationData.class));
+    }
+
+    /**
+     * Verifica que um nack do broker falha o agendamento, para que a
+     * mensagem original volte à fila em vez de ser confirmada.
+     */
+    @Test
+    @DisplayName("Should fail when the broker rejects the retry copy")
+    void shouldFailOnNack() {
+        // Arrange
+        confirmWith(new CorrelationData.Confirm(false, "fila cheia"));
+
+        // Act + Assert
+        assertThatThrownBy(() -> publisher().retryOrDeadLetter(received(null), new IllegalStateException("timeout")))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("fila cheia");
+    }
+
+    /**
+     * Verifica as filas de espera: uma por atraso, com o TTL correspondente e
+     * reencaminhamento ao exchange de retorno.
+     */
+    @Test
+    @DisplayName("Should declare one TTL queue per delay dead-lettering to the return exchange")
+    void shouldDeclareDelayQueues() {
+        // Act
+        Declarables topology = new RabbitMQConfig().importRetryTopology(new Queue(RabbitMQConfig.IMPORT_QUEUE), PROPERTIES);
+
+        // Assert
+        assertThat(topology.getDeclarablesByType(Queue.class))
+                .extracting(Queue::getName)
+                .containsExactly("q.orders.import.retry.1s", "q.orders.import.retry.10s", "q.orders.import.retry.60s");
+        assertThat(topology.getDeclarablesByType(Queue.class).get(1).getArguments())
+                .containsEntry("x-message-ttl", 10000)
+                .containsEntry("x-dead-letter-exchange", RabbitMQConfig.RETRY_RETURN_EXCHANGE);
+        assertThat(RabbitMQConfig.importRetryQueue(Duration.ofMillis(1500))).isEqualTo("q.orders.import.retry.1500ms");
+    }
+
+    private ImportRetryPublisher publisher() {
+        return new ImportRetryPublisher(rabbitTemplate, PROPERTIES, meterRegistry);
+    }
+
+    private void confirmWith(CorrelationData.Confirm confirm) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(confirm);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static Message received(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue("q.orders.import.shard.3");
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding("lz4:UTF-8");
+        properties.setHeader(RabbitMQConfig.ORDER_KEY_HEADER, "EXT-1");
+        if (retryCount != null) {
+            properties.setHeader(RabbitMQConfig.RETRY_COUNT_HEADER, retryCount);
+        }
+        properties.setDeliveryMode(null);
+        return new Message("{\"externalId\":\"EXT-1\"}".getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
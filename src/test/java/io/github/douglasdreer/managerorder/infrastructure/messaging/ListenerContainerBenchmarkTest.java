@@ -0,0 +1,118 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.AbstractIntegrationTest;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o container de listeners em threads de plataforma com o container
+ * em virtual threads limitado por {@link HandlerConcurrencyLimiter}.
+ *
+ * <p>Os dois modos drenam o mesmo volume de pedidos de uma fila dedicada,
+ * processados pelo {@link OrderService} real contra o Postgres do container.
+ * Executar com {@code ./gradlew benchmarkTest}.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ListenerContainerBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final String BENCHMARK_QUEUE = "q.orders.benchmark";
+    private static final int MESSAGES = 5_000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int VIRTUAL_CONSUMERS = 64;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Test
+    @DisplayName("Benchmark: platform-thread vs virtual-thread listener container")
+    void compareListenerContainers() throws Exception {
+        int poolSize = dataSource.getMaximumPoolSize();
+
+        Duration platform = drain("platform", container -> container.setConcurrentConsumers(poolSize));
+
+        Duration virtual = drain("virtual", container -> {
+            container.setTaskExecutor(new VirtualThreadTaskExecutor("benchmark-listener-"));
+            container.setConcurrentConsumers(VIRTUAL_CONSUMERS);
+            container.setAdviceChain(new HandlerConcurrencyLimiter(poolSize, new SimpleMeterRegistry()));
+        });
+
+        log.info("Listener benchmark ({} pedidos, pool={}): platform={} msg/s, virtual={} msg/s",
+                MESSAGES, poolSize, throughput(platform), throughput(virtual));
+    }
+
+    private Duration drain(String mode, Consumer<SimpleMessageListenerContainer> customizer) throws Exception {
+        amqpAdmin.declareQueue(new Queue(BENCHMARK_QUEUE, false));
+        amqpAdmin.purgeQueue(BENCHMARK_QUEUE, false);
+
+        for (int i = 0; i < MESSAGES; i++) {
+            rabbitTemplate.convertAndSend("", BENCHMARK_QUEUE, OrderTestFactory.createOrderInputDTO(ITEMS_PER_ORDER));
+        }
+
+        CountDownLatch processed = new CountDownLatch(MESSAGES);
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(BENCHMARK_QUEUE);
+        container.setPrefetchCount(250);
+        container.setMessageListener(message -> {
+            message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+            orderService.processOrder((OrderInputDTO) messageConverter.fromMessage(message));
+            processed.countDown();
+        });
+        customizer.accept(container);
+
+        long startedAt = System.nanoTime();
+        container.start();
+        try {
+            assertThat(processed.await(5, TimeUnit.MINUTES))
+                    .as("todos os pedidos processados no modo %s", mode)
+                    .isTrue();
+            return Duration.ofNanos(System.nanoTime() - startedAt);
+        } finally {
+            container.stop();
+        }
+    }
+
+    private static long throughput(Duration elapsed) {
+        return Math.round(MESSAGES / (elapsed.toNanos() / 1_000_000_000.0));
+    }
+}
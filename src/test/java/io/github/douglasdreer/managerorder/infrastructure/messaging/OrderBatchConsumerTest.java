@@ -0,0 +1,199 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchConsumerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ImportRetryPublisher retryPublisher;
+
+    @Mock
+    private Channel channel;
+
+    private final MessageConverter messageConverter = new JacksonJsonMessageConverter();
+    private ValidatorFactory validatorFactory;
+    private OrderBatchConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        consumer = new OrderBatchConsumer(orderService, messageConverter,
+                new OrderPipelineMetrics(new SimpleMeterRegistry()), retryPublisher,
+                new OrderInputValidator(validatorFactory.getValidator()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Verifica que o lote é persistido em uma única chamada e que só então todas
+     * as mensagens são confirmadas.
+     */
+    @Test
+    @DisplayName("Should ack every message of the batch after it is persisted")
+    void shouldAckWholeBatchOnSuccess() throws Exception {
+        // Arrange
+        List<Message> messages = List.of(
+                order(OrderTestFactory.createOrderInputDTO(1), 1),
+                order(OrderTestFactory.createOrderInputDTO(2), 2),
+                order(OrderTestFactory.createOrderInputDTO(1), 3));
+
+        // Act
+        consumer.consumeOrders(messages, channel);
+
+        // Assert
+        verify(orderService).processOrders(argThat(inputs -> inputs.size() == 3));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(orderService, never()).processOrder(any());
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+        verifyNoInteractions(retryPublisher);
+    }
+
+    /**
+     * Verifica que uma mensagem ilegível sai do lote antes da persistência, é
+     * entregue ao caminho de falha e confirmada, enquanto as demais seguem no lote.
+     */
+    @Test
+    @DisplayName("Should forward unreadable messages before persisting the rest of the batch")
+    void shouldForwardUnreadableMessages() throws Exception {
+        // Arrange
+        Message unreadable = message("{\"externalId\":".getBytes(StandardCharsets.UTF_8), 1);
+        Message valid = order(OrderTestFactory.createOrderInputDTO(1), 2);
+
+        // Act
+        consumer.consumeOrders(List.of(unreadable, valid), channel);
+
+        // Assert
+        verify(retryPublisher).handleFailure(eq(unreadable), any(MessageConversionException.class));
+        verify(orderService).processOrders(argThat(inputs -> inputs.size() == 1));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+    }
+
+    /**
+     * Verifica que, se o lote falhar, cada pedido é reprocessado individualmente:
+     * os que passam são confirmados e apenas o que falha segue para nova tentativa.
+     */
+    @Test
+    @DisplayName("Should fall back to one order at a time when the batch fails")
+    void shouldFallBackToSingleOrdersWhenBatchFails() throws Exception {
+        // Arrange
+        OrderInputDTO first = OrderTestFactory.createOrderInputDTO(1);
+        OrderInputDTO second = OrderTestFactory.createOrderInputDTO(1);
+        Message failing = order(second, 2);
+        when(orderService.processOrders(anyList())).thenThrow(new IllegalStateException("lote falhou"));
+        when(orderService.processOrder(any()))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("pedido falhou"));
+
+        // Act
+        consumer.consumeOrders(List.of(order(first, 1), failing), channel);
+
+        // Assert
+        verify(orderService).processOrder(first);
+        verify(orderService).processOrder(second);
+        verify(retryPublisher).handleFailure(eq(failing), any(IllegalStateException.class));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+
+    /**
+     * Verifica que, se o encaminhamento de uma mensagem com falha não for aceito
+     * pelo broker, ela volta à fila em vez de ser confirmada.
+     */
+    @Test
+    @DisplayName("Should requeue a failed message when forwarding it fails")
+    void shouldRequeueWhenForwardingFails() throws Exception {
+        // Arrange
+        Message unreadable = message("nao-e-json".getBytes(StandardCharsets.UTF_8), 7);
+        doThrow(new AmqpException("sem confirmação")).when(retryPublisher).handleFailure(any(), any());
+
+        // Act
+        consumer.consumeOrders(List.of(unreadable), channel);
+
+        // Assert
+        verify(channel).basicReject(7, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verifyNoInteractions(orderService);
+    }
+
+    /**
+     * Verifica que, em um lote com mensagem ilegível, falha do lote e falha
+     * individual, cada delivery tag é confirmada exatamente uma vez.
+     */
+    @Test
+    @DisplayName("Should never ack the same delivery tag twice")
+    void shouldAckEachDeliveryTagOnce() throws Exception {
+        // Arrange
+        OrderInputDTO persisted = OrderTestFactory.createOrderInputDTO(1);
+        OrderInputDTO failing = OrderTestFactory.createOrderInputDTO(1);
+        when(orderService.processOrders(anyList())).thenThrow(new IllegalStateException("lote falhou"));
+        when(orderService.processOrder(any()))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("pedido falhou"));
+        List<Message> messages = List.of(
+                message("{".getBytes(StandardCharsets.UTF_8), 1),
+                order(persisted, 2),
+                order(failing, 3));
+
+        // Act
+        consumer.consumeOrders(messages, channel);
+
+        // Assert
+        ArgumentCaptor<Long> acked = ArgumentCaptor.forClass(Long.class);
+        verify(channel, times(3)).basicAck(acked.capture(), eq(false));
+        assertThat(acked.getAllValues()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+
+    private Message order(OrderInputDTO input, long deliveryTag) {
+        return message(messageConverter.toMessage(input, new MessageProperties()).getBody(), deliveryTag);
+    }
+
+    private static Message message(byte[] body, long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setDeliveryTag(deliveryTag);
+        return new Message(body, properties);
+    }
+}
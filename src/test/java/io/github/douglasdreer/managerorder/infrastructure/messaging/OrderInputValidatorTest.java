@@ -0,0 +1,113 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderItemInputDTO;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class OrderInputValidatorTest {
+
+    private ValidatorFactory validatorFactory;
+    private OrderInputValidator inputValidator;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        inputValidator = new OrderInputValidator(validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Verifica que pedidos válidos passam sem exceção.
+     */
+    @Test
+    @DisplayName("Should accept valid orders")
+    void shouldAcceptValidOrders() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(3);
+
+        // Act + Assert
+        assertThatCode(() -> inputValidator.validate(input)).doesNotThrowAnyException();
+    }
+
+    /**
+     * Verifica que as violações, inclusive as dos itens, são reunidas na
+     * mensagem da exceção e classificadas como falha permanente.
+     */
+    @Test
+    @DisplayName("Should reject orders that violate constraints as a permanent failure")
+    void shouldRejectInvalidOrders() {
+        // Arrange
+        OrderInputDTO input = new OrderInputDTO(" ",
+                List.of(new OrderItemInputDTO("Mouse", new BigDecimal("-1.00"), 1)));
+
+        // Act
+        ConstraintViolationException exception = catchThrowableOfType(ConstraintViolationException.class,
+                () -> inputValidator.validate(input));
+
+        // Assert
+        assertThat(exception.getConstraintViolations()).hasSize(2);
+        assertThat(exception.getMessage())
+                .contains("externalId: External ID is required")
+                .contains("items[0].unitPrice: Price must be positive");
+        assertThat(ImportFailure.classify(exception)).isEqualTo(ImportFailure.INVALID);
+    }
+
+    /**
+     * Verifica que as violações são devolvidas como lista, sem exceção, e vazia
+     * para pedidos válidos.
+     */
+    @Test
+    @DisplayName("Should list violations in alphabetical order without throwing")
+    void shouldListViolations() {
+        // Arrange
+        OrderInputDTO input = new OrderInputDTO(" ",
+                List.of(new OrderItemInputDTO("Mouse", new BigDecimal("-1.00"), 1)));
+
+        // Act
+        List<String> errors = inputValidator.errors(input);
+
+        // Assert
+        assertThat(errors).containsExactly(
+                "externalId: External ID is required",
+                "items[0].unitPrice: Price must be positive");
+        assertThat(inputValidator.errors(OrderTestFactory.createOrderInputDTO(1))).isEmpty();
+    }
+
+    /**
+     * Verifica a classificação pela causa, mesmo quando a falha chega encapsulada.
+     */
+    @Test
+    @DisplayName("Should classify failures by the first recognized cause")
+    void shouldClassifyFailuresByCause() {
+        // Act + Assert
+        assertThat(ImportFailure.classify(new MessageConversionException("JSON inválido")))
+                .isEqualTo(ImportFailure.MALFORMED);
+        assertThat(ImportFailure.classify(new ListenerExecutionFailedException("falha",
+                new MessageConversionException("JSON inválido"))))
+                .isEqualTo(ImportFailure.MALFORMED);
+        assertThat(ImportFailure.classify(new AmqpException("conexão recusada")))
+                .isEqualTo(ImportFailure.TRANSIENT);
+        assertThat(ImportFailure.TRANSIENT.permanent()).isFalse();
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.domain.entity.OutboxEvent;
+import io.github.douglasdreer.managerorder.domain.repository.OutboxEventRepository;
+import io.github.douglasdreer.managerorder.infrastructure.config.OutboxProperties;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OrderProducer orderProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OrderOutboxRelay(
+                outboxEventRepository,
+                orderProducer,
+                objectMapper,
+                new OutboxProperties(BATCH_SIZE, Duration.ofDays(7)),
+                transactionManager,
+                new OrderPipelineMetrics(meterRegistry)
+        );
+    }
+
+    /**
+     * Verifica que um lote pendente é publicado em ordem e marcado
+     * como enviado com um único comando.
+     */
+    @Test
+    @DisplayName("Should publish pending events and mark them as sent in one statement")
+    void shouldPublishPendingEventsAndMarkThemAsSent() throws Exception {
+        // Arrange
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+        List<OutboxEvent> events = List.of(event(1L, order), event(2L, order));
+        when(outboxEventRepository.lockPendingBatch(BATCH_SIZE))
+                .thenReturn(events);
+        when(orderProducer.sendCalculatedOrder(order))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int published = relay.relayBatch();
+
+        // Assert
+        assertThat(published).isEqualTo(2);
+        verify(orderProducer, times(2)).sendCalculatedOrder(order);
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any());
+        assertThat(meterRegistry.get("orders.pipeline.stage").tag("stage", "publish").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * Verifica que uma falha de publicação não marca o lote como enviado,
+     * deixando-o pendente para o próximo ciclo.
+     */
+    @Test
+    @DisplayName("Should keep events pending when publishing fails")
+    void shouldKeepEventsPendingWhenPublishingFails() throws Exception {
+        // Arrange
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+        List<OutboxEvent> events = List.of(event(1L, order));
+        when(outboxEventRepository.lockPendingBatch(BATCH_SIZE))
+                .thenReturn(events);
+        when(orderProducer.sendCalculatedOrder(any()))
+                .thenReturn(CompletableFuture.failedFuture(new AmqpException("nack do broker")));
+
+        // Act + Assert
+        assertThatThrownBy(() -> relay.relayBatch())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(AmqpException.class);
+        verify(outboxEventRepository, never()).markSent(any(), any());
+    }
+
+    /**
+     * Verifica que o ciclo continua drenando enquanto os lotes vêm cheios.
+     */
+    @Test
+    @DisplayName("Should keep draining while batches are full")
+    void shouldDrainUntilBatchIsNotFull() throws Exception {
+        // Arrange
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+        when(transactionManager.getTransaction(any()))
+                .thenReturn(new SimpleTransactionStatus());
+        List<OutboxEvent> fullBatch = List.of(event(1L, order), event(2L, order));
+        List<OutboxEvent> lastBatch = List.of(event(3L, order));
+        when(outboxEventRepository.lockPendingBatch(anyInt()))
+                .thenReturn(fullBatch)
+                .thenReturn(lastBatch);
+        when(orderProducer.sendCalculatedOrder(order))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(2)).lockPendingBatch(BATCH_SIZE);
+        verify(orderProducer, times(3)).sendCalculatedOrder(order);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    private OutboxEvent event(Long id, OrderOutputDTO order) throws Exception {
+        String payload = "{\"id\":" + id + "}";
+        lenient().when(objectMapper.readValue(payload, OrderOutputDTO.class)).thenReturn(order);
+        return OutboxEvent.builder()
+                .id(id)
+                .orderId(order.orderId())
+                .externalId(order.externalId())
+                .payload(payload)
+                .build();
+    }
+}
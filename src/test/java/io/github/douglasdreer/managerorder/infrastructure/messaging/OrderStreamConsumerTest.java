@@ -0,0 +1,204 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import com.rabbitmq.stream.MessageHandler;
+import com.rabbitmq.stream.OffsetSpecification;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.domain.service.OrderService;
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportStreamProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.rabbit.stream.support.StreamMessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStreamConsumerTest {
+
+    private static final ImportStreamProperties PROPERTIES =
+            new ImportStreamProperties(true, "manager-order-import", 2, Duration.ofHours(1), Duration.ofDays(7), null, null);
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ImportRetryPublisher retryPublisher;
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    private final MessageConverter messageConverter = new JacksonJsonMessageConverter();
+    private ValidatorFactory validatorFactory;
+    private OrderStreamConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        consumer = new OrderStreamConsumer(orderService, messageConverter,
+                new OrderPipelineMetrics(new SimpleMeterRegistry()), retryPublisher,
+                new OrderInputValidator(validatorFactory.getValidator()), PROPERTIES, listenerRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.shutdown();
+        validatorFactory.close();
+    }
+
+    /**
+     * Verifica que o lote completo é persistido em uma única chamada e que só
+     * então o offset da última mensagem é guardado.
+     */
+    @Test
+    @DisplayName("Should store the offset of the last message only after the batch is persisted")
+    void shouldStoreOffsetAfterPersistingBatch() {
+        // Arrange
+        MessageHandler.Context first = mock(MessageHandler.Context.class);
+        MessageHandler.Context last = mock(MessageHandler.Context.class);
+
+        // Act
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(1), first));
+        verifyNoInteractions(orderService);
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(2), last));
+
+        // Assert
+        InOrder inOrder = inOrder(orderService, last);
+        inOrder.verify(orderService).processOrders(argThat(inputs -> inputs.size() == 2));
+        inOrder.verify(last).storeOffset();
+        verify(first, never()).storeOffset();
+    }
+
+    /**
+     * Verifica que uma mensagem ilegível é copiada para a fila de inválidos, com o
+     * stream como origem, e que o offset avança sobre ela com o lote seguinte.
+     */
+    @Test
+    @DisplayName("Should hand unreadable messages to the failure path and keep reading")
+    void shouldHandOffUnreadableMessages() {
+        // Arrange
+        MessageHandler.Context broken = mock(MessageHandler.Context.class);
+        MessageHandler.Context last = mock(MessageHandler.Context.class);
+        Message unreadable = message("{\"externalId\":".getBytes(StandardCharsets.UTF_8), broken);
+
+        // Act
+        consumer.consumeOrder(unreadable);
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(1), mock(MessageHandler.Context.class)));
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(1), last));
+
+        // Assert
+        verify(retryPublisher).handleFailure(eq(unreadable), any(Exception.class));
+        assertThat(unreadable.getMessageProperties().getConsumerQueue()).isEqualTo(RabbitMQConfig.IMPORT_STREAM);
+        verify(orderService).processOrders(argThat(inputs -> inputs.size() == 2));
+        verify(last).storeOffset();
+    }
+
+    /**
+     * Verifica que um pedido já gravado, que o filtro local não conhecia, derruba o
+     * lote mas é resolvido pela inserção individual com ON CONFLICT, sem ir para a
+     * fila de novas tentativas.
+     */
+    @Test
+    @DisplayName("Should answer orders already persisted elsewhere as duplicates when the batch fails")
+    void shouldResolveFilterMissesThroughSingleInsert() {
+        // Arrange
+        OrderInputDTO existing = OrderTestFactory.createOrderInputDTO(1);
+        OrderInputDTO fresh = OrderTestFactory.createOrderInputDTO(1);
+        when(orderService.processOrders(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_external_order_id"));
+        MessageHandler.Context last = mock(MessageHandler.Context.class);
+
+        // Act
+        consumer.consumeOrder(order(existing, mock(MessageHandler.Context.class)));
+        consumer.consumeOrder(order(fresh, last));
+
+        // Assert
+        verify(orderService).processOrder(existing);
+        verify(orderService).processOrder(fresh);
+        verifyNoInteractions(retryPublisher);
+        verify(last).storeOffset();
+    }
+
+    /**
+     * Verifica que, se a cópia de uma mensagem com falha não for aceita pelo broker,
+     * o offset não é guardado e o listener é reiniciado para reler o lote.
+     */
+    @Test
+    @DisplayName("Should restart the listener without storing the offset when a failed message cannot be copied")
+    void shouldRewindWhenFailureCannotBeCopied() {
+        // Arrange
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer("order-import-stream")).thenReturn(container);
+        when(orderService.processOrders(anyList()))
+                .thenThrow(new IllegalStateException("lote falhou"));
+        when(orderService.processOrder(any()))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("pedido falhou"));
+        doThrow(new AmqpException("sem confirmação")).when(retryPublisher).handleFailure(any(), any());
+        MessageHandler.Context last = mock(MessageHandler.Context.class);
+
+        // Act
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(1), mock(MessageHandler.Context.class)));
+        consumer.consumeOrder(order(OrderTestFactory.createOrderInputDTO(1), last));
+
+        // Assert
+        verify(last, never()).storeOffset();
+        verify(container, timeout(1000)).stop();
+        verify(container, timeout(1000)).start();
+    }
+
+    /**
+     * Verifica que o ponto de releitura define o início da leitura e entra no nome
+     * de rastreamento, para que a releitura tenha o próprio offset guardado.
+     */
+    @Test
+    @DisplayName("Should track replays under their own name starting from the requested point")
+    void shouldTrackReplaysSeparately() {
+        // Arrange
+        Instant since = Instant.parse("2026-10-01T00:00:00Z");
+        ImportStreamProperties replay = new ImportStreamProperties(true, "manager-order-import", 500,
+                Duration.ofMillis(200), Duration.ofDays(7), null, since);
+
+        // Act + Assert
+        assertThat(PROPERTIES.trackingName()).isEqualTo("manager-order-import");
+        assertThat(PROPERTIES.startOffset()).isEqualTo(OffsetSpecification.first());
+        assertThat(replay.trackingName()).isEqualTo("manager-order-import@2026-10-01T00:00:00Z");
+        assertThat(replay.startOffset()).isEqualTo(OffsetSpecification.timestamp(since.toEpochMilli()));
+    }
+
+    private Message order(OrderInputDTO input, MessageHandler.Context context) {
+        return message(messageConverter.toMessage(input, new MessageProperties()).getBody(), context);
+    }
+
+    private static Message message(byte[] body, MessageHandler.Context context) {
+        StreamMessageProperties properties = new StreamMessageProperties(context);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(body, properties);
+    }
+}
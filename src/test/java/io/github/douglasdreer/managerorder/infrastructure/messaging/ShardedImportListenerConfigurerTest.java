@@ -0,0 +1,173 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportShardingProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.ImportStreamProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedImportListenerConfigurerTest {
+
+    @Mock
+    private RabbitListenerEndpointRegistrar registrar;
+
+    @Mock
+    private OrderConsumer orderConsumer;
+
+    @Mock
+    private OrderBatchConsumer orderBatchConsumer;
+
+    @Mock
+    private RabbitListenerContainerFactory<?> batchContainerFactory;
+
+    /**
+     * Verifica que cada fila recebe um listener com um único consumidor e
+     * prioridade de dona apenas nos shards da instância.
+     */
+    @Test
+    @DisplayName("Should register one single-consumer listener per shard with owner priorities")
+    void shouldRegisterOneListenerPerShard() {
+        // Arrange
+        ShardedImportListenerConfigurer configurer = configurer(new ImportShardingProperties(true, 4, 1, 2), null);
+        ArgumentCaptor<SimpleRabbitListenerEndpoint> endpoints = ArgumentCaptor.forClass(SimpleRabbitListenerEndpoint.class);
+        Message message = new Message(new byte[0], new MessageProperties());
+
+        // Act
+        configurer.configureRabbitListeners(registrar);
+
+        // Assert
+        verify(registrar, times(4)).registerEndpoint(endpoints.capture());
+        List<SimpleRabbitListenerEndpoint> registered = endpoints.getAllValues();
+        assertThat(registered).extracting(endpoint -> endpoint.getQueueNames().iterator().next())
+                .containsExactly("q.orders.import.shard.0", "q.orders.import.shard.1",
+                        "q.orders.import.shard.2", "q.orders.import.shard.3");
+        assertThat(registered).extracting(SimpleRabbitListenerEndpoint::getPriority)
+                .containsExactly(0, 10, 0, 10);
+        assertThat(registered).extracting(SimpleRabbitListenerEndpoint::getConcurrency)
+                .containsOnly("1");
+
+        registered.getFirst().getMessageListener().onMessage(message);
+        verify(orderConsumer).consumeOrder(message);
+    }
+
+    /**
+     * Verifica que, com o consumo em lote habilitado, os listeners usam o
+     * container em lote e delegam ao {@link OrderBatchConsumer}.
+     */
+    @Test
+    @DisplayName("Should register batch listeners when batch consumption is enabled")
+    void shouldRegisterBatchListeners() throws Exception {
+        // Arrange
+        ShardedImportListenerConfigurer configurer = configurer(new ImportShardingProperties(true, 2, 0, 1), orderBatchConsumer);
+        ArgumentCaptor<SimpleRabbitListenerEndpoint> endpoints = ArgumentCaptor.forClass(SimpleRabbitListenerEndpoint.class);
+        List<Message> messages = List.of(new Message(new byte[0], new MessageProperties()));
+
+        // Act
+        configurer.configureRabbitListeners(registrar);
+
+        // Assert
+        verify(registrar, times(2)).registerEndpoint(endpoints.capture(), eq(batchContainerFactory));
+        SimpleRabbitListenerEndpoint endpoint = endpoints.getValue();
+        assertThat(endpoint.getBatchListener()).isTrue();
+
+        ((ChannelAwareBatchMessageListener) endpoint.getMessageListener()).onMessageBatch(messages, null);
+        verify(orderBatchConsumer).consumeOrders(messages, null);
+        verifyNoInteractions(orderConsumer);
+    }
+
+    /**
+     * Verifica a topologia: o exchange de hash consistente ligado ao exchange principal
+     * e uma fila quorum com consumidor único ativo por shard.
+     */
+    @Test
+    @DisplayName("Should declare a consistent-hash exchange and one single-active-consumer queue per shard")
+    void shouldDeclareShardedTopology() {
+        // Act
+        Declarables topology = new RabbitMQConfig().shardedImportTopology(
+                new TopicExchange(RabbitMQConfig.MAIN_EXCHANGE), new ImportShardingProperties(true, 3, 0, 1));
+
+        // Assert
+        Exchange exchange = topology.getDeclarablesByType(Exchange.class).getFirst();
+        assertThat(exchange.getType()).isEqualTo("x-consistent-hash");
+        assertThat(exchange.getArguments()).containsEntry("hash-header", RabbitMQConfig.ORDER_KEY_HEADER);
+
+        assertThat(topology.getDeclarablesByType(Queue.class)).hasSize(3).allSatisfy(queue -> {
+            assertThat(queue.getArguments())
+                    .containsEntry("x-queue-type", "quorum")
+                    .containsEntry("x-single-active-consumer", true)
+                    .containsEntry("x-dead-letter-exchange", RabbitMQConfig.DLX_EXCHANGE);
+        });
+        assertThat(topology.getDeclarablesByType(Binding.class))
+                .anySatisfy(binding -> {
+                    assertThat(binding.getDestination()).isEqualTo(RabbitMQConfig.SHARDED_IMPORT_EXCHANGE);
+                    assertThat(binding.getExchange()).isEqualTo(RabbitMQConfig.MAIN_EXCHANGE);
+                    assertThat(binding.getRoutingKey()).isEqualTo(RabbitMQConfig.RK_IMPORT);
+                })
+                .filteredOn(binding -> binding.getExchange().equals(RabbitMQConfig.SHARDED_IMPORT_EXCHANGE))
+                .hasSize(3)
+                .allSatisfy(binding -> assertThat(binding.getRoutingKey()).isEqualTo("1"));
+    }
+
+    /**
+     * Verifica que, com a importação particionada, o vínculo antigo da fila única
+     * com o exchange principal é removido na inicialização.
+     */
+    @Test
+    @DisplayName("Should remove the legacy import queue binding when sharding is enabled")
+    void shouldRemoveLegacyImportBinding() throws Exception {
+        // Arrange
+        AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+        ArgumentCaptor<Binding> binding = ArgumentCaptor.forClass(Binding.class);
+        RabbitMQConfig config = new RabbitMQConfig();
+
+        // Act
+        config.legacyImportBindingRemoval(amqpAdmin, config.importQueue(), config.mainExchange(),
+                        new ImportShardingProperties(true, 3, 0, 1),
+                        new ImportStreamProperties(false, "manager-order-import", 500, Duration.ofMillis(200),
+                                Duration.ofDays(7), null, null))
+                .run(null);
+
+        // Assert
+        verify(amqpAdmin).removeBinding(binding.capture());
+        assertThat(binding.getValue().getDestination()).isEqualTo(RabbitMQConfig.IMPORT_QUEUE);
+        assertThat(binding.getValue().getExchange()).isEqualTo(RabbitMQConfig.MAIN_EXCHANGE);
+        assertThat(binding.getValue().getRoutingKey()).isEqualTo(RabbitMQConfig.RK_IMPORT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ShardedImportListenerConfigurer configurer(ImportShardingProperties sharding, OrderBatchConsumer batchConsumer) {
+        ObjectProvider<OrderConsumer> consumerProvider = mock(ObjectProvider.class);
+        ObjectProvider<OrderBatchConsumer> batchConsumerProvider = mock(ObjectProvider.class);
+        ObjectProvider<RabbitListenerContainerFactory<?>> factoryProvider = mock(ObjectProvider.class);
+        when(batchConsumerProvider.getIfAvailable()).thenReturn(batchConsumer);
+        lenient().when(consumerProvider.getObject()).thenReturn(orderConsumer);
+        lenient().when(factoryProvider.getObject()).thenReturn((RabbitListenerContainerFactory) batchContainerFactory);
+        return new ShardedImportListenerConfigurer(sharding, consumerProvider, batchConsumerProvider, factoryProvider);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * Verifica que a capacidade é liberada de imediato e que, sem saldo,
+     * as reservas se enfileiram no intervalo da taxa.
+     */
+    @Test
+    @DisplayName("Should allow the initial burst and then queue reservations at the configured rate")
+    void shouldQueueReservationsAtRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        // Act + Assert
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    /**
+     * Verifica que as fichas são repostas com o tempo, sem ultrapassar a capacidade.
+     */
+    @Test
+    @DisplayName("Should refill over time up to the capacity")
+    void shouldRefillUpToCapacity() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Assert
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isPositive();
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.infrastructure.config.MessageCompressionProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatMessageConverterTest {
+
+    private final MessageConverter converter = new RabbitMQConfig().messageConverter(JsonMapper.builder().build(),
+            new MessageCompressionProperties(false, MessageCompression.LZ4, DataSize.ofKilobytes(64)));
+
+    /**
+     * Verifica que cada formato é escolhido pelo {@code content_type}
+     * na escrita e lido de volta pelo mesmo conversor.
+     */
+    @ParameterizedTest
+    @EnumSource(WireFormat.class)
+    @DisplayName("Should round-trip orders in every wire format selected by content type")
+    void shouldRoundTripEveryWireFormat(WireFormat format) {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(3);
+
+        // Act
+        Message message = encode(input, format);
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+        Object decoded = converter.fromMessage(message);
+
+        // Assert
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(format.contentType());
+        assertThat(decoded).isEqualTo(input);
+    }
+
+    /**
+     * Verifica que mensagens JSON com charset no {@code content_type}, que não
+     * correspondem exatamente a um formato registrado, seguem para o conversor JSON.
+     */
+    @Test
+    @DisplayName("Should fall back to JSON for unregistered JSON content types")
+    void shouldFallBackToJsonConverter() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(1);
+        Message message = encode(input, WireFormat.JSON);
+        message.getMessageProperties().setContentType("application/json;charset=UTF-8");
+        message.getMessageProperties().setInferredArgumentType(OrderInputDTO.class);
+
+        // Act
+        Object decoded = converter.fromMessage(message);
+
+        // Assert
+        assertThat(decoded).isEqualTo(input);
+    }
+
+    /**
+     * Verifica que os formatos binários geram mensagens menores que o JSON
+     * para pedidos com muitos itens.
+     */
+    @Test
+    @DisplayName("Should produce smaller bodies in binary formats")
+    void shouldProduceSmallerBodiesInBinaryFormats() {
+        // Arrange
+        OrderInputDTO input = OrderTestFactory.createOrderInputDTO(100);
+
+        // Act
+        int json = encode(input, WireFormat.JSON).getBody().length;
+        int cbor = encode(input, WireFormat.CBOR).getBody().length;
+        int smile = encode(input, WireFormat.SMILE).getBody().length;
+
+        // Assert
+        assertThat(cbor).isLessThan(json);
+        assertThat(smile).isLessThan(json);
+    }
+
+    private Message encode(Object payload, WireFormat format) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(format.contentType());
+        return converter.toMessage(payload, properties);
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.douglasdreer.managerorder.infrastructure.messaging.impl;
+
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.infrastructure.config.PublisherProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.BinaryJacksonMessageConverter;
+import io.github.douglasdreer.managerorder.infrastructure.messaging.WireFormat;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProducerImplTest {
+
+    private static final PublisherProperties PROPERTIES =
+            new PublisherProperties(2, Duration.ofSeconds(5), 3, Duration.ZERO, WireFormat.JSON, Map.of());
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    private MeterRegistry meterRegistry;
+    private OrderProducerImpl producer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        lenient().when(rabbitTemplate.getMessageConverter()).thenReturn(new JacksonJsonMessageConverter());
+        producer = new OrderProducerImpl(rabbitTemplate, PROPERTIES, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producer.shutdown();
+    }
+
+    /**
+     * Verifica que o futuro só é concluído com o ack do broker
+     * e que a vaga da janela é devolvida em seguida.
+     */
+    @Test
+    @DisplayName("Should complete after broker ack and release the in-flight slot")
+    void shouldCompleteAfterAckAndReleaseWindow() throws Exception {
+        // Arrange
+        CorrelationData[] published = new CorrelationData[1];
+        doAnswer(invocation -> {
+            published[0] = invocation.getArgument(3);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        CompletableFuture<Void> result = producer.sendCalculatedOrder(OrderTestFactory.createOrderOutputDTO());
+
+        // Assert
+        assertThat(result).isNotDone();
+        assertThat(inFlight()).isEqualTo(1.0);
+
+        published[0].getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        assertThat(result).isCompleted();
+        assertThat(inFlight()).isZero();
+        assertThat(confirms("ack")).isEqualTo(1.0);
+    }
+
+    /**
+     * Verifica que um nack provoca nova publicação com outra correlação.
+     */
+    @Test
+    @DisplayName("Should republish after nack and complete on the next ack")
+    void shouldRepublishAfterNack() throws Exception {
+        // Arrange
+        answerWith(new CorrelationData.Confirm(false, "fila cheia"), new CorrelationData.Confirm(true, null));
+
+        // Act
+        producer.sendCalculatedOrder(OrderTestFactory.createOrderOutputDTO()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(rabbitTemplate, times(2))
+                .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        assertThat(confirms("nack")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("orders.publisher.retries").counter().count()).isEqualTo(1.0);
+        assertThat(inFlight()).isZero();
+    }
+
+    /**
+     * Verifica que mensagens devolvidas por falta de rota são republicadas
+     * e, esgotadas as tentativas, o futuro falha e a vaga é devolvida.
+     */
+    @Test
+    @DisplayName("Should fail after exhausting attempts on returned messages")
+    void shouldFailAfterExhaustingAttemptsOnReturns() {
+        // Arrange
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE", "ex", "rk"));
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        CompletableFuture<Void> result = producer.sendCalculatedOrder(OrderTestFactory.createOrderOutputDTO());
+
+        // Assert
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AmqpException.class)
+                .hasMessageContaining("NO_ROUTE");
+        assertThat(confirms("returned")).isEqualTo(3.0);
+        assertThat(meterRegistry.get("orders.publisher.failures").counter().count()).isEqualTo(1.0);
+        assertThat(inFlight()).isZero();
+    }
+
+    /**
+     * Verifica que, com a janela cheia, novas publicações são recusadas
+     * após o tempo de espera em vez de crescerem sem limite.
+     */
+    @Test
+    @DisplayName("Should reject publishing when the in-flight window stays full")
+    void shouldRejectWhenWindowIsFull() {
+        // Arrange
+        PublisherProperties properties = new PublisherProperties(1, Duration.ofMillis(50), 3, Duration.ZERO, WireFormat.JSON, Map.of());
+        OrderProducerImpl narrowProducer = new OrderProducerImpl(rabbitTemplate, properties, new SimpleMeterRegistry());
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+
+        narrowProducer.sendCalculatedOrder(order);
+
+        // Act + Assert
+        assertThatThrownBy(() -> narrowProducer.sendCalculatedOrder(order))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("Janela de confirmações cheia");
+
+        narrowProducer.shutdown();
+    }
+
+    /**
+     * Verifica que, sem publisher confirms, a publicação é concluída no envio.
+     */
+    @Test
+    @DisplayName("Should complete immediately when publisher confirms are disabled")
+    void shouldCompleteImmediatelyWithoutConfirms() {
+        // Arrange
+        when(connectionFactory.isPublisherConfirms()).thenReturn(false);
+        OrderProducerImpl fireAndForget = new OrderProducerImpl(rabbitTemplate, PROPERTIES, new SimpleMeterRegistry());
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+
+        // Act
+        CompletableFuture<Void> result = fireAndForget.sendCalculatedOrder(order);
+
+        // Assert
+        assertThat(result).isCompleted();
+        verify(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        fireAndForget.shutdown();
+    }
+
+    /**
+     * Verifica que o pedido é codificado no formato configurado para o
+     * exchange de destino e que o {@code content_type} identifica o formato.
+     */
+    @Test
+    @DisplayName("Should encode orders with the wire format configured for the exchange")
+    void shouldEncodeWithConfiguredWireFormat() {
+        // Arrange
+        PublisherProperties properties = new PublisherProperties(2, Duration.ofSeconds(5), 3, Duration.ZERO,
+                WireFormat.JSON, Map.of(RabbitMQConfig.MAIN_EXCHANGE, WireFormat.CBOR));
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new BinaryJacksonMessageConverter(WireFormat.CBOR));
+        OrderProducerImpl cborProducer = new OrderProducerImpl(rabbitTemplate, properties, new SimpleMeterRegistry());
+        OrderOutputDTO order = OrderTestFactory.createOrderOutputDTO();
+        Message[] published = new Message[1];
+        doAnswer(invocation -> {
+            published[0] = invocation.getArgument(2);
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        CompletableFuture<Void> result = cborProducer.sendCalculatedOrder(order);
+
+        // Assert
+        assertThat(result).isCompleted();
+        assertThat(published[0].getMessageProperties().getContentType()).isEqualTo(WireFormat.CBOR.contentType());
+        assertThat(published[0].getBody()[0] & 0xE0).isEqualTo(0xA0); // CBOR: major type 5 (map)
+        assertThat(published[0].getMessageProperties().<String>getHeader(RabbitMQConfig.ORDER_KEY_HEADER))
+                .isEqualTo(order.externalId());
+
+        cborProducer.shutdown();
+    }
+
+    private void answerWith(CorrelationData.Confirm first, CorrelationData.Confirm... next) {
+        CorrelationData.Confirm[] confirms = new CorrelationData.Confirm[next.length + 1];
+        confirms[0] = first;
+        System.arraycopy(next, 0, confirms, 1, next.length);
+        int[] calls = {0};
+
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(confirms[Math.min(calls[0]++, confirms.length - 1)]);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("orders.publisher.inflight").gauge().value();
+    }
+
+    private double confirms(String result) {
+        return meterRegistry.get("orders.publisher.confirms").tag("result", result).counter().count();
+    }
+}
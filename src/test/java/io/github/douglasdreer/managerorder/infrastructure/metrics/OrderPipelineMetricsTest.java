@@ -0,0 +1,83 @@
+package io.github.douglasdreer.managerorder.infrastructure.metrics;
+
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Outcome;
+import io.github.douglasdreer.managerorder.infrastructure.metrics.OrderPipelineMetrics.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderPipelineMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderPipelineMetrics metrics = new OrderPipelineMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Should register one timer per stage and one counter per outcome up front")
+    void shouldRegisterMetersUpFront() {
+        assertThat(meterRegistry.get("orders.pipeline.stage").timers()).hasSize(Stage.values().length);
+        assertThat(meterRegistry.get("orders.pipeline.orders").counters()).hasSize(Outcome.values().length);
+        assertThat(meterRegistry.get("orders.pipeline.inflight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record stage duration even when the stage fails")
+    void shouldRecordStageWhenItFails() {
+        String result = metrics.time(Stage.MAPPING, () -> "ok");
+        assertThatThrownBy(() -> metrics.time(Stage.MAPPING, (Runnable) () -> {
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(meterRegistry.get("orders.pipeline.stage").tag("stage", "mapping").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should track in-flight messages and outcome counts")
+    void shouldTrackInFlightAndOutcomes() {
+        metrics.messagesStarted(3);
+        metrics.messagesFinished(1);
+        metrics.outcome(Outcome.CREATED);
+        metrics.outcome(Outcome.DUPLICATE, 4);
+        metrics.outcome(Outcome.DUPLICATE, 0);
+
+        assertThat(meterRegistry.get("orders.pipeline.inflight").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("orders.pipeline.orders").tag("outcome", "created").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.pipeline.orders").tag("outcome", "duplicate").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should count outcomes only when the surrounding transaction commits")
+    void shouldCountOutcomesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            metrics.outcomeAfterCommit(Outcome.CREATED, 3);
+            assertThat(createdCount()).isZero();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync ->
+                    sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(createdCount()).isZero();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            metrics.outcomeAfterCommit(Outcome.CREATED, 3);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(createdCount()).isEqualTo(3);
+
+        metrics.outcomeAfterCommit(Outcome.CREATED, 1);
+        assertThat(createdCount()).isEqualTo(4);
+    }
+
+    private double createdCount() {
+        return meterRegistry.get("orders.pipeline.orders").tag("outcome", "created").counter().count();
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import io.github.douglasdreer.managerorder.AbstractIntegrationTest;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties.RetentionAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Mantém o esquema particionado criado pelas migrações, em vez do gerado pelo Hibernate
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.hibernate.ddl-auto=none")
+class OrderPartitionMaintenanceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Verifica que um mês com pedidos e itens é desanexado por inteiro: as duas
+     * tabelas ficam avulsas com os dados e a chave de idempotência expira.
+     */
+    @Test
+    @DisplayName("Integration: Should detach an expired month that has orders and items")
+    void shouldDetachExpiredMonthWithData() {
+        // Arrange
+        YearMonth month = YearMonth.now().minusYears(10);
+        createPartitions(month);
+        insertOrder(9_100_001L, "retention-detach", month.atDay(15).atTime(10, 0));
+
+        // Act
+        maintenance(RetentionAction.DETACH, Duration.ofDays(365)).maintain(LocalDateTime.now());
+
+        // Assert
+        String suffix = month.format(SUFFIX);
+        assertThat(isPartition("tb_orders_p" + suffix)).isFalse();
+        assertThat(isPartition("tb_order_items_p" + suffix)).isFalse();
+        assertThat(count("tb_orders_p" + suffix)).isEqualTo(1);
+        assertThat(count("tb_order_items_p" + suffix)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                Long.class, "tb_order_items_p" + suffix)).isZero();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_orders WHERE id = 9100001", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order_external_ids WHERE external_id = 'retention-detach'",
+                Long.class)).isZero();
+    }
+
+    /**
+     * Verifica que, com a ação DROP, as tabelas de um mês com pedidos e itens
+     * são removidas.
+     */
+    @Test
+    @DisplayName("Integration: Should drop an expired month that has orders and items")
+    void shouldDropExpiredMonthWithData() {
+        // Arrange
+        YearMonth month = YearMonth.now().minusYears(11);
+        createPartitions(month);
+        insertOrder(9_100_002L, "retention-drop", month.atDay(15).atTime(10, 0));
+
+        // Act
+        maintenance(RetentionAction.DROP, Duration.ofDays(365)).maintain(LocalDateTime.now());
+
+        // Assert
+        String suffix = month.format(SUFFIX);
+        assertThat(exists("tb_orders_p" + suffix)).isFalse();
+        assertThat(exists("tb_order_items_p" + suffix)).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order_external_ids WHERE external_id = 'retention-drop'",
+                Long.class)).isZero();
+    }
+
+    /**
+     * Verifica que um pedido de mês sem partição é aceito pela partição DEFAULT
+     * e movido, com os itens, para a partição mensal quando ela é criada.
+     */
+    @Test
+    @DisplayName("Integration: Should accept orders without monthly partition and move them once it exists")
+    void shouldMoveOrdersFromDefaultPartition() {
+        // Arrange
+        YearMonth month = YearMonth.now().plusYears(2);
+        insertOrder(9_100_003L, "default-partition", month.atDay(3).atTime(8, 0));
+        assertThat(count("tb_orders_default")).isEqualTo(1);
+
+        // Act
+        maintenance(RetentionAction.DETACH, Duration.ofDays(365 * 5)).maintain(month.atDay(10).atTime(3, 15));
+
+        // Assert
+        String suffix = month.format(SUFFIX);
+        assertThat(isPartition("tb_orders_p" + suffix)).isTrue();
+        assertThat(isPartition("tb_order_items_p" + suffix)).isTrue();
+        assertThat(count("tb_orders_p" + suffix)).isEqualTo(1);
+        assertThat(count("tb_order_items_p" + suffix)).isEqualTo(1);
+        assertThat(count("tb_orders_default")).isZero();
+        assertThat(count("tb_order_items_default")).isZero();
+    }
+
+    private void createPartitions(YearMonth month) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jdbcTemplate.queryForList("SELECT fn_create_order_partitions(?)", month.atDay(1)));
+    }
+
+    private void insertOrder(long id, String externalId, LocalDateTime createdAt) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO tb_order_external_ids (external_id, order_id, created_at) VALUES (?, ?, ?)",
+                    externalId, id, createdAt);
+            jdbcTemplate.update("INSERT INTO tb_orders (id, external_id, created_at, status, total_value, version) "
+                    + "VALUES (?, ?, ?, 'CALCULATED', 10.00, 0)", id, externalId, createdAt);
+            jdbcTemplate.update("INSERT INTO tb_order_items (id, product_name, quantity, unit_price, order_id, "
+                    + "order_created_at) VALUES (?, 'Mouse', 1, 10.00, ?, ?)", id, id, createdAt);
+        });
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private boolean isPartition(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?))", Boolean.class, table));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private OrderPartitionMaintenance maintenance(RetentionAction action, Duration retention) {
+        OrderPartitionProperties properties = new OrderPartitionProperties(
+                true, 3, retention, action, Duration.ofSeconds(5), 100);
+        return new OrderPartitionMaintenance(jdbcTemplate, properties, transactionManager);
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.douglasdreer.managerorder.infrastructure.persistence;
+
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties;
+import io.github.douglasdreer.managerorder.infrastructure.config.OrderPartitionProperties.RetentionAction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.github.douglasdreer.managerorder.infrastructure.persistence.OrderPartitionMaintenance.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPartitionMaintenanceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 3, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Verifica que o mês atual e os meses configurados à frente
+     * têm suas partições criadas.
+     */
+    @Test
+    @DisplayName("Should create partitions for the current and the premade months")
+    void shouldCreateUpcomingPartitions() {
+        // Arrange
+        givenPartitionedTableWith();
+
+        // Act
+        maintenance(RetentionAction.DETACH).maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 3, 1));
+        verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 4, 1));
+        verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 5, 1));
+        verify(jdbcTemplate, times(3)).execute(ADVISORY_LOCK_SQL);
+        verify(jdbcTemplate, times(3)).execute("SET LOCAL lock_timeout = '5000ms'");
+    }
+
+    /**
+     * Verifica que pedidos gravados na partição DEFAULT, de meses sem partição,
+     * antecipam o início da criação para o mês do mais antigo deles.
+     */
+    @Test
+    @DisplayName("Should create partitions from the oldest month found in the default partition")
+    void shouldCreatePartitionsForOrdersInDefaultPartition() {
+        // Arrange
+        givenPartitionedTableWith();
+        when(jdbcTemplate.queryForObject(OLDEST_DEFAULT_ORDER_SQL, LocalDateTime.class))
+                .thenReturn(LocalDateTime.of(2026, 1, 20, 8, 0));
+
+        // Act
+        maintenance(RetentionAction.DETACH).maintain(NOW);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 1, 1));
+        inOrder.verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 2, 1));
+        inOrder.verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 3, 1));
+        inOrder.verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 4, 1));
+        inOrder.verify(jdbcTemplate).queryForList(CREATE_PARTITIONS_SQL, LocalDate.of(2026, 5, 1));
+        verify(jdbcTemplate, times(5)).execute(ADVISORY_LOCK_SQL);
+    }
+
+    /**
+     * Verifica que apenas partições com o mês inteiro fora da retenção são
+     * desanexadas, itens antes de pedidos e sem a chave estrangeira herdada,
+     * e que as chaves de idempotência anteriores à partição mais antiga
+     * mantida expiram.
+     */
+    @Test
+    @DisplayName("Should detach expired partitions and expire their idempotency keys")
+    void shouldDetachExpiredPartitions() {
+        // Arrange
+        givenPartitionedTableWith("tb_orders_p202601", "tb_orders_p202512", "tb_orders_p202602", "tb_orders_p202603");
+        lenient().when(jdbcTemplate.queryForList(FOREIGN_KEYS_SQL, String.class, "tb_order_items_p202512"))
+                .thenReturn(List.of("fk_order_items_order"));
+        lenient().when(jdbcTemplate.queryForList(FOREIGN_KEYS_SQL, String.class, "tb_order_items_p202601"))
+                .thenReturn(List.of("fk_order_items_order"));
+
+        // Act
+        maintenance(RetentionAction.DETACH).maintain(NOW);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_order_items DETACH PARTITION tb_order_items_p202512");
+        inOrder.verify(jdbcTemplate)
+                .execute("ALTER TABLE tb_order_items_p202512 DROP CONSTRAINT \"fk_order_items_order\"");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_orders DETACH PARTITION tb_orders_p202512");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_order_items DETACH PARTITION tb_order_items_p202601");
+        inOrder.verify(jdbcTemplate)
+                .execute("ALTER TABLE tb_order_items_p202601 DROP CONSTRAINT \"fk_order_items_order\"");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_orders DETACH PARTITION tb_orders_p202601");
+        inOrder.verify(jdbcTemplate).update(DELETE_EXPIRED_KEYS_SQL, LocalDateTime.of(2026, 2, 1, 0, 0), 100);
+
+        verify(jdbcTemplate, never()).execute(contains("tb_orders_p202602"));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    }
+
+    /**
+     * Verifica que, com a ação DROP, a partição de itens é removida antes de
+     * desanexar a de pedidos, que ela referencia.
+     */
+    @Test
+    @DisplayName("Should drop expired partitions when configured to")
+    void shouldDropExpiredPartitions() {
+        // Arrange
+        givenPartitionedTableWith("tb_orders_p202512", "tb_orders_p202603");
+
+        // Act
+        maintenance(RetentionAction.DROP).maintain(NOW);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_order_items DETACH PARTITION tb_order_items_p202512");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE tb_order_items_p202512");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE tb_orders DETACH PARTITION tb_orders_p202512");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE tb_orders_p202512");
+
+        verify(jdbcTemplate, never()).queryForList(eq(FOREIGN_KEYS_SQL), eq(String.class), any(Object[].class));
+    }
+
+    /**
+     * Verifica que chaves expiradas são removidas em lotes até que
+     * um lote venha incompleto.
+     */
+    @Test
+    @DisplayName("Should delete expired idempotency keys in batches")
+    void shouldDeleteExpiredKeysInBatches() {
+        // Arrange
+        givenPartitionedTableWith("tb_orders_p202603");
+        when(jdbcTemplate.update(DELETE_EXPIRED_KEYS_SQL, LocalDateTime.of(2026, 3, 1, 0, 0), 100))
+                .thenReturn(100, 100, 7);
+
+        // Act
+        maintenance(RetentionAction.DETACH).maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate, times(3)).update(DELETE_EXPIRED_KEYS_SQL, LocalDateTime.of(2026, 3, 1, 0, 0), 100);
+    }
+
+    /**
+     * Verifica que a manutenção não executa DDL quando {@code tb_orders}
+     * não é particionada.
+     */
+    @Test
+    @DisplayName("Should do nothing when tb_orders is not partitioned")
+    void shouldSkipWhenTableIsNotPartitioned() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))
+                .thenReturn(false);
+
+        // Act
+        maintenance(RetentionAction.DROP).maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForList(anyString(), any(Object[].class));
+    }
+
+    /**
+     * Verifica que uma falha de bloqueio interrompe a execução sem
+     * propagar a exceção para o agendador.
+     */
+    @Test
+    @DisplayName("Should give up quietly when the lock timeout expires")
+    void shouldGiveUpWhenLockTimeoutExpires() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))
+                .thenReturn(true);
+        lenient().doThrow(new CannotAcquireLockException("lock timeout"))
+                .when(jdbcTemplate).execute(ADVISORY_LOCK_SQL);
+
+        // Act
+        maintenance(RetentionAction.DROP).maintain(NOW);
+
+        // Assert
+        verify(jdbcTemplate, never()).queryForList(eq(CREATE_PARTITIONS_SQL), any(Object[].class));
+        verify(jdbcTemplate, never()).queryForList(LIST_PARTITIONS_SQL, String.class);
+    }
+
+    private void givenPartitionedTableWith(String... partitions) {
+        when(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))
+                .thenReturn(true);
+        lenient().when(jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class))
+                .thenReturn(List.of(partitions));
+    }
+
+    private OrderPartitionMaintenance maintenance(RetentionAction action) {
+        // Retenção de 30 dias a partir de 10/03: meses terminados até 08/02 são retirados
+        OrderPartitionProperties properties = new OrderPartitionProperties(
+                true, 2, Duration.ofDays(30), action, Duration.ofSeconds(5), 100);
+        return new OrderPartitionMaintenance(jdbcTemplate, properties, transactionManager);
+    }
+}
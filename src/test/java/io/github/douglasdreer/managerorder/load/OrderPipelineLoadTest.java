@@ -0,0 +1,253 @@
+package io.github.douglasdreer.managerorder.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.douglasdreer.managerorder.AbstractIntegrationTest;
+import io.github.douglasdreer.managerorder.application.dto.OrderInputDTO;
+import io.github.douglasdreer.managerorder.application.dto.OrderOutputDTO;
+import io.github.douglasdreer.managerorder.infrastructure.config.RabbitMQConfig;
+import io.github.douglasdreer.managerorder.util.OrderTestFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga ponta a ponta: fila de importação → persistência → outbox → {@code ex.orders.main}.
+ *
+ * <p>Publica pedidos em {@code q.orders.import} a uma taxa fixa, com tamanhos sorteados
+ * segundo {@code loadTest.itemMix}, e acompanha cada um até a entrega em uma fila
+ * ligada a {@code ex.orders.main}. A latência é medida a partir do instante
+ * planejado de envio, e não do envio efetivo, para que atrasos do próprio gerador
+ * também apareçam no resultado (sem omissão coordenada).</p>
+ *
+ * <p>Executar com {@code ./gradlew loadTest} (requer Docker). O resumo
+ * ({@code load-<versão>.json}) e a distribuição de latência
+ * ({@code load-<versão>.hgrm}) ficam em {@code build/reports/load}.</p>
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class OrderPipelineLoadTest extends AbstractIntegrationTest {
+
+    private static final String DOWNSTREAM_QUEUE = "q.orders.load-test.downstream";
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Test
+    @DisplayName("Load: sustained throughput and latency from import queue to ex.orders.main")
+    void measureThroughputAndLatency() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        log.info("Iniciando teste de carga: {}", profile);
+
+        Map<String, Long> pending = new ConcurrentHashMap<>();
+        Recorder latency = new Recorder(3);
+        AtomicLong delivered = new AtomicLong();
+        AtomicLong redelivered = new AtomicLong();
+        AtomicLong measureFrom = new AtomicLong(Long.MAX_VALUE);
+
+        SimpleMessageListenerContainer downstream = downstreamContainer(message -> {
+            long receivedAt = System.nanoTime();
+            message.getMessageProperties().setInferredArgumentType(OrderOutputDTO.class);
+            OrderOutputDTO order = (OrderOutputDTO) messageConverter.fromMessage(message);
+
+            Long intendedAt = pending.remove(order.externalId());
+            if (intendedAt == null) {
+                redelivered.incrementAndGet();
+                return;
+            }
+            if (intendedAt >= measureFrom.get()) {
+                latency.recordValue(TimeUnit.NANOSECONDS.toMicros(receivedAt - intendedAt));
+                delivered.incrementAndGet();
+            }
+        });
+
+        downstream.start();
+        try {
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+            long total = (profile.warmup().toNanos() + profile.duration().toNanos()) / intervalNanos;
+            long warmupMessages = profile.warmup().toNanos() / intervalNanos;
+
+            long start = System.nanoTime();
+            measureFrom.set(start + warmupMessages * intervalNanos);
+            for (long i = 0; i < total; i++) {
+                long intendedAt = start + i * intervalNanos;
+                long wait = intendedAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                OrderInputDTO order = OrderTestFactory.createOrderInputDTO(profile.nextItemCount());
+                pending.put(order.externalId(), intendedAt);
+                rabbitTemplate.convertAndSend("", RabbitMQConfig.IMPORT_QUEUE, order);
+            }
+            long sendElapsed = System.nanoTime() - measureFrom.get();
+
+            long drainDeadline = System.nanoTime() + profile.drainTimeout().toNanos();
+            while (!pending.isEmpty() && System.nanoTime() < drainDeadline) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+            long elapsed = System.nanoTime() - measureFrom.get();
+
+            long measured = total - warmupMessages;
+            Histogram histogram = latency.getIntervalHistogram();
+            Map<String, Object> summary = summary(profile, measured, delivered.get(), pending.size(),
+                    redelivered.get(), sendElapsed, elapsed, histogram);
+            writeReport(profile, summary, histogram);
+
+            assertThat(pending).as("pedidos não entregues em ex.orders.main").isEmpty();
+        } finally {
+            downstream.stop();
+        }
+    }
+
+    /**
+     * Fila exclusiva ligada a {@code ex.orders.main}, recebendo os mesmos eventos que o Produto B.
+     */
+    private SimpleMessageListenerContainer downstreamContainer(MessageListener listener) {
+        Queue queue = new Queue(DOWNSTREAM_QUEUE, false, true, true);
+        amqpAdmin.declareQueue(queue);
+        amqpAdmin.declareBinding(BindingBuilder.bind(queue)
+                .to(new TopicExchange(RabbitMQConfig.MAIN_EXCHANGE))
+                .with(RabbitMQConfig.RK_IMPORT));
+
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(DOWNSTREAM_QUEUE);
+        container.setConcurrentConsumers(4);
+        container.setPrefetchCount(500);
+        container.setMessageListener(listener);
+        return container;
+    }
+
+    private static Map<String, Object> summary(LoadProfile profile, long sent, long delivered, long lost,
+                                               long redelivered, long sendElapsedNanos, long elapsedNanos,
+                                               Histogram histogram) {
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            latencyMs.put("p" + percentile, histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        latencyMs.put("max", histogram.getMaxValue() / 1000.0);
+        latencyMs.put("mean", histogram.getMean() / 1000.0);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("version", profile.version());
+        summary.put("profile", profile.toString());
+        summary.put("sent", sent);
+        summary.put("delivered", delivered);
+        summary.put("lost", lost);
+        summary.put("redelivered", redelivered);
+        summary.put("offeredRatePerSecond", sent / (sendElapsedNanos / 1e9));
+        summary.put("throughputPerSecond", delivered / (elapsedNanos / 1e9));
+        summary.put("latencyMs", latencyMs);
+        return summary;
+    }
+
+    private static void writeReport(LoadProfile profile, Map<String, Object> summary, Histogram histogram)
+            throws IOException {
+        File dir = new File(profile.reportDir());
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Não foi possível criar o diretório de relatórios: " + dir);
+        }
+
+        File json = new File(dir, "load-" + profile.version() + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(json, summary);
+
+        File hgrm = new File(dir, "load-" + profile.version() + ".hgrm");
+        try (PrintStream out = new PrintStream(hgrm)) {
+            // Valores em microssegundos, exibidos em milissegundos
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+
+        log.info("Resultado do teste de carga: {}", summary);
+        log.info("Relatórios gravados em {} e {}", json, hgrm);
+    }
+
+    /**
+     * Parâmetros do teste, lidos das propriedades {@code loadTest.*} repassadas pelo Gradle.
+     *
+     * @param rate pedidos publicados por segundo
+     * @param duration duração da medição
+     * @param warmup período inicial descartado das estatísticas
+     * @param itemMix peso acumulado de cada quantidade de itens por pedido
+     * @param drainTimeout espera máxima pelas entregas após o último envio
+     */
+    record LoadProfile(int rate, Duration duration, Duration warmup, NavigableMap<Integer, Integer> itemMix,
+                       Duration drainTimeout, String version, String reportDir) {
+
+        static LoadProfile fromSystemProperties() {
+            return new LoadProfile(
+                    Integer.parseInt(System.getProperty("loadTest.rate", "200")),
+                    DurationStyle.detectAndParse(System.getProperty("loadTest.duration", "30s")),
+                    DurationStyle.detectAndParse(System.getProperty("loadTest.warmup", "5s")),
+                    parseItemMix(System.getProperty("loadTest.itemMix", "1:70,5:25,50:5")),
+                    DurationStyle.detectAndParse(System.getProperty("loadTest.drainTimeout", "2m")),
+                    System.getProperty("loadTest.version", "dev"),
+                    System.getProperty("loadTest.reportDir", "build/reports/load")
+            );
+        }
+
+        /**
+         * Converte {@code itens:peso,itens:peso} em um mapa de peso acumulado → quantidade de itens.
+         */
+        static NavigableMap<Integer, Integer> parseItemMix(String mix) {
+            NavigableMap<Integer, Integer> cumulative = new TreeMap<>();
+            int total = 0;
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                total += Integer.parseInt(parts[1]);
+                cumulative.put(total, Integer.parseInt(parts[0]));
+            }
+            return cumulative;
+        }
+
+        int nextItemCount() {
+            int roll = ThreadLocalRandom.current().nextInt(itemMix.lastKey()) + 1;
+            return itemMix.ceilingEntry(roll).getValue();
+        }
+
+        @Override
+        public String toString() {
+            return "rate=" + rate + "/s, duration=" + duration + ", warmup=" + warmup
+                    + ", itemMix=" + itemMix + ", drainTimeout=" + drainTimeout;
+        }
+    }
+}